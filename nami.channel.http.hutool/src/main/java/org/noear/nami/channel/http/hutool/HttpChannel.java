@@ -6,7 +6,10 @@ import org.noear.nami.NamiChannel;
 import org.noear.nami.NamiConfig;
 import org.noear.nami.NamiManager;
 import org.noear.nami.common.Constants;
+import org.noear.nami.common.MethodWrap;
 import org.noear.nami.common.Result;
+import org.noear.nami.common.UploadUtils;
+import org.noear.nami.common.UrlUtils;
 
 import java.lang.reflect.Method;
 import java.nio.charset.Charset;
@@ -14,6 +17,8 @@ import java.util.Map;
 
 /**
  * Http 通道
+ *
+ * <p>连接复用走 jdk 的 keep-alive 缓存；每个主机默认只留 5 个空闲连接，并发高时可启动时加 -Dhttp.maxConnections=64（须在首次使用 HttpURLConnection 前设置）</p>
  * */
 public class HttpChannel implements NamiChannel {
     public static final HttpChannel instance = new HttpChannel();
@@ -25,16 +30,7 @@ public class HttpChannel implements NamiChannel {
 
         //0.尝试重构url
         if (is_get && args.size() > 0) {
-            StringBuilder sb = new StringBuilder(url).append("?");
-            args.forEach((k, v) -> {
-                if (v != null) {
-                    sb.append(k).append("=")
-                            .append(HttpUtils.urlEncode(v.toString()))
-                            .append("&");
-                }
-            });
-
-            url = sb.substring(0, sb.length() - 1);
+            url = UrlUtils.buildUrl(url, args);
         }
 
         if (cfg.getDecoder() == null) {
@@ -44,14 +40,23 @@ public class HttpChannel implements NamiChannel {
         //0.尝试解码器的过滤
         cfg.getDecoder().filter(cfg, action, url, headers, args);
 
+        //0.检测是否为流式下载
+        boolean is_download = (method != null && MethodWrap.get(method).isDownload());
+
         //0.开始构建http
-        HttpUtils http = HttpUtils.http(url).headers(headers);
+        HttpUtils http = HttpUtils.http(url).timeout(cfg.getTimeout()).headers(headers);
         HttpResponse response = null;
         Encoder encoder = cfg.getEncoder();
 
         //1.执行并返回
         if (is_get || args.size() == 0) {
             response = http.exec(Constants.METHOD_GET);
+        } else if (UploadUtils.isUpload(body)) {
+            //1.1.流提交（@Body 为 File, Path, InputStream）
+            response = http.bodyStream(body, headers.get(Constants.HEADER_CONTENT_TYPE)).exec(action);
+        } else if (UploadUtils.hasUpload(args)) {
+            //1.2.上传提交
+            response = http.multipart(args).exec(action);
         } else {
             if (encoder == null) {
                 String ct0 = headers.getOrDefault(Constants.HEADER_CONTENT_TYPE, "");
@@ -70,7 +75,7 @@ public class HttpChannel implements NamiChannel {
             byte[] bytes = encoder.encode(body);
 
             if (bytes != null) {
-                response = http.bodyRaw(bytes, encoder.enctype()).exec(action);
+                response = http.bodyRaw(bytes, encoder.enctype(), encoder.encoding()).exec(action);
             }
         }
 
@@ -79,7 +84,13 @@ public class HttpChannel implements NamiChannel {
         }
 
         //2.构建结果
-        Result result = new Result(response.getStatus(), response.body().getBytes());
+        Result result;
+        if (is_download) {
+            //流式下载（关闭流即归还连接）
+            result = new Result(response.getStatus(), response.bodyStream());
+        } else {
+            result = new Result(response.getStatus(), HttpUtils.bodyBytes(response));
+        }
 
         //2.1.设置头
         response.headers().forEach((k,ary)->{
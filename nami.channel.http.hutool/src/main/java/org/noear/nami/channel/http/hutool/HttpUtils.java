@@ -1,31 +1,46 @@
 package org.noear.nami.channel.http.hutool;
 
+import cn.hutool.core.io.IoUtil;
+import cn.hutool.core.io.resource.FileResource;
+import cn.hutool.core.io.resource.InputStreamResource;
+import cn.hutool.core.io.resource.Resource;
 import cn.hutool.http.HttpRequest;
 import cn.hutool.http.HttpResponse;
 import cn.hutool.http.Method;
-import org.noear.nami.NamiException;
-
-import java.io.UnsupportedEncodingException;
-import java.net.URLEncoder;
+import org.noear.nami.common.Constants;
+import org.noear.nami.common.UploadUtils;
+import org.noear.nami.common.UrlUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Map;
 
 class HttpUtils {
+    private static final int CHUNK_SIZE = 1024 * 8;
 
     public static HttpUtils http(String url){
         return new HttpUtils(url);
     }
 
-    public static String urlEncode(String str) {
-        try {
-            return URLEncoder.encode(str, "utf-8");
-        } catch (UnsupportedEncodingException ex) {
-            throw new NamiException(ex);
-        }
-    }
-
     private HttpRequest _builder;
     public HttpUtils(String url){
         _builder = new HttpRequest(url);
+        _builder.keepAlive(true);
+        _builder.header(Constants.HEADER_ACCEPT_ENCODING, "gzip, deflate");
+    }
+
+    //@XNote("设置连接与读取超时（单位：秒）")
+    public HttpUtils timeout(int seconds) {
+        if (seconds > 0) {
+            _builder.setConnectionTimeout(seconds * 1000);
+            _builder.setReadTimeout(seconds * 1000);
+        }
+
+        return this;
     }
 
 
@@ -52,12 +67,55 @@ class HttpUtils {
     //@XNote("设置数据提交")
     public HttpUtils data(Map<String,Object> data) {
         if (data != null) {
-            _builder.form(data);
+            _builder.body(UrlUtils.buildForm(data)).contentType(Constants.CONTENT_TYPE_FORM_URLENCODED);
         }
 
         return this;
     }
 
+    //@XNote("设置上传提交（multipart；File, Path, InputStream 以流的方式写出）")
+    public HttpUtils multipart(Map<String,Object> data) {
+        data.forEach((k, v) -> {
+            if (v != null) {
+                if (UploadUtils.isUpload(v)) {
+                    _builder.form(k, uploadResource(v, UploadUtils.fileName(v, k)));
+                } else {
+                    _builder.form(k, v);
+                }
+            }
+        });
+
+        //分块写出，避免 HttpURLConnection 把内容整个缓存在内存里
+        _builder.setChunkedStreamingMode(CHUNK_SIZE);
+
+        return this;
+    }
+
+    //@XNote("设置BODY流提交（File, Path, InputStream；与其它通道一致，作为原始 body 提交。hutool 5.5 没有流式 body，先读为字节）")
+    public HttpUtils bodyStream(Object stream, String contentType) throws IOException {
+        byte[] bytes;
+        if (stream instanceof File) {
+            bytes = Files.readAllBytes(((File) stream).toPath());
+        } else if (stream instanceof Path) {
+            bytes = Files.readAllBytes((Path) stream);
+        } else {
+            try (InputStream in = (InputStream) stream) {
+                bytes = IoUtil.readBytes(in);
+            }
+        }
+
+        return bodyRaw(bytes, contentType == null ? Constants.CONTENT_TYPE_OCTET_STREAM : contentType);
+    }
+
+    //@XNote("设置BODY提交（带内容编码，如 zstd）")
+    public HttpUtils bodyRaw(byte[] bytes, String contentType, String contentEncoding) {
+        if (contentEncoding != null) {
+            _builder.header(Constants.HEADER_CONTENT_ENCODING, contentEncoding);
+        }
+
+        return bodyRaw(bytes, contentType);
+    }
+
     //@XNote("设置BODY提交")
     public HttpUtils bodyRaw(byte[] bytes, String contentType) {
         _builder.body(bytes).contentType(contentType);
@@ -65,6 +123,16 @@ class HttpUtils {
     }
 
 
+    private static Resource uploadResource(Object val, String fileName) {
+        if (val instanceof File) {
+            return new FileResource((File) val, fileName);
+        } else if (val instanceof Path) {
+            return new FileResource(((Path) val).toFile(), fileName);
+        } else {
+            return new InputStreamResource((InputStream) val, fileName);
+        }
+    }
+
     //@XNote("执行请求，返回响应对象")
     public HttpResponse exec(String mothod) throws Exception {
 
@@ -79,6 +147,29 @@ class HttpUtils {
             default: throw new RuntimeException("This method is not supported");
         }
 
-        return  _builder.execute();
+        //总是不预读：hutool 同步读完后会 disconnect，连接无法复用
+        return _builder.execute(true);
+    }
+
+    /**
+     * 读取响应体（读完并关闭流，但不 disconnect，让连接回到 keep-alive 缓存）
+     */
+    public static byte[] bodyBytes(HttpResponse response) throws IOException {
+        InputStream stream = response.bodyStream();
+
+        if (stream == null) {
+            return null;
+        }
+
+        try (InputStream in = stream) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buf = new byte[4096];
+            int len;
+            while ((len = in.read(buf)) > 0) {
+                out.write(buf, 0, len);
+            }
+
+            return out.toByteArray();
+        }
     }
 }
@@ -0,0 +1,76 @@
+package feature;
+
+import com.sun.net.httpserver.HttpServer;
+import org.noear.nami.NamiChannel;
+import org.noear.nami.NamiConfig;
+import org.noear.nami.channel.http.hutool.HttpChannel;
+import org.noear.nami.common.Constants;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * hutool 与 okhttp 通道在本机回环上的对比（顺序调用：每秒调用数、平均延时、新建连接数）
+ *
+ * <p>可加 -Dhttp.maxConnections=64 观察并发场景下 jdk keep-alive 缓存的影响</p>
+ */
+public class HttpChannelBenchmark {
+    static final int WARMUP = Integer.getInteger("warmup", 2_000);
+    static final int ROUNDS = Integer.getInteger("rounds", 10_000);
+
+    public static void main(String[] args) throws Throwable {
+        //jdk 服务端默认未开 TCP_NODELAY，会因延迟确认拖慢每次调用
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+
+        Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        server.setExecutor(executor);
+        server.createContext("/hello", ex -> {
+            clientPorts.add(ex.getRemoteAddress().getPort());
+
+            byte[] body = "\"hello\"".getBytes(StandardCharsets.UTF_8);
+            ex.sendResponseHeaders(200, body.length);
+            try (OutputStream out = ex.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/hello";
+
+        try {
+            run("hutool", HttpChannel.instance, url, clientPorts);
+            run("okhttp", org.noear.nami.channel.http.okhttp.HttpChannel.instance, url, clientPorts);
+        } finally {
+            server.stop(0);
+            executor.shutdown();
+        }
+    }
+
+    static void run(String name, NamiChannel channel, String url, Set<Integer> clientPorts) throws Throwable {
+        NamiConfig cfg = HttpChannelTest.config();
+
+        for (int i = 0; i < WARMUP; i++) {
+            channel.call(cfg, null, Constants.METHOD_GET, url, new HashMap<>(), new HashMap<>(), null).bodyAsString();
+        }
+
+        clientPorts.clear();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            channel.call(cfg, null, Constants.METHOD_GET, url, new HashMap<>(), new HashMap<>(), null).bodyAsString();
+        }
+        long spent = System.nanoTime() - start;
+
+        System.out.printf("%-8s %8.0f calls/s  %6.1f us/call  %d connections%n",
+                name, ROUNDS * 1e9 / spent, spent / 1e3 / ROUNDS, clientPorts.size());
+    }
+}
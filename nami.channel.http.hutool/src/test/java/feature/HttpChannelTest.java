@@ -0,0 +1,105 @@
+package feature;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.noear.nami.Decoder;
+import org.noear.nami.NamiConfig;
+import org.noear.nami.channel.http.hutool.HttpChannel;
+import org.noear.nami.common.Constants;
+import org.noear.nami.common.Result;
+
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.*;
+
+public class HttpChannelTest {
+    static HttpServer server;
+    static String url;
+    static Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+    @BeforeClass
+    public static void start() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/hello", ex -> {
+            clientPorts.add(ex.getRemoteAddress().getPort());
+
+            byte[] body = "\"hello\"".getBytes(StandardCharsets.UTF_8);
+            ex.getResponseHeaders().add(Constants.HEADER_CONTENT_TYPE, "application/json; charset=utf-8");
+            ex.sendResponseHeaders(200, body.length);
+            try (OutputStream out = ex.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/gzip", ex -> {
+            String ae = ex.getRequestHeaders().getFirst("Accept-Encoding");
+            assertTrue(ae != null && ae.contains("gzip"));
+
+            ex.getResponseHeaders().add("Content-Encoding", "gzip");
+            ex.getResponseHeaders().add(Constants.HEADER_CONTENT_TYPE, "application/json; charset=utf-8");
+            ex.sendResponseHeaders(200, 0);
+            try (OutputStream out = new GZIPOutputStream(ex.getResponseBody())) {
+                out.write("\"中文\"".getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        server.start();
+
+        url = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterClass
+    public static void stop() {
+        server.stop(0);
+    }
+
+    static NamiConfig config() {
+        NamiConfig cfg = new NamiConfig();
+        cfg.setTimeout(5);
+        cfg.setDecoder(new Decoder() {
+            @Override
+            public String enctype() {
+                return Constants.CONTENT_TYPE_JSON;
+            }
+
+            @Override
+            public <T> T decode(Result rst, Type clz) {
+                return (T) rst.bodyAsString();
+            }
+
+            @Override
+            public void filter(NamiConfig cfg, String action, String url, Map<String, String> headers, Map<String, Object> args) {
+            }
+        });
+        return cfg;
+    }
+
+    static Result get(String path) throws Throwable {
+        return HttpChannel.instance.call(config(), null, Constants.METHOD_GET, url + path, new HashMap<>(), new HashMap<>(), null);
+    }
+
+    @Test
+    public void keepAliveReusesConnection() throws Throwable {
+        clientPorts.clear();
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals("\"hello\"", get("/hello").bodyAsString());
+        }
+
+        //顺序调用只用一个连接
+        assertEquals(1, clientPorts.size());
+    }
+
+    @Test
+    public void gzipBody() throws Throwable {
+        assertEquals("\"中文\"", get("/gzip").bodyAsString());
+    }
+}
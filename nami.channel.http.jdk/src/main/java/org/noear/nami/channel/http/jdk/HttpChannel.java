@@ -0,0 +1,174 @@
+package org.noear.nami.channel.http.jdk;
+
+import org.noear.nami.Encoder;
+import org.noear.nami.NamiChannel;
+import org.noear.nami.NamiConfig;
+import org.noear.nami.NamiManager;
+import org.noear.nami.common.*;
+
+import java.lang.reflect.Method;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Http 通道（基于 java.net.http.HttpClient；原生异步，支持 HTTP/2）
+ *
+ * @author noear
+ * @since 1.3
+ * */
+public class HttpChannel implements NamiChannel {
+    public static final HttpChannel instance = new HttpChannel();
+
+    @Override
+    public Result call(NamiConfig cfg, Method method, String action, String url, Map<String, String> headers, Map<String, Object> args, Object body) throws Throwable {
+        try {
+            return callAsync(cfg, method, action, url, headers, args, body).get();
+        } catch (ExecutionException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Result> callAsync(NamiConfig cfg, Method method, String action, String url, Map<String, String> headers, Map<String, Object> args, Object body) {
+        try {
+            HttpUtils http = build(cfg, action, url, headers, args, body);
+
+            String action0 = (Constants.METHOD_GET.equals(action) || args.size() == 0) ? Constants.METHOD_GET : action;
+
+            //1.执行并返回（返回体都以流交给解码器或下载；关闭流即释放连接）
+            return http.execAsync(action0, HttpResponse.BodyHandlers.ofInputStream())
+                    .thenApply(response -> buildResult(response, new Result(response.statusCode(), response.body())));
+        } catch (Throwable ex) {
+            CompletableFuture<Result> future = new CompletableFuture<>();
+            future.completeExceptionally(ex);
+            return future;
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> send(NamiConfig cfg, Method method, String action, String url, Map<String, String> headers, Map<String, Object> args, Object body) {
+        //单向发送：不等待响应，响应到达后直接释放
+        return callAsync(cfg, method, action, url, headers, args, body).thenAccept(result -> {
+            if (result != null) {
+                result.close();
+            }
+        });
+    }
+
+    private HttpUtils build(NamiConfig cfg, String action, String url, Map<String, String> headers, Map<String, Object> args, Object body) throws Throwable {
+        //0.检测method
+        boolean is_get = Constants.METHOD_GET.equals(action);
+
+        //0.尝试重构url
+        if (is_get && args.size() > 0) {
+            url = UrlUtils.buildUrl(url, args);
+        }
+
+        if (cfg.getDecoder() == null) {
+            throw new IllegalArgumentException("There is no suitable decoder");
+        }
+
+        //0.尝试解码器的过滤
+        cfg.getDecoder().filter(cfg, action, url, headers, args);
+
+        //0.开始构建http
+        HttpUtils http = HttpUtils.http(url).timeout(cfg.getTimeout()).headers(headers);
+        Encoder encoder = cfg.getEncoder();
+
+        if (is_get || args.size() == 0) {
+            return http;
+        }
+
+        if (UploadUtils.isUpload(body)) {
+            //流提交（@Body 为 File, Path, InputStream）
+            return http.bodyStream(body, headers.get(Constants.HEADER_CONTENT_TYPE));
+        }
+
+        if (UploadUtils.hasUpload(args)) {
+            //上传提交
+            return http.multipart(args);
+        }
+
+        if (encoder == null) {
+            String ct0 = headers.getOrDefault(Constants.HEADER_CONTENT_TYPE, "");
+
+            if (ct0.length() == 0) {
+                return http.data(args);
+            } else {
+                encoder = NamiManager.getEncoder(ct0);
+            }
+        }
+
+        if (encoder != null) {
+            byte[] bytes = encoder.encode(body);
+
+            if (bytes != null) {
+                http.bodyRaw(bytes, encoder.enctype(), encoder.encoding());
+            }
+        }
+
+        return http;
+    }
+
+    private Result buildResult(HttpResponse<?> response, Result result) {
+        //设置头
+        response.headers().map().forEach((k, ary) -> {
+            if (ary.size() > 0) {
+                result.headerAdd(k, ary.get(0));
+            }
+        });
+
+        //设置字符码
+        String contentType = result.headerGet(Constants.HEADER_CONTENT_TYPE);
+        if (contentType != null) {
+            int idx = contentType.toLowerCase().indexOf("charset=");
+            if (idx > 0) {
+                String charset = contentType.substring(idx + 8).trim();
+                int end = charset.indexOf(';');
+                if (end > 0) {
+                    charset = charset.substring(0, end);
+                }
+
+                result.charsetSet(charsetOf(charset.replace("\"", "")));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * 获取字符集（不认识的，按 utf-8 处理）
+     */
+    static Charset charsetOf(String name) {
+        try {
+            return Charset.forName(name);
+        } catch (IllegalArgumentException ex) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    @Override
+    public void filter(NamiConfig cfg, String method, String url, Map<String, String> headers, Map<String, Object> args) {
+        if (cfg.getDecoder() == null) {
+            String at = cfg.getHeader(Constants.HEADER_ACCEPT);
+
+            if (at == null) {
+                at = Constants.CONTENT_TYPE_JSON;
+            }
+
+            cfg.setDecoder(NamiManager.getDecoder(at));
+        }
+
+        if (cfg.getEncoder() == null) {
+            String ct = cfg.getHeader(Constants.HEADER_CONTENT_TYPE);
+
+            if (ct != null) {
+                cfg.setEncoder(NamiManager.getEncoder(ct));
+            }
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package org.noear.nami.channel.http.jdk;
+
+import org.noear.nami.common.Constants;
+import org.noear.nami.common.UploadUtils;
+import org.noear.nami.common.UrlUtils;
+
+import java.io.*;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+class HttpUtils {
+    private final static HttpClient httpClient = buildClient(60 * 5);
+
+    //按连接超时缓存（connectTimeout 只能在 HttpClient 上设置）
+    private final static Map<Integer, HttpClient> httpClientCached = new ConcurrentHashMap<>();
+
+    private static HttpClient buildClient(int connectTimeout) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofSeconds(connectTimeout))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    private static HttpClient client(int timeout) {
+        if (timeout > 0) {
+            return httpClientCached.computeIfAbsent(timeout, HttpUtils::buildClient);
+        } else {
+            return httpClient;
+        }
+    }
+
+    //由 HttpClient 自己管理的头，不能设置
+    private final static Set<String> restrictedHeaders = new HashSet<>(Arrays.asList(
+            "connection", "content-length", "expect", "host", "upgrade"));
+
+    public static HttpUtils http(String url) {
+        return new HttpUtils(url);
+    }
+
+    private HttpRequest.BodyPublisher _body;
+
+    private HttpRequest.Builder _builder;
+
+    private int _timeout;
+
+    public HttpUtils(String url) {
+        _builder = HttpRequest.newBuilder(URI.create(url));
+    }
+
+    //@XNote("设置超时（单位：秒；用于连接与请求）")
+    public HttpUtils timeout(int seconds) {
+        if (seconds > 0) {
+            _timeout = seconds;
+            _builder.timeout(Duration.ofSeconds(seconds));
+        }
+
+        return this;
+    }
+
+    //@XNote("设置请求头")
+    public HttpUtils headers(Map<String, String> headers) {
+        if (headers != null) {
+            headers.forEach((k, v) -> {
+                if (v != null && restrictedHeaders.contains(k.toLowerCase()) == false) {
+                    _builder.setHeader(k, v);
+                }
+            });
+        }
+
+        return this;
+    }
+
+    //@XNote("设置数据提交")
+    public HttpUtils data(Map<String, Object> data) {
+        if (data != null) {
+            _builder.setHeader(Constants.HEADER_CONTENT_TYPE, Constants.CONTENT_TYPE_FORM_URLENCODED);
+            _body = HttpRequest.BodyPublishers.ofByteArray(UrlUtils.buildForm(data));
+        }
+
+        return this;
+    }
+
+    //@XNote("设置上传提交（multipart；File, Path, InputStream 以流的方式写出）")
+    public HttpUtils multipart(Map<String, Object> data) {
+        String boundary = UUID.randomUUID().toString();
+        List<Object> parts = new ArrayList<>();
+
+        data.forEach((k, v) -> {
+            if (v != null) {
+                StringBuilder sb = new StringBuilder();
+                sb.append("--").append(boundary).append("\r\n");
+                sb.append("Content-Disposition: form-data; name=\"").append(quote(k)).append("\"");
+
+                if (UploadUtils.isUpload(v)) {
+                    sb.append("; filename=\"").append(quote(UploadUtils.fileName(v, k))).append("\"\r\n");
+                    sb.append("Content-Type: ").append(Constants.CONTENT_TYPE_OCTET_STREAM).append("\r\n\r\n");
+                    parts.add(sb.toString().getBytes(StandardCharsets.UTF_8));
+                    parts.add(v);
+                    parts.add("\r\n".getBytes(StandardCharsets.UTF_8));
+                } else {
+                    sb.append("\r\n\r\n").append(v).append("\r\n");
+                    parts.add(sb.toString().getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        });
+
+        parts.add(("--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        _builder.setHeader(Constants.HEADER_CONTENT_TYPE, Constants.CONTENT_TYPE_MULTIPART + "; boundary=" + boundary);
+        _body = HttpRequest.BodyPublishers.ofInputStream(() -> new SequenceInputStream(new PartEnumeration(parts)));
+
+        return this;
+    }
+
+    //@XNote("设置BODY流提交（File, Path, InputStream）")
+    public HttpUtils bodyStream(Object stream, String contentType) throws IOException {
+        _builder.setHeader(Constants.HEADER_CONTENT_TYPE, contentType == null ? Constants.CONTENT_TYPE_OCTET_STREAM : contentType);
+
+        if (stream instanceof File) {
+            _body = HttpRequest.BodyPublishers.ofFile(((File) stream).toPath());
+        } else if (stream instanceof Path) {
+            _body = HttpRequest.BodyPublishers.ofFile((Path) stream);
+        } else {
+            _body = HttpRequest.BodyPublishers.ofInputStream(() -> (InputStream) stream);
+        }
+
+        return this;
+    }
+
+    //@XNote("设置BODY提交（带内容编码，如 zstd）")
+    public HttpUtils bodyRaw(byte[] bytes, String contentType, String contentEncoding) {
+        if (contentEncoding != null) {
+            _builder.setHeader(Constants.HEADER_CONTENT_ENCODING, contentEncoding);
+        }
+
+        return bodyRaw(bytes, contentType);
+    }
+
+    //@XNote("设置BODY提交")
+    public HttpUtils bodyRaw(byte[] bytes, String contentType) {
+        _builder.setHeader(Constants.HEADER_CONTENT_TYPE, contentType);
+        _body = HttpRequest.BodyPublishers.ofByteArray(bytes);
+
+        return this;
+    }
+
+    //@XNote("执行异步请求，返回响应对象")
+    public <T> CompletableFuture<HttpResponse<T>> execAsync(String mothod, HttpResponse.BodyHandler<T> handler) {
+        HttpRequest.BodyPublisher body = (_body == null ? HttpRequest.BodyPublishers.noBody() : _body);
+
+        switch (mothod.toUpperCase()) {
+            case "GET": _builder.GET(); break;
+            case "POST": _builder.POST(body); break;
+            case "PUT": _builder.PUT(body); break;
+            case "DELETE": _builder.method("DELETE", body); break;
+            case "PATCH": _builder.method("PATCH", body); break;
+            case "HEAD": _builder.method("HEAD", HttpRequest.BodyPublishers.noBody()); break;
+            case "OPTIONS": _builder.method("OPTIONS", HttpRequest.BodyPublishers.noBody()); break;
+            case "TRACE": _builder.method("TRACE", HttpRequest.BodyPublishers.noBody()); break;
+            default: throw new RuntimeException("This method is not supported");
+        }
+
+        return client(_timeout).sendAsync(_builder.build(), handler);
+    }
+
+    private static String quote(String str) {
+        return str.replace("\"", "%22");
+    }
+
+    /**
+     * multipart 各部分（文件在读到时才打开）
+     */
+    private static class PartEnumeration implements Enumeration<InputStream> {
+        private final Iterator<Object> parts;
+
+        PartEnumeration(List<Object> parts) {
+            this.parts = parts.iterator();
+        }
+
+        @Override
+        public boolean hasMoreElements() {
+            return parts.hasNext();
+        }
+
+        @Override
+        public InputStream nextElement() {
+            Object part = parts.next();
+
+            try {
+                if (part instanceof byte[]) {
+                    return new ByteArrayInputStream((byte[]) part);
+                } else if (part instanceof File) {
+                    return new FileInputStream((File) part);
+                } else if (part instanceof Path) {
+                    return Files.newInputStream((Path) part);
+                } else {
+                    return (InputStream) part;
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+}
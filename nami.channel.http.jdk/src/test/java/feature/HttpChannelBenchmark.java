@@ -0,0 +1,105 @@
+package feature;
+
+import com.sun.net.httpserver.HttpServer;
+import org.noear.nami.NamiChannel;
+import org.noear.nami.NamiConfig;
+import org.noear.nami.channel.http.jdk.HttpChannel;
+import org.noear.nami.common.Constants;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+/**
+ * jdk 与 okhttp、hutool 通道在本机回环上的对比（每秒调用数、平均延时、新建连接数）
+ *
+ * <p>-Dthreads=N 为并发调用的线程数（默认 1，即顺序调用）</p>
+ */
+public class HttpChannelBenchmark {
+    static final int WARMUP = Integer.getInteger("warmup", 2_000);
+    static final int ROUNDS = Integer.getInteger("rounds", 10_000);
+    static final int THREADS = Integer.getInteger("threads", 1);
+
+    public static void main(String[] args) throws Throwable {
+        //jdk 服务端默认未开 TCP_NODELAY，会因延迟确认拖慢每次调用
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+
+        Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(4, THREADS));
+        server.setExecutor(executor);
+        server.createContext("/hello", ex -> {
+            clientPorts.add(ex.getRemoteAddress().getPort());
+
+            byte[] body = "\"hello\"".getBytes(StandardCharsets.UTF_8);
+            ex.sendResponseHeaders(200, body.length);
+            try (OutputStream out = ex.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/hello";
+        ExecutorService callers = Executors.newFixedThreadPool(THREADS);
+
+        try {
+            System.out.println("threads: " + THREADS);
+            run("jdk", HttpChannel.instance, url, clientPorts, callers);
+            run("okhttp", org.noear.nami.channel.http.okhttp.HttpChannel.instance, url, clientPorts, callers);
+            run("hutool", org.noear.nami.channel.http.hutool.HttpChannel.instance, url, clientPorts, callers);
+        } finally {
+            callers.shutdown();
+            server.stop(0);
+            executor.shutdown();
+        }
+    }
+
+    static void run(String name, NamiChannel channel, String url, Set<Integer> clientPorts, ExecutorService callers) throws Throwable {
+        NamiConfig cfg = HttpChannelTest.config();
+
+        calls(channel, cfg, url, WARMUP, callers);
+
+        clientPorts.clear();
+
+        long start = System.nanoTime();
+        calls(channel, cfg, url, ROUNDS, callers);
+        long spent = System.nanoTime() - start;
+
+        System.out.printf("%-8s %8.0f calls/s  %6.1f us/call  %d connections%n",
+                name, ROUNDS * 1e9 / spent, spent / 1e3 / ROUNDS * THREADS, clientPorts.size());
+    }
+
+    /**
+     * 在各调用线程上平分调用次数
+     */
+    static void calls(NamiChannel channel, NamiConfig cfg, String url, int count, ExecutorService callers) throws Throwable {
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int n = count / THREADS + (t < count % THREADS ? 1 : 0);
+
+            futures.add(callers.submit(() -> {
+                for (int i = 0; i < n; i++) {
+                    try {
+                        channel.call(cfg, null, Constants.METHOD_GET, url, new HashMap<>(), new HashMap<>(), null).bodyAsString();
+                    } catch (Throwable e) {
+                        throw new CompletionException(e);
+                    }
+                }
+            }));
+        }
+
+        for (Future<?> f : futures) {
+            try {
+                f.get();
+            } catch (ExecutionException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
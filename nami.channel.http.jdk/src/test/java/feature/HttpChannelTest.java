@@ -0,0 +1,123 @@
+package feature;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.noear.nami.Decoder;
+import org.noear.nami.Encoder;
+import org.noear.nami.NamiConfig;
+import org.noear.nami.channel.http.jdk.HttpChannel;
+import org.noear.nami.common.Constants;
+import org.noear.nami.common.Result;
+
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class HttpChannelTest {
+    static HttpServer server;
+    static String url;
+
+    @BeforeClass
+    public static void start() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/bogus", ex -> {
+            byte[] body = "\"中文\"".getBytes(StandardCharsets.UTF_8);
+            ex.getResponseHeaders().add(Constants.HEADER_CONTENT_TYPE, "application/json; charset=bogus-1");
+            ex.sendResponseHeaders(200, body.length);
+            try (OutputStream out = ex.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/echo-encoding", ex -> {
+            String encoding = ex.getRequestHeaders().getFirst(Constants.HEADER_CONTENT_ENCODING);
+            byte[] body = String.valueOf(encoding).getBytes(StandardCharsets.UTF_8);
+            ex.sendResponseHeaders(200, body.length);
+            try (OutputStream out = ex.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        url = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterClass
+    public static void stop() {
+        server.stop(0);
+    }
+
+    static NamiConfig config() {
+        NamiConfig cfg = new NamiConfig();
+        cfg.setTimeout(5);
+        cfg.setDecoder(new Decoder() {
+            @Override
+            public String enctype() {
+                return Constants.CONTENT_TYPE_JSON;
+            }
+
+            @Override
+            public <T> T decode(Result rst, Type clz) {
+                return (T) rst.bodyAsString();
+            }
+
+            @Override
+            public void filter(NamiConfig cfg, String action, String url, Map<String, String> headers, Map<String, Object> args) {
+            }
+        });
+        return cfg;
+    }
+
+    @Test
+    public void unknownCharsetFallsBackToUtf8() throws Throwable {
+        Result rst = HttpChannel.instance.call(config(), null, Constants.METHOD_GET, url + "/bogus",
+                new HashMap<>(), new HashMap<>(), null);
+
+        assertEquals(200, rst.code());
+        assertEquals(StandardCharsets.UTF_8, rst.charset());
+
+        //返回体以流交给解码器
+        assertTrue(rst.isBodyStream());
+        assertEquals("\"中文\"", rst.bodyAsString());
+    }
+
+    @Test
+    public void contentEncodingFollowsEncoder() throws Throwable {
+        NamiConfig cfg = config();
+        cfg.setEncoder(new Encoder() {
+            @Override
+            public String enctype() {
+                return Constants.CONTENT_TYPE_JSON;
+            }
+
+            @Override
+            public byte[] encode(Object obj) {
+                return "{}".getBytes(StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public String encoding() {
+                return "x-test";
+            }
+        });
+
+        Map<String, Object> args = new HashMap<>();
+        args.put("a", 1);
+
+        //使用了编码输出，才带 Content-Encoding
+        Result rst = HttpChannel.instance.call(cfg, null, Constants.METHOD_POST, url + "/echo-encoding",
+                new HashMap<>(), args, args);
+        assertEquals("x-test", rst.bodyAsString());
+
+        //无参数时不编码，也不带
+        rst = HttpChannel.instance.call(cfg, null, Constants.METHOD_POST, url + "/echo-encoding",
+                new HashMap<>(), new HashMap<>(), null);
+        assertEquals("null", rst.bodyAsString());
+    }
+}
@@ -0,0 +1,199 @@
+package org.noear.nami.channel.http.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 流式返回体（IO 线程写入 ByteBuf 块，使用方边收边读；积压过多时暂停读取）
+ *
+ * <p>读完即可释放连接；提前关闭则关闭连接</p>
+ *
+ * @author noear
+ * @since 1.3
+ */
+class BodyStream extends InputStream {
+    /**
+     * 积压高水位（超过则暂停读取）
+     */
+    static int highWater = Integer.getInteger("nami.netty.streamHighWater", 1024 * 1024);
+    /**
+     * 积压低水位（低于则恢复读取）
+     */
+    static int lowWater = highWater / 4;
+
+    private static final Object END = new Object();
+
+    private final Channel channel;
+    private final Exchange exchange;
+    private final int timeout;
+    private final LinkedBlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+    private final AtomicLong pending = new AtomicLong();
+
+    private ByteBuf current;
+    private boolean eof;
+    private volatile boolean ended;
+    private volatile boolean paused;
+    private volatile boolean closed;
+
+    BodyStream(Channel channel, Exchange exchange, int timeout) {
+        this.channel = channel;
+        this.exchange = exchange;
+        this.timeout = timeout;
+    }
+
+    /**
+     * 写入一块（IO 线程）
+     */
+    synchronized void offer(ByteBuf buf) {
+        if (closed) {
+            buf.release();
+            return;
+        }
+
+        queue.offer(buf);
+
+        if (pending.addAndGet(buf.readableBytes()) > highWater && paused == false) {
+            paused = true;
+            channel.config().setAutoRead(false);
+
+            if (pending.get() < lowWater) {
+                //期间已被读走（使用方可能没看到暂停）
+                paused = false;
+                channel.config().setAutoRead(true);
+            }
+        }
+    }
+
+    /**
+     * 正常结束（IO 线程）
+     */
+    synchronized void end() {
+        ended = true;
+        queue.offer(END);
+    }
+
+    /**
+     * 异常结束（IO 线程）
+     */
+    synchronized void fail(Throwable err) {
+        ended = true;
+        queue.offer(err);
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        int n = read(b, 0, 1);
+        return n < 0 ? -1 : (b[0] & 0xff);
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+
+        if (len == 0) {
+            return 0;
+        }
+
+        while (true) {
+            if (current != null) {
+                if (current.isReadable()) {
+                    int n = Math.min(len, current.readableBytes());
+                    current.readBytes(b, off, n);
+                    return n;
+                }
+
+                current.release();
+                current = null;
+            }
+
+            if (eof) {
+                return -1;
+            }
+
+            Object item = take();
+
+            if (item == END) {
+                eof = true;
+                return -1;
+            }
+
+            if (item instanceof Throwable) {
+                eof = true;
+                throw new IOException("Response body failed", (Throwable) item);
+            }
+
+            current = (ByteBuf) item;
+            taken(current.readableBytes());
+        }
+    }
+
+    @Override
+    public int available() throws IOException {
+        return current == null ? 0 : current.readableBytes();
+    }
+
+    private Object take() throws IOException {
+        try {
+            if (timeout > 0) {
+                Object item = queue.poll(timeout, TimeUnit.SECONDS);
+
+                if (item == null) {
+                    throw new SocketTimeoutException("Response body read timeout: " + timeout + "s");
+                }
+
+                return item;
+            } else {
+                return queue.take();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+    }
+
+    private void taken(int size) {
+        if (pending.addAndGet(-size) < lowWater && paused) {
+            paused = false;
+            exchange.resume();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+        }
+
+        if (current != null) {
+            current.release();
+            current = null;
+        }
+
+        Object item;
+        while ((item = queue.poll()) != null) {
+            if (item instanceof ByteBuf) {
+                ((ByteBuf) item).release();
+            }
+        }
+
+        if (ended == false) {
+            //未读完：放弃该连接
+            exchange.abort();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package org.noear.nami.channel.http.netty;
+
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.channel.Channel;
+import io.netty.handler.codec.TooLongFrameException;
+import io.netty.handler.codec.http.*;
+import org.noear.nami.common.Result;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 一次请求的交换（只在通道的 IO 线程上调用；结果在 executor 上完成）
+ *
+ * <p>非流式：聚合返回体（受 maxContentLength 限制）；流式：收到响应头即返回，返回体经 {@link BodyStream} 边收边读</p>
+ *
+ * @author noear
+ * @since 1.3
+ */
+class Exchange {
+    private final Channel channel;
+    private final CompletableFuture<Result> future;
+    private final Executor executor;
+    private final boolean stream;
+    private final int timeout;
+    private final CompletableFuture<Boolean> finished = new CompletableFuture<>();
+
+    private HttpResponse head;
+    private CompositeByteBuf aggregated;
+    private BodyStream body;
+
+    Exchange(Channel channel, CompletableFuture<Result> future, Executor executor, boolean stream, int timeout) {
+        this.channel = channel;
+        this.future = future;
+        this.executor = executor;
+        this.stream = stream;
+        this.timeout = timeout;
+    }
+
+    /**
+     * 交换结束（值为是否可保持连接；异常结束时通道须关闭）
+     */
+    CompletableFuture<Boolean> finished() {
+        return finished;
+    }
+
+    void onMessage(HttpObject msg) {
+        if (finished.isDone()) {
+            return;
+        }
+
+        if (msg instanceof HttpResponse) {
+            onHead((HttpResponse) msg);
+        }
+
+        if (msg instanceof HttpContent && finished.isDone() == false) {
+            onContent((HttpContent) msg);
+        }
+    }
+
+    private void onHead(HttpResponse msg) {
+        if (msg.status().code() == 100) {
+            //100-continue 的空返回体忽略
+            head = null;
+            return;
+        }
+
+        head = msg;
+
+        if (stream) {
+            body = new BodyStream(channel, this, timeout);
+            respond(body);
+        } else {
+            if (HttpUtil.getContentLength(msg, -1L) > NettyClient.maxContentLength) {
+                fail(new TooLongFrameException("Response content length exceeded " + NettyClient.maxContentLength + " bytes"));
+                return;
+            }
+
+            aggregated = channel.alloc().compositeBuffer(Integer.MAX_VALUE);
+        }
+    }
+
+    private void onContent(HttpContent msg) {
+        if (head == null) {
+            return;
+        }
+
+        if (msg.content().isReadable()) {
+            if (stream) {
+                body.offer(msg.content().retain());
+            } else {
+                if (aggregated.readableBytes() + msg.content().readableBytes() > NettyClient.maxContentLength) {
+                    fail(new TooLongFrameException("Response content length exceeded " + NettyClient.maxContentLength + " bytes"));
+                    return;
+                }
+
+                aggregated.addComponent(true, msg.content().retain());
+            }
+        }
+
+        if (msg instanceof LastHttpContent) {
+            if (stream) {
+                body.end();
+            } else {
+                CompositeByteBuf content = aggregated;
+                aggregated = null;
+                respond(new ByteBufInputStream(content, true));
+            }
+
+            finished.complete(HttpUtil.isKeepAlive(head));
+        }
+    }
+
+    private void respond(InputStream in) {
+        Result result = new Result(head.status().code(), in);
+
+        for (Map.Entry<String, String> kv : head.headers()) {
+            result.headerAdd(kv.getKey(), kv.getValue());
+        }
+
+        result.charsetSet(HttpUtil.getCharset(head, StandardCharsets.UTF_8));
+
+        executor.execute(() -> {
+            if (future.complete(result) == false) {
+                //已超时或已失败
+                result.close();
+            }
+        });
+    }
+
+    /**
+     * 超时（已返回结果的流式交换不受影响）
+     */
+    void timeout(TimeoutException err) {
+        if (body == null) {
+            fail(err);
+        }
+    }
+
+    void fail(Throwable err) {
+        if (finished.isDone()) {
+            return;
+        }
+
+        if (aggregated != null) {
+            aggregated.release();
+            aggregated = null;
+        }
+
+        if (body != null) {
+            body.fail(err);
+        } else {
+            executor.execute(() -> future.completeExceptionally(err));
+        }
+
+        finished.completeExceptionally(err);
+    }
+
+    /**
+     * 流的积压已消化，恢复读取（在任意线程调用）
+     */
+    void resume() {
+        channel.eventLoop().execute(() -> {
+            if (channel.attr(NettyClient.EXCHANGE_KEY).get() == this) {
+                channel.config().setAutoRead(true);
+            }
+        });
+    }
+
+    /**
+     * 流的使用方提前关闭（在任意线程调用；交换仍是当前交换时才关闭通道）
+     */
+    void abort() {
+        channel.eventLoop().execute(() -> {
+            if (channel.attr(NettyClient.EXCHANGE_KEY).get() == this) {
+                fail(new IOException("Response body closed before end"));
+            }
+        });
+    }
+}
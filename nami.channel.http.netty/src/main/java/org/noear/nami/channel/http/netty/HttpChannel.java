@@ -0,0 +1,135 @@
+package org.noear.nami.channel.http.netty;
+
+import org.noear.nami.Encoder;
+import org.noear.nami.NamiChannel;
+import org.noear.nami.NamiConfig;
+import org.noear.nami.NamiManager;
+import org.noear.nami.common.Constants;
+import org.noear.nami.common.MethodWrap;
+import org.noear.nami.common.Result;
+import org.noear.nami.common.UploadUtils;
+import org.noear.nami.common.UrlUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Http 通道（基于 netty；连接池 + 池化 ByteBuf，返回体直接以 ByteBuf 流交给解码器；下载方法流式返回）
+ *
+ * @author noear
+ * @since 1.3
+ * */
+public class HttpChannel implements NamiChannel {
+    public static final HttpChannel instance = new HttpChannel();
+
+    @Override
+    public Result call(NamiConfig cfg, Method method, String action, String url, Map<String, String> headers, Map<String, Object> args, Object body) throws Throwable {
+        try {
+            return callAsync(cfg, method, action, url, headers, args, body).get();
+        } catch (ExecutionException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Result> callAsync(NamiConfig cfg, Method method, String action, String url, Map<String, String> headers, Map<String, Object> args, Object body) {
+        try {
+            return exec(cfg, method, action, url, headers, args, body);
+        } catch (Throwable ex) {
+            CompletableFuture<Result> future = new CompletableFuture<>();
+            future.completeExceptionally(ex);
+            return future;
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> send(NamiConfig cfg, Method method, String action, String url, Map<String, String> headers, Map<String, Object> args, Object body) {
+        //单向发送：不等待响应，响应到达后直接释放
+        return callAsync(cfg, method, action, url, headers, args, body).thenAccept(result -> {
+            if (result != null) {
+                result.close();
+            }
+        });
+    }
+
+    private CompletableFuture<Result> exec(NamiConfig cfg, Method method, String action, String url, Map<String, String> headers, Map<String, Object> args, Object body) throws Throwable {
+        //0.检测method
+        boolean is_get = Constants.METHOD_GET.equals(action);
+
+        //0.尝试重构url
+        if (is_get && args.size() > 0) {
+            url = UrlUtils.buildUrl(url, args);
+        }
+
+        if (cfg.getDecoder() == null) {
+            throw new IllegalArgumentException("There is no suitable decoder");
+        }
+
+        //0.尝试解码器的过滤
+        cfg.getDecoder().filter(cfg, action, url, headers, args);
+
+        //0.开始构建http
+        //下载方法流式返回（不聚合返回体）
+        boolean stream = (method != null && MethodWrap.get(method).isDownload());
+        HttpUtils http = HttpUtils.http(url).timeout(cfg.getTimeout()).stream(stream).headers(headers);
+        Encoder encoder = cfg.getEncoder();
+
+        //1.执行
+        if (is_get || args.size() == 0) {
+            return http.execAsync(Constants.METHOD_GET);
+        }
+
+        if (UploadUtils.isUpload(body)) {
+            //1.1.流提交（@Body 为 File, Path, InputStream）
+            return http.bodyStream(body, headers.get(Constants.HEADER_CONTENT_TYPE)).execAsync(action);
+        }
+
+        if (UploadUtils.hasUpload(args)) {
+            //1.2.上传提交
+            return http.multipart(args).execAsync(action);
+        }
+
+        if (encoder == null) {
+            String ct0 = headers.getOrDefault(Constants.HEADER_CONTENT_TYPE, "");
+
+            if (ct0.length() == 0) {
+                return http.data(args).execAsync(action);
+            } else {
+                encoder = NamiManager.getEncoder(ct0);
+            }
+        }
+
+        if (encoder != null) {
+            byte[] bytes = encoder.encode(body);
+
+            if (bytes != null) {
+                http.bodyRaw(bytes, encoder.enctype(), encoder.encoding());
+            }
+        }
+
+        return http.execAsync(action);
+    }
+
+    @Override
+    public void filter(NamiConfig cfg, String method, String url, Map<String, String> headers, Map<String, Object> args) {
+        if (cfg.getDecoder() == null) {
+            String at = cfg.getHeader(Constants.HEADER_ACCEPT);
+
+            if (at == null) {
+                at = Constants.CONTENT_TYPE_JSON;
+            }
+
+            cfg.setDecoder(NamiManager.getDecoder(at));
+        }
+
+        if (cfg.getEncoder() == null) {
+            String ct = cfg.getHeader(Constants.HEADER_CONTENT_TYPE);
+
+            if (ct != null) {
+                cfg.setEncoder(NamiManager.getEncoder(ct));
+            }
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package org.noear.nami.channel.http.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.*;
+import io.netty.handler.codec.http.multipart.DefaultHttpDataFactory;
+import io.netty.handler.codec.http.multipart.FileUpload;
+import io.netty.handler.codec.http.multipart.HttpDataFactory;
+import io.netty.handler.codec.http.multipart.HttpPostRequestEncoder;
+import io.netty.handler.stream.ChunkedNioFile;
+import io.netty.handler.stream.ChunkedStream;
+import org.noear.nami.common.Constants;
+import org.noear.nami.common.Result;
+import org.noear.nami.common.UploadUtils;
+import org.noear.nami.common.UrlUtils;
+
+import java.io.File;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+class HttpUtils {
+    private final static HttpDataFactory dataFactory = new DefaultHttpDataFactory(DefaultHttpDataFactory.MINSIZE);
+
+    public static HttpUtils http(String url) {
+        return new HttpUtils(url);
+    }
+
+    private final URI _uri;
+    private final HttpHeaders _headers = new DefaultHttpHeaders();
+
+    private ByteBuf _body;
+    private Object _bodyStream;
+    private Map<String, Object> _multipart;
+    private int _timeout;
+    private boolean _stream;
+
+    public HttpUtils(String url) {
+        _uri = URI.create(url);
+    }
+
+    //@XNote("设置超时（单位：秒）")
+    public HttpUtils timeout(int seconds) {
+        _timeout = seconds;
+        return this;
+    }
+
+    //@XNote("设置流式返回（用于下载；返回体不聚合、不限大小）")
+    public HttpUtils stream(boolean stream) {
+        _stream = stream;
+        return this;
+    }
+
+    //@XNote("设置请求头")
+    public HttpUtils headers(Map<String, String> headers) {
+        if (headers != null) {
+            headers.forEach((k, v) -> {
+                if (v != null) {
+                    _headers.set(k, v);
+                }
+            });
+        }
+
+        return this;
+    }
+
+    //@XNote("设置数据提交")
+    public HttpUtils data(Map<String, Object> data) {
+        if (data != null) {
+            _headers.set(HttpHeaderNames.CONTENT_TYPE, Constants.CONTENT_TYPE_FORM_URLENCODED);
+            _body = Unpooled.wrappedBuffer(UrlUtils.buildForm(data));
+        }
+
+        return this;
+    }
+
+    //@XNote("设置上传提交（multipart；File, Path 以分块的方式写出）")
+    public HttpUtils multipart(Map<String, Object> data) {
+        _multipart = data;
+        return this;
+    }
+
+    //@XNote("设置BODY流提交（File, Path, InputStream）")
+    public HttpUtils bodyStream(Object stream, String contentType) {
+        _headers.set(HttpHeaderNames.CONTENT_TYPE, contentType == null ? Constants.CONTENT_TYPE_OCTET_STREAM : contentType);
+        _bodyStream = stream;
+        return this;
+    }
+
+    //@XNote("设置BODY提交（带内容编码，如 zstd）")
+    public HttpUtils bodyRaw(byte[] bytes, String contentType, String contentEncoding) {
+        if (contentEncoding != null) {
+            _headers.set(HttpHeaderNames.CONTENT_ENCODING, contentEncoding);
+        }
+
+        return bodyRaw(bytes, contentType);
+    }
+
+    //@XNote("设置BODY提交")
+    public HttpUtils bodyRaw(byte[] bytes, String contentType) {
+        _headers.set(HttpHeaderNames.CONTENT_TYPE, contentType);
+        _body = Unpooled.wrappedBuffer(bytes);
+        return this;
+    }
+
+    //@XNote("执行异步请求，返回结果（用完需 close）")
+    public CompletableFuture<Result> execAsync(String mothod) throws Exception {
+        HttpMethod method = HttpMethod.valueOf(mothod.toUpperCase());
+
+        String scheme = _uri.getScheme();
+        int port = _uri.getPort();
+        if (port < 0) {
+            port = "https".equals(scheme) ? 443 : 80;
+        }
+
+        String path = _uri.getRawPath();
+        if (path == null || path.length() == 0) {
+            path = "/";
+        }
+
+        if (_uri.getRawQuery() != null) {
+            path = path + "?" + _uri.getRawQuery();
+        }
+
+        _headers.set(HttpHeaderNames.HOST, _uri.getPort() < 0 ? _uri.getHost() : _uri.getHost() + ":" + port);
+
+        if (_headers.contains(HttpHeaderNames.ACCEPT_ENCODING) == false) {
+            _headers.set(HttpHeaderNames.ACCEPT_ENCODING, HttpHeaderValues.GZIP_DEFLATE);
+        }
+
+        URI key = new URI(scheme, null, _uri.getHost(), port, null, null, null);
+
+        if (_multipart != null) {
+            return execMultipart(key, method, path);
+        }
+
+        if (_bodyStream != null) {
+            return execStream(key, method, path);
+        }
+
+        ByteBuf body = (_body == null ? Unpooled.EMPTY_BUFFER : _body);
+        FullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, method, path, body, _headers, EmptyHttpHeaders.INSTANCE);
+
+        if (_body != null || HttpMethod.GET.equals(method) == false) {
+            HttpUtil.setContentLength(request, body.readableBytes());
+        }
+
+        return NettyClient.instance.send(key, request, null, _timeout, _stream);
+    }
+
+    private CompletableFuture<Result> execStream(URI key, HttpMethod method, String path) throws Exception {
+        HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, method, path, _headers);
+        HttpChunkedInput content;
+
+        if (_bodyStream instanceof File || _bodyStream instanceof Path) {
+            File file = (_bodyStream instanceof File) ? (File) _bodyStream : ((Path) _bodyStream).toFile();
+
+            HttpUtil.setContentLength(request, file.length());
+            content = new HttpChunkedInput(new ChunkedNioFile(file));
+        } else {
+            HttpUtil.setTransferEncodingChunked(request, true);
+            content = new HttpChunkedInput(new ChunkedStream((InputStream) _bodyStream));
+        }
+
+        return NettyClient.instance.send(key, request, content, _timeout, _stream);
+    }
+
+    private CompletableFuture<Result> execMultipart(URI key, HttpMethod method, String path) throws Exception {
+        HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, method, path, _headers);
+        HttpPostRequestEncoder encoder = new HttpPostRequestEncoder(dataFactory, request, true);
+
+        for (Map.Entry<String, Object> kv : _multipart.entrySet()) {
+            String k = kv.getKey();
+            Object v = kv.getValue();
+
+            if (v == null) {
+                continue;
+            }
+
+            if (v instanceof File) {
+                encoder.addBodyFileUpload(k, (File) v, Constants.CONTENT_TYPE_OCTET_STREAM, false);
+            } else if (v instanceof Path) {
+                encoder.addBodyFileUpload(k, ((Path) v).toFile(), Constants.CONTENT_TYPE_OCTET_STREAM, false);
+            } else if (v instanceof InputStream) {
+                FileUpload upload = dataFactory.createFileUpload(request, k, UploadUtils.fileName(v, k),
+                        Constants.CONTENT_TYPE_OCTET_STREAM, "binary", null, 0);
+                upload.setContent((InputStream) v);
+                encoder.addBodyHttpData(upload);
+            } else {
+                encoder.addBodyAttribute(k, v.toString());
+            }
+        }
+
+        request = encoder.finalizeRequest();
+
+        CompletableFuture<Result> future = NettyClient.instance.send(key, request, encoder.isChunked() ? encoder : null, _timeout, _stream);
+        future.whenComplete((res, err) -> encoder.cleanFiles());
+
+        return future;
+    }
+}
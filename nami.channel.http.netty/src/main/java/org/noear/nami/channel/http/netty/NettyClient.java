@@ -0,0 +1,244 @@
+package org.noear.nami.channel.http.netty;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.*;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.pool.AbstractChannelPoolHandler;
+import io.netty.channel.pool.AbstractChannelPoolMap;
+import io.netty.channel.pool.FixedChannelPool;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.http.*;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.stream.ChunkedWriteHandler;
+import io.netty.util.AttributeKey;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.noear.nami.common.Result;
+
+import java.net.URI;
+import java.nio.channels.ClosedChannelException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Netty 客户端（按 scheme://host:port 分池；epoll 可用时使用 epoll）
+ *
+ * <p>结果在专用的线程池上完成（解码等后续处理不占用 IO 线程）</p>
+ *
+ * @author noear
+ * @since 1.3
+ */
+class NettyClient {
+    static final NettyClient instance = new NettyClient();
+
+    static final AttributeKey<Exchange> EXCHANGE_KEY = AttributeKey.valueOf("nami.exchange");
+
+    /**
+     * 每个主机的最大连接数
+     */
+    static int maxConnections = Integer.getInteger("nami.netty.maxConnections", 64);
+    /**
+     * 最大响应体（流式下载不受限制）
+     */
+    static int maxContentLength = Integer.getInteger("nami.netty.maxContentLength", 1024 * 1024 * 64);
+
+    private final Bootstrap bootstrap;
+    private final AbstractChannelPoolMap<URI, FixedChannelPool> poolMap;
+    private final ExecutorService executor;
+    private SslContext sslContext;
+
+    private NettyClient() {
+        ThreadFactory threadFactory = new DefaultThreadFactory("nami-netty", true);
+
+        EventLoopGroup group = epollGroup(threadFactory);
+        Class<? extends Channel> channelClass;
+
+        if (group == null) {
+            group = new NioEventLoopGroup(0, threadFactory);
+            channelClass = NioSocketChannel.class;
+        } else {
+            channelClass = epollChannelClass();
+        }
+
+        executor = Executors.newCachedThreadPool(new DefaultThreadFactory("nami-netty-exec", true));
+
+        bootstrap = new Bootstrap()
+                .group(group)
+                .channel(channelClass)
+                .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+                .option(ChannelOption.TCP_NODELAY, true)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 1000 * 10);
+
+        poolMap = new AbstractChannelPoolMap<URI, FixedChannelPool>() {
+            @Override
+            protected FixedChannelPool newPool(URI key) {
+                Bootstrap b = bootstrap.clone().remoteAddress(key.getHost(), key.getPort());
+                return new FixedChannelPool(b, new PoolHandler(key), maxConnections);
+            }
+        };
+    }
+
+    /**
+     * 发送请求（content 为 null 时，request 须为 FullHttpRequest）
+     *
+     * @param stream 是否流式返回（用于下载；收到响应头即返回，返回体边收边读）
+     */
+    CompletableFuture<Result> send(URI key, HttpRequest request, Object content, int timeout, boolean stream) {
+        CompletableFuture<Result> future = new CompletableFuture<>();
+        FixedChannelPool pool = poolMap.get(key);
+
+        pool.acquire().addListener((Future<Channel> acquired) -> {
+            if (acquired.isSuccess() == false) {
+                ReferenceCountUtil.release(request);
+                ReferenceCountUtil.release(content);
+                executor.execute(() -> future.completeExceptionally(acquired.cause()));
+                return;
+            }
+
+            Channel ch = acquired.getNow();
+            Exchange exchange = new Exchange(ch, future, executor, stream, timeout);
+            ch.attr(EXCHANGE_KEY).set(exchange);
+
+            if (timeout > 0) {
+                //超时只管到结果返回（流式下载的读取超时由返回体流处理）
+                ScheduledFuture<?> timer = ch.eventLoop().schedule(() -> {
+                    exchange.timeout(new TimeoutException("Nami call timeout: " + timeout + "s"));
+                }, timeout, TimeUnit.SECONDS);
+
+                future.whenComplete((res, err) -> timer.cancel(false));
+            }
+
+            exchange.finished().whenComplete((keepAlive, err) -> {
+                ch.attr(EXCHANGE_KEY).set(null);
+                ch.config().setAutoRead(true);
+
+                if (err != null || keepAlive == false) {
+                    ch.close();
+                }
+
+                pool.release(ch);
+            });
+
+            ChannelFuture written;
+            if (content == null) {
+                written = ch.writeAndFlush(request);
+            } else {
+                ch.write(request);
+                written = ch.writeAndFlush(content);
+            }
+
+            written.addListener(w -> {
+                if (w.isSuccess() == false) {
+                    exchange.fail(w.cause());
+                }
+            });
+        });
+
+        return future;
+    }
+
+    private synchronized SslContext sslContext() throws Exception {
+        if (sslContext == null) {
+            sslContext = SslContextBuilder.forClient().build();
+        }
+
+        return sslContext;
+    }
+
+    /**
+     * epoll 线程组（epoll 不在 classpath 或不可用时为 null；反射加载，可不依赖 epoll 包）
+     */
+    private static EventLoopGroup epollGroup(ThreadFactory threadFactory) {
+        try {
+            Class<?> epoll = Class.forName("io.netty.channel.epoll.Epoll");
+
+            if ((Boolean) epoll.getMethod("isAvailable").invoke(null)) {
+                return (EventLoopGroup) Class.forName("io.netty.channel.epoll.EpollEventLoopGroup")
+                        .getConstructor(int.class, ThreadFactory.class)
+                        .newInstance(0, threadFactory);
+            }
+        } catch (ClassNotFoundException | LinkageError ex) {
+            //不在 classpath 里
+        } catch (Exception ex) {
+            //不可用，用 nio
+        }
+
+        return null;
+    }
+
+    private static Class<? extends Channel> epollChannelClass() {
+        try {
+            return (Class<? extends Channel>) Class.forName("io.netty.channel.epoll.EpollSocketChannel");
+        } catch (ClassNotFoundException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private class PoolHandler extends AbstractChannelPoolHandler {
+        private final URI key;
+
+        PoolHandler(URI key) {
+            this.key = key;
+        }
+
+        @Override
+        public void channelCreated(Channel ch) throws Exception {
+            ChannelPipeline pipeline = ch.pipeline();
+
+            if ("https".equals(key.getScheme())) {
+                pipeline.addLast(sslContext().newHandler(ch.alloc(), key.getHost(), key.getPort()));
+            }
+
+            //不聚合返回体（由 Exchange 按请求决定聚合或流式）
+            pipeline.addLast(new HttpClientCodec());
+            pipeline.addLast(new HttpContentDecompressor());
+            pipeline.addLast(new ChunkedWriteHandler());
+            pipeline.addLast(ResponseHandler.instance);
+        }
+    }
+
+    @ChannelHandler.Sharable
+    static class ResponseHandler extends SimpleChannelInboundHandler<HttpObject> {
+        static final ResponseHandler instance = new ResponseHandler();
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, HttpObject msg) throws Exception {
+            Exchange exchange = ctx.channel().attr(EXCHANGE_KEY).get();
+
+            if (exchange != null) {
+                exchange.onMessage(msg);
+            }
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
+            Exchange exchange = ctx.channel().attr(EXCHANGE_KEY).get();
+
+            if (exchange != null) {
+                exchange.fail(cause);
+            }
+
+            ctx.close();
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+            Exchange exchange = ctx.channel().attr(EXCHANGE_KEY).get();
+
+            if (exchange != null) {
+                exchange.fail(new ClosedChannelException());
+            }
+
+            super.channelInactive(ctx);
+        }
+    }
+}
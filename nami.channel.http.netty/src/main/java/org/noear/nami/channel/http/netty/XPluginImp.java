@@ -0,0 +1,17 @@
+package org.noear.nami.channel.http.netty;
+
+import org.noear.nami.NamiManager;
+import org.noear.solon.SolonApp;
+import org.noear.solon.core.Plugin;
+
+/**
+ * @author noear
+ * @since 1.3
+ */
+public class XPluginImp implements Plugin {
+    @Override
+    public void start(SolonApp app) {
+        NamiManager.regIfAbsent("http", HttpChannel.instance);
+        NamiManager.regIfAbsent("https", HttpChannel.instance);
+    }
+}
@@ -0,0 +1,160 @@
+package org.noear.nami.channel.http.netty;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.noear.nami.Decoder;
+import org.noear.nami.NamiConfig;
+import org.noear.nami.common.Constants;
+import org.noear.nami.common.Result;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.*;
+
+public class HttpChannelTest {
+    static final int BIG = 1024 * 1024 * 3;
+
+    static HttpServer server;
+    static String url;
+
+    interface Api {
+        String text();
+
+        InputStream download();
+    }
+
+    @BeforeClass
+    public static void start() throws Exception {
+        NettyClient.maxContentLength = 1024 * 1024;
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/text", ex -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            byte[] body = "\"中文\"".getBytes(StandardCharsets.UTF_8);
+            ex.getResponseHeaders().add(Constants.HEADER_CONTENT_TYPE, "application/json; charset=utf-8");
+            ex.sendResponseHeaders(200, body.length);
+            try (OutputStream out = ex.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/big", ex -> {
+            //chunked，超过 maxContentLength
+            ex.sendResponseHeaders(200, 0);
+            byte[] block = new byte[1024 * 64];
+            try (OutputStream out = ex.getResponseBody()) {
+                for (int i = 0; i < BIG / block.length; i++) {
+                    out.write(block);
+                }
+            } catch (Exception e) {
+                //客户端提前关闭
+            }
+        });
+        server.start();
+
+        url = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterClass
+    public static void stop() {
+        server.stop(0);
+    }
+
+    static NamiConfig config() {
+        NamiConfig cfg = new NamiConfig();
+        cfg.setTimeout(5);
+        cfg.setDecoder(new Decoder() {
+            @Override
+            public String enctype() {
+                return Constants.CONTENT_TYPE_JSON;
+            }
+
+            @Override
+            public <T> T decode(Result rst, Type clz) {
+                return (T) rst.bodyAsString();
+            }
+
+            @Override
+            public void filter(NamiConfig cfg, String action, String url, Map<String, String> headers, Map<String, Object> args) {
+            }
+        });
+        return cfg;
+    }
+
+    static Result call(String method, String path) throws Throwable {
+        Method m = Api.class.getMethod(method);
+        return HttpChannel.instance.call(config(), m, Constants.METHOD_GET, url + path, new HashMap<>(), new HashMap<>(), null);
+    }
+
+    @Test
+    public void completesOffEventLoop() throws Throwable {
+        Method m = Api.class.getMethod("text");
+        String thread = HttpChannel.instance.callAsync(config(), m, Constants.METHOD_GET, url + "/text", new HashMap<>(), new HashMap<>(), null)
+                .thenApply(rst -> {
+                    assertEquals("\"中文\"", rst.bodyAsString());
+                    return Thread.currentThread().getName();
+                }).get();
+
+        assertTrue(thread, thread.startsWith("nami-netty-exec"));
+    }
+
+    @Test
+    public void aggregatedOverLimitFails() throws Throwable {
+        try {
+            call("text", "/big");
+            fail();
+        } catch (Throwable ex) {
+            if (ex instanceof ExecutionException) {
+                ex = ex.getCause();
+            }
+
+            assertTrue(ex.toString(), ex.getMessage().contains("exceeded"));
+        }
+    }
+
+    @Test
+    public void downloadStreamsOverLimit() throws Throwable {
+        Result rst = call("download", "/big");
+        assertTrue(rst.isBodyStream());
+
+        long total = 0;
+        byte[] buf = new byte[8192];
+        try (InputStream in = rst.bodyAsStream()) {
+            int n;
+            while ((n = in.read(buf)) > 0) {
+                total += n;
+            }
+        }
+
+        assertEquals(BIG, total);
+
+        //连接回池后可继续使用
+        assertEquals("\"中文\"", call("text", "/text").bodyAsString());
+    }
+
+    @Test
+    public void downloadClosedEarly() throws Throwable {
+        Result rst = call("download", "/big");
+
+        try (InputStream in = rst.bodyAsStream()) {
+            assertTrue(in.read(new byte[100]) > 0);
+        }
+
+        //提前关闭的连接被丢弃，不影响后续请求
+        assertEquals("\"中文\"", call("text", "/text").bodyAsString());
+    }
+}
@@ -4,10 +4,16 @@ import okhttp3.MediaType;
 import okhttp3.Response;
 import org.noear.nami.*;
 import org.noear.nami.common.Constants;
+import org.noear.nami.common.MethodWrap;
 import org.noear.nami.common.Result;
+import org.noear.nami.common.UploadUtils;
+import org.noear.nami.common.UrlUtils;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Method;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Http 通道
@@ -17,21 +23,76 @@ public class HttpChannel implements NamiChannel {
 
     @Override
     public Result call(NamiConfig cfg, Method method, String action, String url, Map<String, String> headers, Map<String, Object> args, Object body) throws Throwable {
+        HttpUtils http = build(cfg, action, url, headers, args, body);
+
+        if (http == null) {
+            return null;
+        }
+
+        //1.执行并返回
+        Response response = http.exec(action0(action, args));
+
+        return buildResult(response, isDownload(method));
+    }
+
+    @Override
+    public CompletableFuture<Result> callAsync(NamiConfig cfg, Method method, String action, String url, Map<String, String> headers, Map<String, Object> args, Object body) {
+        try {
+            HttpUtils http = build(cfg, action, url, headers, args, body);
+
+            if (http == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            //1.异步执行并返回（由 okhttp 的调度器执行）
+            boolean is_download = isDownload(method);
+
+            return http.enqueue(action0(action, args)).thenApply(response -> {
+                try {
+                    return buildResult(response, is_download);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (Throwable ex) {
+            CompletableFuture<Result> future = new CompletableFuture<>();
+            future.completeExceptionally(ex);
+            return future;
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> send(NamiConfig cfg, Method method, String action, String url, Map<String, String> headers, Map<String, Object> args, Object body) {
+        //单向发送：入队即返回，响应到达后直接释放
+        return callAsync(cfg, method, action, url, headers, args, body).thenAccept(result -> {
+            if (result != null) {
+                result.close();
+            }
+        });
+    }
+
+    private static boolean isDownload(Method method) {
+        return method != null && MethodWrap.get(method).isDownload();
+    }
+
+    private static String action0(String action, Map<String, Object> args) {
+        if (Constants.METHOD_GET.equals(action) || args.size() == 0) {
+            return Constants.METHOD_GET;
+        } else {
+            return action;
+        }
+    }
+
+    /**
+     * 构建请求（没有可提交的内容时，返回 null）
+     */
+    private HttpUtils build(NamiConfig cfg, String action, String url, Map<String, String> headers, Map<String, Object> args, Object body) throws Throwable {
         //0.检测method
         boolean is_get = Constants.METHOD_GET.equals(action);
 
         //0.尝试重构url
         if (is_get && args.size() > 0) {
-            StringBuilder sb = new StringBuilder(url).append("?");
-            args.forEach((k, v) -> {
-                if (v != null) {
-                    sb.append(k).append("=")
-                            .append(HttpUtils.urlEncode(v.toString()))
-                            .append("&");
-                }
-            });
-
-            url = sb.substring(0, sb.length() - 1);
+            url = UrlUtils.buildUrl(url, args);
         }
 
         if (cfg.getDecoder() == null) {
@@ -43,40 +104,52 @@ public class HttpChannel implements NamiChannel {
 
         //0.开始构建http
         HttpUtils http = HttpUtils.http(url).headers(headers);
-        Response response = null;
         Encoder encoder = cfg.getEncoder();
 
-        //1.执行并返回
         if (is_get || args.size() == 0) {
-            response = http.exec(Constants.METHOD_GET);
-        } else {
-            if (encoder == null) {
-                String ct0 = headers.getOrDefault(Constants.HEADER_CONTENT_TYPE, "");
+            return http;
+        }
 
-                if (ct0.length() == 0) {
-                    response = http.data(args).exec(action);
-                } else {
-                    encoder = NamiManager.getEncoder(ct0);
-                }
+        if (UploadUtils.isUpload(body)) {
+            //1.1.流提交（@Body 为 File, Path, InputStream）
+            return http.bodyStream(body, headers.get(Constants.HEADER_CONTENT_TYPE));
+        }
+
+        if (UploadUtils.hasUpload(args)) {
+            //1.2.上传提交
+            return http.multipart(args);
+        }
+
+        if (encoder == null) {
+            String ct0 = headers.getOrDefault(Constants.HEADER_CONTENT_TYPE, "");
+
+            if (ct0.length() == 0) {
+                return http.data(args);
             } else {
-                encoder = cfg.getEncoder();
+                encoder = NamiManager.getEncoder(ct0);
             }
         }
 
-        if (response == null && encoder != null) {
+        if (encoder != null) {
             byte[] bytes = encoder.encode(body);
 
             if (bytes != null) {
-                response = http.bodyRaw(bytes, encoder.enctype()).exec(action);
+                return http.bodyRaw(bytes, encoder.enctype(), encoder.encoding());
             }
         }
 
-        if (response == null) {
-            return null;
-        }
+        return null;
+    }
 
+    private Result buildResult(Response response, boolean is_download) throws IOException {
         //2.构建结果
-        Result result = new Result(response.code(), response.body().bytes());
+        Result result;
+        if (is_download) {
+            //流式下载（关闭流即释放连接）
+            result = new Result(response.code(), response.body().byteStream());
+        } else {
+            result = new Result(response.code(), response.body().bytes());
+        }
 
         //2.1.设置头
         for (int i = 0, len = response.headers().size(); i < len; i++) {
@@ -1,13 +1,13 @@
 package org.noear.nami.channel.http.okhttp;
 
 import okhttp3.*;
-import org.noear.nami.NamiException;
+import org.noear.nami.common.Constants;
+import org.noear.nami.common.UploadUtils;
+import org.noear.nami.common.UrlUtils;
 
-import java.io.UnsupportedEncodingException;
-import java.net.URLEncoder;
-import java.nio.charset.Charset;
-import java.util.HashMap;
+import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 class HttpUtils {
@@ -25,21 +25,14 @@ class HttpUtils {
             .dispatcher(dispatcher())
             .build();
 
+    private final static MediaType FORM_TYPE = MediaType.parse(Constants.CONTENT_TYPE_FORM_URLENCODED);
+    private final static MediaType STREAM_TYPE = MediaType.parse(Constants.CONTENT_TYPE_OCTET_STREAM);
+
     public static HttpUtils http(String url){
         return new HttpUtils(url);
     }
 
-    public static String urlEncode(String str) {
-        try {
-            return URLEncoder.encode(str, "utf-8");
-        } catch (UnsupportedEncodingException ex) {
-            throw new NamiException(ex);
-        }
-    }
-
-    private Charset _charset;
     private RequestBody _body;
-    private Map<String,String> _form;
 
     private Request.Builder _builder;
     public HttpUtils(String url){
@@ -47,12 +40,6 @@ class HttpUtils {
     }
 
 
-    //@XNote("设置charset")
-    public HttpUtils charset(String charset){
-        _charset = Charset.forName(charset);
-        return this;
-    }
-
     //@XNote("设置请求头")
     public HttpUtils headers(Map<String,String> headers) {
         if (headers != null) {
@@ -70,24 +57,48 @@ class HttpUtils {
     //@XNote("设置数据提交")
     public HttpUtils data(Map<String,Object> data) {
         if (data != null) {
-            tryInitForm();
+            _body = RequestBody.create(FORM_TYPE, UrlUtils.buildForm(data));
+        }
 
-            data.forEach((k, v) -> {
-                if (v != null) {
-                    _form.put(k, v.toString());
+        return this;
+    }
+
+    //@XNote("设置上传提交（multipart；File, Path, InputStream 以流的方式写出）")
+    public HttpUtils multipart(Map<String,Object> data) {
+        MultipartBody.Builder mb = new MultipartBody.Builder().setType(MultipartBody.FORM);
+
+        data.forEach((k, v) -> {
+            if (v != null) {
+                if (UploadUtils.isUpload(v)) {
+                    mb.addFormDataPart(k, UploadUtils.fileName(v, k), new UploadBody(STREAM_TYPE, v));
+                } else {
+                    mb.addFormDataPart(k, v.toString());
                 }
-            });
-        }
+            }
+        });
+
+        _body = mb.build();
 
         return this;
     }
 
-    public HttpUtils data(String key, String value){
-        tryInitForm();
-        _form.put(key,value);
+    //@XNote("设置BODY流提交（File, Path, InputStream）")
+    public HttpUtils bodyStream(Object stream, String contentType) {
+        MediaType mediaType = (contentType == null ? STREAM_TYPE : MediaType.parse(contentType));
+        _body = new UploadBody(mediaType, stream);
+
         return this;
     }
 
+    //@XNote("设置BODY提交（带内容编码，如 zstd）")
+    public HttpUtils bodyRaw(byte[] bytes, String contentType, String contentEncoding) {
+        if (contentEncoding != null) {
+            _builder.header(Constants.HEADER_CONTENT_ENCODING, contentEncoding);
+        }
+
+        return bodyRaw(bytes, contentType);
+    }
+
     //@XNote("设置BODY提交")
     public HttpUtils bodyRaw(byte[] bytes, String contentType) {
         _body = FormBody.create(MediaType.parse(contentType), bytes);
@@ -98,16 +109,29 @@ class HttpUtils {
 
     //@XNote("执行请求，返回响应对象")
     public Response exec(String mothod) throws Exception {
-        if (_form != null) {
-            FormBody.Builder fb = new FormBody.Builder(_charset);
+        return httpClient.newCall(build(mothod)).execute();
+    }
 
-            _form.forEach((k, v) -> {
-                fb.add(k, v);
-            });
+    //@XNote("执行异步请求（不占用调用线程），返回响应对象")
+    public CompletableFuture<Response> enqueue(String mothod) {
+        CompletableFuture<Response> future = new CompletableFuture<>();
 
-            _body = fb.build();
-        }
+        httpClient.newCall(build(mothod)).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                future.complete(response);
+            }
+        });
+
+        return future;
+    }
 
+    private Request build(String mothod) {
         switch (mothod.toUpperCase()){
             case "GET":_builder.method("GET",null);break;
             case "POST":_builder.method("POST",_body);break;
@@ -120,13 +144,6 @@ class HttpUtils {
             default: throw new RuntimeException("This method is not supported");
         }
 
-        Call call = httpClient.newCall(_builder.build());
-        return call.execute();
-    }
-
-    private void tryInitForm(){
-        if(_form ==null){
-            _form = new HashMap<>();
-        }
+        return _builder.build();
     }
 }
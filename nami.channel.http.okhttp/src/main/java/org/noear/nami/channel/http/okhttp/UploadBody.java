@@ -0,0 +1,72 @@
+package org.noear.nami.channel.http.okhttp;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import okio.Okio;
+import okio.Source;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 上传内容（File, Path, InputStream；以 okio Source 流式写出，不进堆）
+ *
+ * @author noear
+ * @since 1.3
+ */
+class UploadBody extends RequestBody {
+    private final MediaType contentType;
+    private final Object source;
+
+    public UploadBody(MediaType contentType, Object source) {
+        this.contentType = contentType;
+        this.source = source;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return contentType;
+    }
+
+    @Override
+    public long contentLength() throws IOException {
+        if (source instanceof File) {
+            return ((File) source).length();
+        }
+
+        if (source instanceof Path) {
+            return Files.size((Path) source);
+        }
+
+        return -1;
+    }
+
+    @Override
+    public boolean isOneShot() {
+        //流只能读一次
+        return source instanceof InputStream;
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        try (Source src = openSource()) {
+            sink.writeAll(src);
+        }
+    }
+
+    private Source openSource() throws IOException {
+        if (source instanceof File) {
+            return Okio.source((File) source);
+        }
+
+        if (source instanceof Path) {
+            return Okio.source((Path) source);
+        }
+
+        return Okio.source((InputStream) source);
+    }
+}
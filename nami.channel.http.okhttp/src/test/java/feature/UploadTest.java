@@ -0,0 +1,135 @@
+package feature;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.noear.nami.Decoder;
+import org.noear.nami.NamiConfig;
+import org.noear.nami.channel.http.okhttp.HttpChannel;
+import org.noear.nami.common.Constants;
+import org.noear.nami.common.Result;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * 上传测试（@Body 流以原始 body 提交；参数中有文件时以 multipart 提交）
+ */
+public class UploadTest {
+    static HttpServer server;
+    static String url;
+
+    @BeforeClass
+    public static void start() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/upload", ex -> {
+            //回显：Content-Type + 换行 + 收到的 body
+            ByteArrayOutputStream buf = new ByteArrayOutputStream();
+            try (InputStream in = ex.getRequestBody()) {
+                byte[] tmp = new byte[1024];
+                int len;
+                while ((len = in.read(tmp)) > 0) {
+                    buf.write(tmp, 0, len);
+                }
+            }
+
+            byte[] body = (ex.getRequestHeaders().getFirst(Constants.HEADER_CONTENT_TYPE) + "\n"
+                    + new String(buf.toByteArray(), StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8);
+            ex.sendResponseHeaders(200, body.length);
+            try (OutputStream out = ex.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        url = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterClass
+    public static void stop() {
+        server.stop(0);
+    }
+
+    static NamiConfig config() {
+        NamiConfig cfg = new NamiConfig();
+        cfg.setTimeout(5);
+        cfg.setDecoder(new Decoder() {
+            @Override
+            public String enctype() {
+                return Constants.CONTENT_TYPE_JSON;
+            }
+
+            @Override
+            public <T> T decode(Result rst, Type clz) {
+                return (T) rst.bodyAsString();
+            }
+
+            @Override
+            public void filter(NamiConfig cfg, String action, String url, Map<String, String> headers, Map<String, Object> args) {
+            }
+        });
+        return cfg;
+    }
+
+    static String[] post(Map<String, String> headers, Map<String, Object> args, Object body) throws Throwable {
+        Result rst = HttpChannel.instance.call(config(), null, Constants.METHOD_POST, url + "/upload", headers, args, body);
+        return rst.bodyAsString().split("\n", 2);
+    }
+
+    @Test
+    public void rawStreamBody() throws Throwable {
+        InputStream stream = new ByteArrayInputStream("hello".getBytes(StandardCharsets.UTF_8));
+        Map<String, String> headers = new HashMap<>();
+        headers.put(Constants.HEADER_CONTENT_TYPE, "text/plain");
+        Map<String, Object> args = new HashMap<>();
+        args.put("data", stream);
+
+        String[] echo = post(headers, args, stream);
+        assertTrue(echo[0], echo[0].startsWith("text/plain"));
+        assertEquals("hello", echo[1]);
+    }
+
+    @Test
+    public void rawFileBody() throws Throwable {
+        File file = File.createTempFile("nami-upload", ".txt");
+        file.deleteOnExit();
+        Files.write(file.toPath(), "中文 file".getBytes(StandardCharsets.UTF_8));
+
+        Map<String, Object> args = new HashMap<>();
+        args.put("file", file);
+
+        //没有指定类型时，为 octet-stream
+        String[] echo = post(new HashMap<>(), args, file);
+        assertTrue(echo[0], echo[0].startsWith(Constants.CONTENT_TYPE_OCTET_STREAM));
+        assertEquals("中文 file", echo[1]);
+    }
+
+    @Test
+    public void multipartArgs() throws Throwable {
+        File file = File.createTempFile("nami-upload", ".txt");
+        file.deleteOnExit();
+        Files.write(file.toPath(), "abc".getBytes(StandardCharsets.UTF_8));
+
+        Map<String, Object> args = new HashMap<>();
+        args.put("name", "noear");
+        args.put("file", file);
+
+        String[] echo = post(new HashMap<>(), args, args);
+        assertTrue(echo[0], echo[0].startsWith("multipart/form-data"));
+        assertTrue(echo[1], echo[1].contains("filename=\"" + file.getName() + "\""));
+        assertTrue(echo[1], echo[1].contains("abc"));
+        assertTrue(echo[1], echo[1].contains("noear"));
+    }
+}
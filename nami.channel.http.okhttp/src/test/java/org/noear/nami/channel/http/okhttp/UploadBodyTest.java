@@ -0,0 +1,66 @@
+package org.noear.nami.channel.http.okhttp;
+
+import okhttp3.MediaType;
+import okio.Buffer;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+public class UploadBodyTest {
+    static final MediaType TEXT = MediaType.parse("text/plain");
+
+    static String write(UploadBody body) throws Exception {
+        Buffer buf = new Buffer();
+        body.writeTo(buf);
+        return buf.readString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void fileBody() throws Exception {
+        Path path = Files.createTempFile("nami-upload", ".txt");
+        path.toFile().deleteOnExit();
+        Files.write(path, "中文 file".getBytes(StandardCharsets.UTF_8));
+
+        File file = path.toFile();
+        UploadBody body = new UploadBody(TEXT, file);
+        assertSame(TEXT, body.contentType());
+        assertEquals(file.length(), body.contentLength());
+        assertFalse(body.isOneShot());
+
+        //文件可以重复写出（重试时）
+        assertEquals("中文 file", write(body));
+        assertEquals("中文 file", write(body));
+
+        UploadBody pathBody = new UploadBody(TEXT, path);
+        assertEquals(Files.size(path), pathBody.contentLength());
+        assertEquals("中文 file", write(pathBody));
+    }
+
+    @Test
+    public void streamBody() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        InputStream stream = new ByteArrayInputStream("hello".getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+
+        UploadBody body = new UploadBody(TEXT, stream);
+
+        //长度未知（chunked），只能写一次
+        assertEquals(-1, body.contentLength());
+        assertTrue(body.isOneShot());
+
+        assertEquals("hello", write(body));
+        assertTrue(closed.get());
+    }
+}
@@ -0,0 +1,123 @@
+package feature;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.noear.nami.channel.socketd.CompactHeaders;
+import org.noear.nami.channel.socketd.SocketSessionPool;
+import org.noear.solon.Solon;
+import org.noear.solon.core.message.Message;
+import org.noear.solon.core.message.MessageFlag;
+import org.noear.solon.socketd.protocol.MessageProtocolBase;
+
+import java.io.DataInputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * 会话池经 jdksocket 传输（本机的最小 socketd 服务端：按 MessageProtocolBase 收发，回显 X-N 头）
+ */
+public class SocketSessionPoolTest {
+    static ServerSocket server;
+
+    @BeforeClass
+    public static void start() throws Exception {
+        Solon.start(SocketSessionPoolTest.class, new String[]{});
+
+        server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+
+        Thread acceptor = new Thread(() -> {
+            while (server.isClosed() == false) {
+                try {
+                    Socket socket = server.accept();
+                    Thread t = new Thread(() -> serve(socket));
+                    t.setDaemon(true);
+                    t.start();
+                } catch (Exception ex) {
+                    return;
+                }
+            }
+        });
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    @AfterClass
+    public static void stop() throws Exception {
+        server.close();
+    }
+
+    static void serve(Socket socket) {
+        //每个连接一个解码器（动态表按接收顺序）
+        CompactHeaders.Reader reader = new CompactHeaders.Reader();
+
+        try (Socket s = socket) {
+            DataInputStream in = new DataInputStream(s.getInputStream());
+            OutputStream out = s.getOutputStream();
+
+            while (true) {
+                int len = in.readInt();
+                byte[] frame = new byte[len];
+                ByteBuffer.wrap(frame).putInt(len);
+                in.readFully(frame, 4, len - 4);
+
+                Message msg = MessageProtocolBase.instance.decode(ByteBuffer.wrap(frame));
+
+                if (msg.flag() != MessageFlag.message) {
+                    continue;
+                }
+
+                Map<String, String> headers = reader.decode(msg.header());
+                Message res = Message.wrapResponse(msg, headers.get("X-N").getBytes(StandardCharsets.UTF_8));
+                ByteBuffer buf = MessageProtocolBase.instance.encode(res);
+
+                synchronized (out) {
+                    out.write(buf.array(), buf.position(), buf.remaining());
+                    out.flush();
+                }
+            }
+        } catch (Exception ex) {
+            //连接关闭
+        }
+    }
+
+    @Test
+    public void compactHeadersOverJdkSocket() throws Exception {
+        URI uri = URI.create("tcp://127.0.0.1:" + server.getLocalPort());
+        SocketSessionPool pool = new SocketSessionPool(uri, 2, 4, true);
+
+        try {
+            List<CompletableFuture<Message>> futures = new ArrayList<>();
+
+            for (int i = 0; i < 100; i++) {
+                Map<String, String> headers = new HashMap<>();
+                headers.put("Content-Type", "application/json");
+                headers.put("X-Token", "abcdefghijklmnopqrstuvwxyz0123456789");
+                headers.put("X-N", String.valueOf(i));
+
+                futures.add(pool.acquire().sendAsync(h -> new Message(MessageFlag.message, Message.guid(), uri + "/demo", h, new byte[0]),
+                        headers, 10));
+            }
+
+            for (int i = 0; i < futures.size(); i++) {
+                Message res = futures.get(i).get(10, TimeUnit.SECONDS);
+                assertEquals(String.valueOf(i), res.bodyAsString());
+            }
+        } finally {
+            pool.close();
+        }
+    }
+}
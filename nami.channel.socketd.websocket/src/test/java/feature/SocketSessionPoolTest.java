@@ -0,0 +1,121 @@
+package feature;
+
+import org.java_websocket.WebSocket;
+import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.server.WebSocketServer;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.noear.nami.channel.socketd.CompactHeaders;
+import org.noear.nami.channel.socketd.SocketSessionPool;
+import org.noear.solon.Solon;
+import org.noear.solon.core.message.Message;
+import org.noear.solon.core.message.MessageFlag;
+import org.noear.solon.socketd.protocol.MessageProtocolBase;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * 会话池经 websocket 传输（本机的最小 socketd 服务端：按 MessageProtocolBase 收发，回显 X-N 头）
+ */
+public class SocketSessionPoolTest {
+    static WebSocketServer server;
+
+    @BeforeClass
+    public static void start() throws Exception {
+        Solon.start(SocketSessionPoolTest.class, new String[]{});
+
+        CountDownLatch started = new CountDownLatch(1);
+
+        server = new WebSocketServer(new InetSocketAddress("127.0.0.1", 0)) {
+            @Override
+            public void onOpen(WebSocket conn, ClientHandshake handshake) {
+                //每个连接一个解码器（动态表按接收顺序）
+                conn.setAttachment(new CompactHeaders.Reader());
+            }
+
+            @Override
+            public void onMessage(WebSocket conn, ByteBuffer frame) {
+                try {
+                    Message msg = MessageProtocolBase.instance.decode(frame);
+
+                    if (msg.flag() != MessageFlag.message) {
+                        return;
+                    }
+
+                    CompactHeaders.Reader reader = conn.getAttachment();
+                    Map<String, String> headers = reader.decode(msg.header());
+                    Message res = Message.wrapResponse(msg, headers.get("X-N").getBytes(StandardCharsets.UTF_8));
+
+                    conn.send(MessageProtocolBase.instance.encode(res));
+                } catch (Exception ex) {
+                    conn.close();
+                }
+            }
+
+            @Override
+            public void onMessage(WebSocket conn, String message) {
+            }
+
+            @Override
+            public void onClose(WebSocket conn, int code, String reason, boolean remote) {
+            }
+
+            @Override
+            public void onError(WebSocket conn, Exception ex) {
+            }
+
+            @Override
+            public void onStart() {
+                started.countDown();
+            }
+        };
+
+        server.start();
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+    }
+
+    @AfterClass
+    public static void stop() throws Exception {
+        server.stop();
+    }
+
+    @Test
+    public void compactHeadersOverWebSocket() throws Exception {
+        URI uri = URI.create("ws://127.0.0.1:" + server.getPort());
+        SocketSessionPool pool = new SocketSessionPool(uri, 2, 4, true);
+
+        try {
+            List<CompletableFuture<Message>> futures = new ArrayList<>();
+
+            for (int i = 0; i < 100; i++) {
+                Map<String, String> headers = new HashMap<>();
+                headers.put("Content-Type", "application/json");
+                headers.put("X-Token", "abcdefghijklmnopqrstuvwxyz0123456789");
+                headers.put("X-N", String.valueOf(i));
+
+                futures.add(pool.acquire().sendAsync(h -> new Message(MessageFlag.message, Message.guid(), uri + "/demo", h, new byte[0]),
+                        headers, 10));
+            }
+
+            for (int i = 0; i < futures.size(); i++) {
+                Message res = futures.get(i).get(10, TimeUnit.SECONDS);
+                assertEquals(String.valueOf(i), res.bodyAsString());
+            }
+        } finally {
+            pool.close();
+        }
+    }
+}
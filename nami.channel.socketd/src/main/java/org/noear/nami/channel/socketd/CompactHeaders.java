@@ -0,0 +1,341 @@
+package org.noear.nami.channel.socketd;
+
+import org.noear.nami.common.Constants;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 紧凑头编码（类似 HPACK：静态表 + 每会话的动态表；重复的头只占一两个字节）
+ *
+ * <p>格式：以 MARKER（或 MARKER_RESET：先清空动态表）开头，之后为若干条目；字面量为 "长度:文本"（长度为十进制字符数）：</p>
+ * <ul>
+ *     <li>c >= 0x40：索引条目（名与值），索引为 c - 0x40；c 为 0x7F 时，索引为后两个字符 (c1 - 0x40) * 64 + (c2 - 0x40)</li>
+ *     <li>0x01 名索引 值：名取自表，值为字面量，加入动态表</li>
+ *     <li>0x02 名 值：名与值为字面量，加入动态表</li>
+ *     <li>0x03 名索引 值：同 0x01，不加入动态表</li>
+ *     <li>0x04 名 值：同 0x02，不加入动态表</li>
+ * </ul>
+ *
+ * <p>不使用 \0 与 \n：socketd 的 MessageProtocolBase 解码时会丢弃 0x00，并以 0x0A 结束字段（因此名与值也不能含这两个字符）；
+ * 它还以平台默认字符集解码，所以索引等控制字符都在 ASCII 内（名与值含非 ASCII 字符时，接收方默认字符集须为 UTF-8）</p>
+ *
+ * <p>动态表是有状态的：同一会话上，编码与解码须按相同的顺序进行（编码后立即发送；接收方在 IO 线程上按序解码）。发送失败时编码器须 reset()</p>
+ *
+ * @author noear
+ * @since 1.3
+ */
+public class CompactHeaders {
+    public static final char MARKER = '\u0001';
+    public static final char MARKER_RESET = '\u0002';
+
+    private static final char OP_NAME_INDEXED = '\u0001';
+    private static final char OP_LITERAL = '\u0002';
+    private static final char OP_NAME_INDEXED_NO_ADD = '\u0003';
+    private static final char OP_LITERAL_NO_ADD = '\u0004';
+    private static final char LEN_END = ':';
+    private static final char INDEX_BASE = 0x40;
+    private static final char INDEX_ESCAPE = 0x7F;
+
+    /**
+     * 动态表大小（环形，满了覆盖最早的）
+     */
+    private static final int DYNAMIC_SIZE = 256;
+    /**
+     * 超过此长度的值不加入动态表（多为一次性的值）
+     */
+    private static final int INDEX_VALUE_MAX = 64;
+
+    //静态表（值为 null 的仅作名索引）
+    private static final String[][] STATIC_TABLE = {
+            {Constants.HEADER_CONTENT_TYPE, null},
+            {Constants.HEADER_ACCEPT, null},
+            {Constants.HEADER_SERIALIZATION, null},
+            {Constants.HEADER_CONTENT_ENCODING, null},
+            {Constants.HEADER_ACCEPT_ENCODING, null},
+            {Constants.HEADER_CONTENT_TYPE, Constants.CONTENT_TYPE_JSON},
+            {Constants.HEADER_CONTENT_TYPE, Constants.CONTENT_TYPE_JSON_TYPE},
+            {Constants.HEADER_CONTENT_TYPE, Constants.CONTENT_TYPE_HESSIAN},
+            {Constants.HEADER_CONTENT_TYPE, Constants.CONTENT_TYPE_PROTOBUF},
+            {Constants.HEADER_CONTENT_TYPE, Constants.CONTENT_TYPE_FORM_URLENCODED},
+            {Constants.HEADER_CONTENT_TYPE, Constants.CONTENT_TYPE_OCTET_STREAM},
+            {Constants.HEADER_ACCEPT, Constants.CONTENT_TYPE_JSON},
+            {Constants.HEADER_ACCEPT, Constants.CONTENT_TYPE_JSON_TYPE},
+            {Constants.HEADER_ACCEPT, Constants.CONTENT_TYPE_HESSIAN},
+            {Constants.HEADER_ACCEPT, Constants.CONTENT_TYPE_PROTOBUF},
+            {Constants.HEADER_SERIALIZATION, Constants.AT_TYPE_JSON},
+            {Constants.HEADER_SERIALIZATION, Constants.AT_PROTOBUF},
+            {Constants.HEADER_SERIALIZATION, Constants.AT_HESSION},
+    };
+
+    private static final int STATIC_SIZE = STATIC_TABLE.length;
+
+    private static final Map<String, Integer> staticNameIndex = new HashMap<>();
+    private static final Map<String, Integer> staticEntryIndex = new HashMap<>();
+
+    static {
+        for (int i = 0; i < STATIC_SIZE; i++) {
+            String[] kv = STATIC_TABLE[i];
+
+            if (kv[1] == null) {
+                staticNameIndex.putIfAbsent(kv[0], i);
+            } else {
+                staticEntryIndex.put(entryKey(kv[0], kv[1]), i);
+            }
+        }
+    }
+
+    /**
+     * 是否为紧凑格式
+     */
+    public static boolean isCompact(String header) {
+        return header != null && header.length() > 0 && (header.charAt(0) == MARKER || header.charAt(0) == MARKER_RESET);
+    }
+
+    private static String entryKey(String name, String value) {
+        //仅用于查表
+        return name.length() + ":" + name + value;
+    }
+
+    private static void appendLiteral(StringBuilder sb, String str) {
+        for (int i = 0, len = str.length(); i < len; i++) {
+            char c = str.charAt(i);
+
+            if (c == '\u0000' || c == '\n') {
+                throw new IllegalArgumentException("Compact header can not contain \\0 or \\n: " + str);
+            }
+        }
+
+        sb.append(str.length()).append(LEN_END).append(str);
+    }
+
+    private static void appendIndex(StringBuilder sb, int idx) {
+        if (idx < INDEX_ESCAPE - INDEX_BASE) {
+            sb.append((char) (INDEX_BASE + idx));
+        } else {
+            sb.append(INDEX_ESCAPE)
+                    .append((char) (INDEX_BASE + idx / 64))
+                    .append((char) (INDEX_BASE + idx % 64));
+        }
+    }
+
+    /**
+     * 编码器（每会话一个；非线程安全，须与发送一起串行）
+     */
+    public static class Writer {
+        private final String[] slots = new String[DYNAMIC_SIZE];
+        private final Map<String, Integer> entryIndex = new HashMap<>();
+        private final Map<String, Integer> nameIndex = new HashMap<>();
+        private final String[] slotNames = new String[DYNAMIC_SIZE];
+        private int count;
+        private boolean fresh = true;
+
+        public String encode(Map<String, String> headers) {
+            StringBuilder sb = new StringBuilder(32);
+            //新的（或重置过的）编码器通知接收方清空动态表
+            sb.append(fresh ? MARKER_RESET : MARKER);
+            fresh = false;
+
+            for (Map.Entry<String, String> kv : headers.entrySet()) {
+                String name = kv.getKey();
+                String value = kv.getValue();
+
+                if (name == null || value == null) {
+                    continue;
+                }
+
+                String key = entryKey(name, value);
+
+                //1.整条命中
+                Integer idx = staticEntryIndex.get(key);
+                if (idx == null) {
+                    idx = entryIndex.get(key);
+                }
+
+                if (idx != null) {
+                    appendIndex(sb, idx);
+                    continue;
+                }
+
+                //2.名命中或字面量
+                Integer nameIdx = staticNameIndex.get(name);
+                if (nameIdx == null) {
+                    nameIdx = nameIndex.get(name);
+                }
+
+                boolean add = value.length() <= INDEX_VALUE_MAX;
+
+                if (nameIdx != null) {
+                    sb.append(add ? OP_NAME_INDEXED : OP_NAME_INDEXED_NO_ADD);
+                    appendIndex(sb, nameIdx);
+                } else {
+                    sb.append(add ? OP_LITERAL : OP_LITERAL_NO_ADD);
+                    appendLiteral(sb, name);
+                }
+
+                appendLiteral(sb, value);
+
+                if (add) {
+                    add(name, value, key);
+                }
+            }
+
+            return sb.toString();
+        }
+
+        /**
+         * 重置（上次编码的消息未能发出时；下次编码会带上 MARKER_RESET）
+         */
+        public void reset() {
+            Arrays.fill(slots, null);
+            Arrays.fill(slotNames, null);
+            entryIndex.clear();
+            nameIndex.clear();
+            count = 0;
+            fresh = true;
+        }
+
+        private void add(String name, String value, String key) {
+            int slot = count % DYNAMIC_SIZE;
+            int idx = STATIC_SIZE + slot;
+
+            //覆盖最早的
+            String old = slots[slot];
+            if (old != null) {
+                entryIndex.remove(old);
+                nameIndex.remove(slotNames[slot], idx);
+            }
+
+            slots[slot] = key;
+            slotNames[slot] = name;
+            entryIndex.put(key, idx);
+            nameIndex.put(name, idx);
+            count++;
+        }
+    }
+
+    /**
+     * 解码器（每会话一个；非线程安全，须按接收顺序调用）
+     */
+    public static class Reader {
+        private final String[] names = new String[DYNAMIC_SIZE];
+        private final String[] values = new String[DYNAMIC_SIZE];
+        private int count;
+        private int pos;
+
+        public Map<String, String> decode(String header) {
+            Map<String, String> map = new LinkedHashMap<>();
+
+            if (isCompact(header) == false) {
+                return map;
+            }
+
+            if (header.charAt(0) == MARKER_RESET) {
+                Arrays.fill(names, null);
+                Arrays.fill(values, null);
+                count = 0;
+            }
+
+            int i = 1;
+            int len = header.length();
+
+            while (i < len) {
+                char op = header.charAt(i);
+
+                if (op >= INDEX_BASE) {
+                    pos = i;
+                    int idx = index(header);
+                    i = pos;
+                    map.put(name(idx), value(idx));
+                    continue;
+                }
+
+                i++;
+
+                String name;
+                if (op == OP_NAME_INDEXED || op == OP_NAME_INDEXED_NO_ADD) {
+                    pos = i;
+                    name = name(index(header));
+                    i = pos;
+                } else if (op == OP_LITERAL || op == OP_LITERAL_NO_ADD) {
+                    pos = i;
+                    name = literal(header);
+                    i = pos;
+                } else {
+                    throw new IllegalArgumentException("Invalid compact header op: " + (int) op);
+                }
+
+                pos = i;
+                String value = literal(header);
+                i = pos;
+
+                map.put(name, value);
+
+                if (op == OP_NAME_INDEXED || op == OP_LITERAL) {
+                    int slot = count % DYNAMIC_SIZE;
+                    names[slot] = name;
+                    values[slot] = value;
+                    count++;
+                }
+            }
+
+            return map;
+        }
+
+        private int index(String header) {
+            if (pos >= header.length()) {
+                throw new IllegalArgumentException("Truncated compact header");
+            }
+
+            char c = header.charAt(pos++);
+
+            if (c != INDEX_ESCAPE) {
+                return c - INDEX_BASE;
+            }
+
+            if (pos + 2 > header.length()) {
+                throw new IllegalArgumentException("Truncated compact header");
+            }
+
+            int idx = (header.charAt(pos) - INDEX_BASE) * 64 + (header.charAt(pos + 1) - INDEX_BASE);
+            pos += 2;
+            return idx;
+        }
+
+        private String literal(String header) {
+            int sep = header.indexOf(LEN_END, pos);
+
+            if (sep <= pos) {
+                throw new IllegalArgumentException("Truncated compact header");
+            }
+
+            int size = Integer.parseInt(header.substring(pos, sep));
+            int end = sep + 1 + size;
+
+            if (size < 0 || end > header.length()) {
+                throw new IllegalArgumentException("Truncated compact header");
+            }
+
+            pos = end;
+            return header.substring(sep + 1, end);
+        }
+
+        private String name(int idx) {
+            if (idx < STATIC_SIZE) {
+                return STATIC_TABLE[idx][0];
+            } else {
+                return names[idx - STATIC_SIZE];
+            }
+        }
+
+        private String value(int idx) {
+            if (idx < STATIC_SIZE) {
+                return STATIC_TABLE[idx][1];
+            } else {
+                return values[idx - STATIC_SIZE];
+            }
+        }
+    }
+}
@@ -1,16 +1,25 @@
 package org.noear.nami.channel.socketd;
 
+import org.noear.nami.Encoder;
 import org.noear.nami.NamiChannel;
 import org.noear.nami.NamiConfig;
+import org.noear.nami.NamiManager;
+import org.noear.nami.common.Constants;
 import org.noear.nami.common.Result;
-import org.noear.solon.core.message.Session;
-import org.noear.solon.socketd.SessionFlag;
-import org.noear.solon.socketd.SocketD;
+import org.noear.solon.Utils;
+import org.noear.solon.core.message.Message;
+import org.noear.solon.core.message.MessageFlag;
+import org.noear.solon.socketd.ListenerProxy;
+import org.noear.solon.socketd.annotation.Handshake;
+import org.noear.solon.socketd.util.HeaderUtil;
 
 import java.lang.reflect.Method;
 import java.net.URI;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
 
 /**
  * @author noear 2021/1/1 created
@@ -18,33 +27,159 @@ import java.util.Map;
 public class SocketClientChannel extends SocketChannelFilter implements NamiChannel {
     public static final SocketClientChannel instance = new SocketClientChannel();
 
-    Map<String, SocketChannel> channelMap = new HashMap<>();
+    /**
+     * 每个主机的会话数（默认按 cpu 数估算，1 ~ 8）
+     */
+    private int poolSize = Integer.getInteger("nami.socketd.poolSize",
+            Math.max(1, Math.min(8, Runtime.getRuntime().availableProcessors() / 4)));
 
-    private SocketChannel get(URI uri) {
-        String hostname = uri.getAuthority();
-        SocketChannel channel = channelMap.get(hostname);
+    /**
+     * 每个会话的最大在途请求数
+     */
+    private int maxInFlight = Integer.getInteger("nami.socketd.maxInFlight", 256);
 
-        if (channel == null) {
-            synchronized (hostname.intern()) {
-                channel = channelMap.get(hostname);
+    /**
+     * 是否使用紧凑头编码（需服务端用 CompactHeaders.Reader 解码）
+     */
+    private boolean compactHeaders = Boolean.getBoolean("nami.socketd.compactHeaders");
 
-                if (channel == null) {
-                    Session session = SocketD.createSession(uri);
-                    session.flagSet(SessionFlag.socketd);
-                    channel = new SocketChannel(() -> session);
-                    channelMap.put(hostname, channel);
+    Map<String, SocketSessionPool> poolMap = new ConcurrentHashMap<>();
+
+    /**
+     * 设置每个主机的会话数（对之后新建的池生效）
+     */
+    public void setPoolSize(int poolSize) {
+        this.poolSize = Math.max(1, poolSize);
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * 设置每个会话的最大在途请求数（对之后新建的池生效）
+     */
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = Math.max(1, maxInFlight);
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * 设置是否使用紧凑头编码（对之后新建的池生效）
+     */
+    public void setCompactHeaders(boolean compactHeaders) {
+        this.compactHeaders = compactHeaders;
+    }
+
+    public boolean getCompactHeaders() {
+        return compactHeaders;
+    }
+
+    private SocketSessionPool get(URI uri) {
+        return poolMap.computeIfAbsent(uri.getAuthority(), k -> new SocketSessionPool(uri, poolSize, maxInFlight, compactHeaders));
+    }
+
+    @Override
+    public Result call(NamiConfig cfg, Method method, String action, String url, Map<String, String> headers, Map<String, Object> args, Object body) throws Throwable {
+        try {
+            return callAsync(cfg, method, action, url, headers, args, body).get();
+        } catch (ExecutionException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Result> callAsync(NamiConfig cfg, Method method, String action, String url, Map<String, String> headers, Map<String, Object> args, Object body) {
+        try {
+            Function<String, Message> builder = buildMessage(cfg, method, action, url, headers, args, body);
+            int timeout = (cfg.getTimeout() > 0 ? cfg.getTimeout() : ListenerProxy.REQUEST_AND_RESPONSE_TIMEOUT_SECONDS);
+
+            return get(URI.create(url)).acquire()
+                    .sendAsync(builder, headers, timeout)
+                    .thenApply(this::buildResult);
+        } catch (Throwable ex) {
+            CompletableFuture<Result> future = new CompletableFuture<>();
+            future.completeExceptionally(ex);
+            return future;
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> send(NamiConfig cfg, Method method, String action, String url, Map<String, String> headers, Map<String, Object> args, Object body) {
+        try {
+            Function<String, Message> builder = buildMessage(cfg, method, action, url, headers, args, body);
+
+            //单向消息：只发不收
+            return get(URI.create(url)).acquire()
+                    .sendOneWay(builder, headers)
+                    .thenAccept(res -> {
+                    });
+        } catch (Throwable ex) {
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            future.completeExceptionally(ex);
+            return future;
+        }
+    }
+
+    /**
+     * 构建消息（头由会话编码后再填入）
+     */
+    private Function<String, Message> buildMessage(NamiConfig cfg, Method method, String action, String url, Map<String, String> headers, Map<String, Object> args, Object body) throws Throwable {
+        if (cfg.getDecoder() == null) {
+            throw new IllegalArgumentException("There is no suitable decoder");
+        }
+
+        //0.尝试解码器的过滤
+        cfg.getDecoder().filter(cfg, action, url, headers, args);
+
+        //1.确定消息标志（握手或普通消息）
+        int flag = MessageFlag.message;
+        if (method != null) {
+            Handshake handshake = method.getAnnotation(Handshake.class);
+
+            if (handshake != null) {
+                flag = MessageFlag.handshake;
+
+                if (Utils.isNotEmpty(handshake.handshakeHeader())) {
+                    headers.putAll(HeaderUtil.decodeHeaderMap(handshake.handshakeHeader()));
                 }
             }
         }
 
-        return channel;
+        //2.编码
+        Encoder encoder = cfg.getEncoder();
+        if (encoder == null) {
+            encoder = NamiManager.getEncoder(Constants.CONTENT_TYPE_JSON);
+        }
+
+        if (encoder == null) {
+            throw new IllegalArgumentException("There is no suitable encoder");
+        }
+
+        headers.put(Constants.HEADER_CONTENT_TYPE, encoder.enctype());
+        if (encoder.encoding() != null) {
+            headers.put(Constants.HEADER_CONTENT_ENCODING, encoder.encoding());
+        }
+        byte[] bytes = encoder.encode(body);
+        int flag0 = flag;
+
+        return header -> new Message(flag0, Message.guid(), url, header, bytes);
     }
 
-    @Override
-    public Result call(NamiConfig cfg, Method method, String action, String url, Map<String, String> headers, Map<String, Object> args, Object body) throws Throwable {
-        URI uri = URI.create(url);
-        SocketChannel channel = get(uri);
+    private Result buildResult(Message res) {
+        if (res == null) {
+            return null;
+        }
+
+        Result result = new Result(200, res.body());
+
+        if (Utils.isNotEmpty(res.header())) {
+            HeaderUtil.decodeHeaderMap(res.header()).forEach(result::headerAdd);
+        }
 
-        return channel.call(cfg, method, action, url, headers, args, body);
+        return result;
     }
 }
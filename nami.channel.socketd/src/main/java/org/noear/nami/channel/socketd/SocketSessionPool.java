@@ -0,0 +1,445 @@
+package org.noear.nami.channel.socketd;
+
+import org.noear.solon.core.message.Message;
+import org.noear.solon.core.message.Session;
+import org.noear.solon.socketd.ListenerProxy;
+import org.noear.solon.socketd.SessionFlag;
+import org.noear.solon.socketd.SocketD;
+import org.noear.solon.socketd.util.HeaderUtil;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.net.URI;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 会话池（一个主机多个会话；选待处理最少的会话，失效的会话后台退避重连；每个会话限制在途请求数，超出的排队，并合并发送）
+ *
+ * @author noear
+ * @since 1.3
+ */
+public class SocketSessionPool {
+    private static final long BACKOFF_MIN = 100;
+    private static final long BACKOFF_MAX = 1000 * 10;
+
+    //一次合并发送的预算
+    private static final int BATCH_MAX = 64;
+    private static final int BATCH_BYTES_MAX = 1024 * 64;
+
+    //重连与超时共用
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "nami-socketd-scheduler");
+        t.setDaemon(true);
+        return t;
+    });
+
+    //合并发送的续发（超出批量预算，或窗口空出时）；不占用公共池，也不在传输的 IO 线程上发送
+    private static final ExecutorService sender = Executors.newCachedThreadPool(new ThreadFactory() {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, "nami-socketd-sender-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+    });
+
+    //socketd 等待响应的回调表（按消息 key；没有对外的移除接口）
+    private static final Map<String, ?> replies = lookupReplies();
+
+    private static Map<String, ?> lookupReplies() {
+        try {
+            Field field = ListenerProxy.class.getDeclaredField("requests");
+            field.setAccessible(true);
+            return (Map<String, ?>) field.get(null);
+        } catch (Throwable ex) {
+            //版本不同时，放弃移除
+            return null;
+        }
+    }
+
+    private final URI uri;
+    private final Slot[] slots;
+    private final int maxInFlight;
+    private final boolean compactHeaders;
+
+    public SocketSessionPool(URI uri, int size, int maxInFlight, boolean compactHeaders) {
+        this.uri = uri;
+        this.slots = new Slot[Math.max(1, size)];
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.compactHeaders = compactHeaders;
+
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = new Slot();
+        }
+
+        //第一个会话同步建立，其余的后台建立（会话可能在首次发送时才真正连接）
+        slots[0].connect();
+
+        for (int i = 1; i < slots.length; i++) {
+            slots[i].scheduleConnect(0);
+        }
+    }
+
+    /**
+     * 会话数
+     */
+    public int size() {
+        return slots.length;
+    }
+
+    /**
+     * 获取待处理最少的有效会话（之后需 sendAsync，完成时自动释放）
+     */
+    public Slot acquire() {
+        Slot selected = null;
+        int min = Integer.MAX_VALUE;
+
+        for (Slot slot : slots) {
+            if (slot.isUsable()) {
+                int pending = slot.pending.get();
+
+                if (pending < min) {
+                    min = pending;
+                    selected = slot;
+                }
+            } else {
+                slot.markDead();
+            }
+        }
+
+        if (selected == null) {
+            //全部失效时，同步重建一个
+            selected = slots[0];
+            selected.connect();
+        }
+
+        selected.pending.incrementAndGet();
+        return selected;
+    }
+
+    /**
+     * 关闭
+     */
+    public void close() {
+        for (Slot slot : slots) {
+            slot.close();
+        }
+    }
+
+    /**
+     * 移除等待响应的回调（socketd 只在收到响应时移除；超时的需要在这里移除）
+     */
+    static void removeReply(String key) {
+        if (key != null && replies != null) {
+            replies.remove(key);
+        }
+    }
+
+    /**
+     * 是否为连接类的异常（会话需要重建）
+     */
+    static boolean isIoError(Throwable err) {
+        while (err != null) {
+            if (err instanceof IOException) {
+                return true;
+            }
+
+            err = err.getCause();
+        }
+
+        return false;
+    }
+
+    /**
+     * 池中的会话位
+     */
+    public class Slot {
+        private final AtomicInteger pending = new AtomicInteger();
+        private final Semaphore window = new Semaphore(maxInFlight);
+        private final Queue<Pending> sendQueue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private volatile Session session;
+        private CompactHeaders.Writer headerWriter;
+        private volatile boolean connecting;
+        private volatile boolean closed;
+        private volatile int failures;
+
+        /**
+         * 异步发送并等待响应（按消息 key 关联；在途请求满时排队，不阻塞调用方；排队时间计入超时）
+         *
+         * @param builder 由编码后的头构建消息
+         * @param timeout 超时（单位：秒）
+         */
+        public CompletableFuture<Message> sendAsync(Function<String, Message> builder, Map<String, String> headers, int timeout) {
+            CompletableFuture<Message> future = new CompletableFuture<>();
+            future.whenComplete((res, err) -> release(err));
+
+            Pending p = new Pending(builder, headers, future, false);
+
+            ScheduledFuture<?> timer = scheduler.schedule(() -> {
+                if (future.completeExceptionally(new TimeoutException("Nami socketd call timeout: " + timeout + "s"))) {
+                    //已发出的，移除等待响应的回调（不然一直留在表里）
+                    removeReply(p.key);
+                }
+            }, timeout, TimeUnit.SECONDS);
+
+            future.whenComplete((res, err) -> timer.cancel(false));
+
+            //入队，由一个线程在窗口有空位时合并发送
+            sendQueue.offer(p);
+            drain();
+
+            return future;
+        }
+
+        /**
+         * 单向发送（只发不收；写出后即完成）
+         */
+        public CompletableFuture<Message> sendOneWay(Function<String, Message> builder, Map<String, String> headers) {
+            CompletableFuture<Message> future = new CompletableFuture<>();
+            future.whenComplete((res, err) -> release(err));
+
+            sendQueue.offer(new Pending(builder, headers, future, true));
+            drain();
+
+            return future;
+        }
+
+        /**
+         * 合并发送（抢到的线程在窗口有空位时连续发出队列里的消息，其它线程直接返回；超出批量预算后交给发送线程继续）
+         */
+        private void drain() {
+            int count = 0;
+            long bytes = 0;
+
+            while (draining.compareAndSet(false, true)) {
+                try {
+                    while (count < BATCH_MAX && bytes < BATCH_BYTES_MAX && window.tryAcquire()) {
+                        Pending p = sendQueue.poll();
+
+                        if (p == null) {
+                            window.release();
+                            break;
+                        }
+
+                        if (p.future.isDone()) {
+                            //排队时已超时的，不再发送
+                            window.release();
+                            continue;
+                        }
+
+                        //完成时让出窗口，并继续发送排队的
+                        p.future.whenComplete((res, err) -> {
+                            window.release();
+
+                            if (sendQueue.isEmpty() == false) {
+                                sender.execute(this::drain);
+                            }
+                        });
+
+                        bytes += sendNow(p);
+                        count++;
+                    }
+                } finally {
+                    draining.set(false);
+                }
+
+                if (sendQueue.isEmpty() || window.availablePermits() == 0) {
+                    //窗口满时，由完成的请求接着发送
+                    return;
+                }
+
+                if (count >= BATCH_MAX || bytes >= BATCH_BYTES_MAX) {
+                    sender.execute(this::drain);
+                    return;
+                }
+            }
+        }
+
+        private int sendNow(Pending p) {
+            try {
+                Session s = session;
+
+                if (s == null) {
+                    throw new IOException("Nami socketd session is not available: " + uri);
+                }
+
+                Message message;
+                if (compactHeaders) {
+                    //动态表有状态：编码与发送须串行，保证接收方按相同顺序解码
+                    synchronized (this) {
+                        if (headerWriter == null) {
+                            headerWriter = new CompactHeaders.Writer();
+                        }
+
+                        try {
+                            message = p.builder.apply(headerWriter.encode(p.headers));
+                            send(s, message, p);
+                        } catch (Throwable ex) {
+                            //动态表已改但消息没发出：重置，下条消息通知接收方清表
+                            headerWriter.reset();
+                            throw ex;
+                        }
+                    }
+                } else {
+                    message = p.builder.apply(HeaderUtil.encodeHeaderMap(p.headers));
+                    send(s, message, p);
+                }
+
+                return message.body() == null ? 0 : message.body().length;
+            } catch (Throwable ex) {
+                p.future.completeExceptionally(ex);
+                return 0;
+            }
+        }
+
+        private void send(Session s, Message message, Pending p) {
+            if (p.oneWay) {
+                s.send(message);
+                p.future.complete(null);
+                return;
+            }
+
+            CompletableFuture<Message> future = p.future;
+            p.key = message.key();
+            s.sendAndCallback(message, (res, err) -> {
+                if (err == null) {
+                    future.complete(res);
+                } else {
+                    future.completeExceptionally(err);
+                }
+            });
+
+            if (future.isDone()) {
+                //发出前后刚好超时的，回调可能是在超时之后登记的
+                removeReply(p.key);
+            }
+        }
+
+        /**
+         * 待处理的调用数
+         */
+        public int pending() {
+            return pending.get();
+        }
+
+        /**
+         * 释放（调用完成后；err 为连接类异常时重建会话）
+         */
+        void release(Throwable err) {
+            pending.decrementAndGet();
+
+            if (err == null) {
+                failures = 0;
+            } else if (isIoError(err)) {
+                failures++;
+                markDead();
+            }
+        }
+
+        boolean isUsable() {
+            Session s = session;
+
+            if (s == null) {
+                return false;
+            }
+
+            try {
+                return s.isValid();
+            } catch (RuntimeException ex) {
+                //有些传输是在首次发送时才连接的，此时还没有底层连接
+                return true;
+            }
+        }
+
+        synchronized void connect() {
+            if (closed || isUsable()) {
+                return;
+            }
+
+            //由池负责重连，不用传输自带的重连
+            Session s = SocketD.createSession(uri, false);
+            s.flagSet(SessionFlag.socketd);
+            session = s;
+            headerWriter = null; //新连接，动态表重新开始
+        }
+
+        synchronized void markDead() {
+            if (closed || connecting) {
+                return;
+            }
+
+            closeSession();
+            scheduleConnect(backoff());
+        }
+
+        synchronized void scheduleConnect(long delay) {
+            if (closed || connecting) {
+                return;
+            }
+
+            connecting = true;
+
+            scheduler.schedule(() -> {
+                synchronized (this) {
+                    connecting = false;
+                }
+
+                try {
+                    connect();
+                } catch (Throwable ex) {
+                    failures++;
+                    scheduleConnect(backoff());
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+
+        synchronized void close() {
+            closed = true;
+            closeSession();
+        }
+
+        private long backoff() {
+            return Math.min(BACKOFF_MAX, BACKOFF_MIN << Math.min(failures, 16));
+        }
+
+        private void closeSession() {
+            Session s = session;
+            session = null;
+
+            if (s != null) {
+                try {
+                    s.close();
+                } catch (Throwable ex) {
+                    //不用处理
+                }
+            }
+        }
+    }
+
+    /**
+     * 待发送的消息
+     */
+    private static class Pending {
+        final Function<String, Message> builder;
+        final Map<String, String> headers;
+        final CompletableFuture<Message> future;
+        final boolean oneWay;
+        volatile String key; //发出后才有
+
+        Pending(Function<String, Message> builder, Map<String, String> headers, CompletableFuture<Message> future, boolean oneWay) {
+            this.builder = builder;
+            this.headers = headers;
+            this.future = future;
+            this.oneWay = oneWay;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package feature;
+
+import org.junit.Test;
+import org.noear.nami.channel.socketd.CompactHeaders;
+import org.noear.nami.common.Constants;
+import org.noear.solon.core.message.Message;
+import org.noear.solon.core.message.MessageFlag;
+import org.noear.solon.socketd.protocol.MessageProtocolBase;
+
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class CompactHeadersTest {
+    /**
+     * 经 socketd 的协议编码与解码（与真实传输一致）
+     */
+    static String transport(String header) throws Exception {
+        Message msg = new Message(MessageFlag.message, Message.guid(), "tcp://localhost/demo/hello", header, "{}".getBytes());
+        ByteBuffer buf = MessageProtocolBase.instance.encode(msg);
+        return MessageProtocolBase.instance.decode(buf).header();
+    }
+
+    static Map<String, String> headers(String traceId) {
+        Map<String, String> map = new LinkedHashMap<>();
+        map.put(Constants.HEADER_CONTENT_TYPE, Constants.CONTENT_TYPE_JSON);
+        map.put(Constants.HEADER_ACCEPT, Constants.CONTENT_TYPE_JSON);
+        map.put("X-Token", "abcdefghijklmnopqrstuvwxyz0123456789"); //长于 33 字符
+        map.put("X-Trace-Id", traceId);
+        return map;
+    }
+
+    @Test
+    public void roundTripThroughProtocol() throws Exception {
+        CompactHeaders.Writer writer = new CompactHeaders.Writer();
+        CompactHeaders.Reader reader = new CompactHeaders.Reader();
+
+        for (int i = 0; i < 300; i++) {
+            //超过动态表大小，覆盖最早的条目
+            Map<String, String> sent = headers("trace-" + i);
+            String header = transport(writer.encode(sent));
+
+            assertTrue(CompactHeaders.isCompact(header));
+            assertEquals(sent, reader.decode(header));
+        }
+    }
+
+    @Test
+    public void repeatedHeadersAreSmall() throws Exception {
+        CompactHeaders.Writer writer = new CompactHeaders.Writer();
+        CompactHeaders.Reader reader = new CompactHeaders.Reader();
+
+        Map<String, String> sent = headers("trace-1");
+        reader.decode(transport(writer.encode(sent)));
+
+        String second = writer.encode(sent);
+        assertEquals(1 + sent.size(), second.length());
+        assertEquals(sent, reader.decode(transport(second)));
+    }
+
+    @Test
+    public void longValues() throws Exception {
+        CompactHeaders.Writer writer = new CompactHeaders.Writer();
+        CompactHeaders.Reader reader = new CompactHeaders.Reader();
+
+        StringBuilder big = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            big.append("v:1:");
+        }
+
+        Map<String, String> sent = new LinkedHashMap<>();
+        sent.put("X-Big", big.toString());
+        sent.put("X-Colon", "a:2:");
+        sent.put("X-Empty", "");
+
+        assertEquals(sent, reader.decode(transport(writer.encode(sent))));
+        assertEquals(sent, reader.decode(transport(writer.encode(sent))));
+    }
+
+    @Test
+    public void unicodeValues() {
+        //协议以平台默认字符集解码，这里只验证编码本身（长度按字符计）
+        CompactHeaders.Writer writer = new CompactHeaders.Writer();
+        CompactHeaders.Reader reader = new CompactHeaders.Reader();
+
+        Map<String, String> sent = new LinkedHashMap<>();
+        sent.put("X-名", "中文:2:");
+
+        assertEquals(sent, reader.decode(writer.encode(sent)));
+        assertEquals(sent, reader.decode(writer.encode(sent)));
+    }
+
+    @Test
+    public void controlCharsAreAscii() {
+        CompactHeaders.Writer writer = new CompactHeaders.Writer();
+
+        for (int i = 0; i < 300; i++) {
+            String header = writer.encode(headers("trace-" + i));
+
+            for (char c : header.toCharArray()) {
+                assertTrue(c > 0 && c < 0x80 && c != '\n');
+            }
+        }
+    }
+
+    @Test
+    public void resetAfterFailedSend() throws Exception {
+        CompactHeaders.Writer writer = new CompactHeaders.Writer();
+        CompactHeaders.Reader reader = new CompactHeaders.Reader();
+
+        reader.decode(transport(writer.encode(headers("a"))));
+
+        //编码了但没发出
+        writer.encode(headers("b"));
+        writer.reset();
+
+        Map<String, String> sent = headers("c");
+        assertEquals(sent, reader.decode(transport(writer.encode(sent))));
+        assertEquals(sent, reader.decode(transport(writer.encode(sent))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNewline() {
+        Map<String, String> sent = new LinkedHashMap<>();
+        sent.put("X-Bad", "a\nb");
+
+        new CompactHeaders.Writer().encode(sent);
+    }
+}
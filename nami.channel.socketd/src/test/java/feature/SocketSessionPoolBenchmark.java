@@ -0,0 +1,143 @@
+package feature;
+
+import org.noear.nami.channel.socketd.SocketSessionPool;
+import org.noear.solon.core.message.Message;
+import org.noear.solon.core.message.MessageFlag;
+import org.noear.solon.core.message.Session;
+import org.noear.solon.socketd.Connector;
+import org.noear.solon.socketd.SessionFactory;
+import org.noear.solon.socketd.SessionFactoryManager;
+
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * 会话池合并发送（drain）在不同并发下的表现（每秒调用数、平均延时、由发送线程续发的比例）
+ *
+ * <p>对端为内存中的假会话，由响应线程立即回复；只测池本身的排队、窗口与续发开销</p>
+ * <p>-Dlevels=1,4,16,64,256 为并发调用的线程数；-Dsize 为会话数；-DmaxInFlight 为每个会话的在途上限</p>
+ */
+public class SocketSessionPoolBenchmark {
+    static final int WARMUP = Integer.getInteger("warmup", 20_000);
+    static final int ROUNDS = Integer.getInteger("rounds", 200_000);
+    static final int SIZE = Integer.getInteger("size", 2);
+    static final int MAX_IN_FLIGHT = Integer.getInteger("maxInFlight", 32);
+    static final String LEVELS = System.getProperty("levels", "1,4,16,64,256");
+
+    static final AtomicLong sends = new AtomicLong();
+    static final AtomicLong resumed = new AtomicLong();
+
+    public static void main(String[] args) throws Throwable {
+        ExecutorService responder = Executors.newFixedThreadPool(4);
+        Message response = new Message(MessageFlag.response, "", new byte[0]);
+
+        SessionFactoryManager.register(new SessionFactory() {
+            @Override
+            public String[] schemes() {
+                return new String[]{"bench"};
+            }
+
+            @Override
+            public Class<?> driveType() {
+                return Object.class;
+            }
+
+            @Override
+            public Session createSession(Connector connector) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Session createSession(URI uri, boolean autoReconnect) {
+                return (Session) Proxy.newProxyInstance(Session.class.getClassLoader(), new Class[]{Session.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "sendAndCallback":
+                            sends.incrementAndGet();
+                            if (Thread.currentThread().getName().startsWith("nami-socketd-sender-")) {
+                                resumed.incrementAndGet();
+                            }
+
+                            BiConsumer<Message, Throwable> callback = (BiConsumer<Message, Throwable>) args[1];
+                            responder.execute(() -> callback.accept(response, null));
+                            return null;
+                        case "isValid":
+                            return true;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return null;
+                    }
+                });
+            }
+        });
+
+        SocketSessionPool pool = new SocketSessionPool(URI.create("bench://localhost:1"), SIZE, MAX_IN_FLIGHT, false);
+
+        System.out.printf("sessions: %d, maxInFlight: %d%n", SIZE, MAX_IN_FLIGHT);
+
+        try {
+            for (String level : LEVELS.split(",")) {
+                run(pool, Integer.parseInt(level.trim()));
+            }
+        } finally {
+            pool.close();
+            responder.shutdown();
+        }
+    }
+
+    static void run(SocketSessionPool pool, int threads) throws Throwable {
+        ExecutorService callers = Executors.newFixedThreadPool(threads);
+
+        try {
+            calls(pool, threads, WARMUP, callers);
+
+            sends.set(0);
+            resumed.set(0);
+
+            long start = System.nanoTime();
+            calls(pool, threads, ROUNDS, callers);
+            long spent = System.nanoTime() - start;
+
+            System.out.printf("threads %-4d %9.0f calls/s  %7.1f us/call  %5.1f%% resumed on sender%n",
+                    threads, ROUNDS * 1e9 / spent, spent / 1e3 / ROUNDS * threads, resumed.get() * 100.0 / sends.get());
+        } finally {
+            callers.shutdown();
+        }
+    }
+
+    /**
+     * 在各调用线程上平分调用次数（每个线程同步等待响应）
+     */
+    static void calls(SocketSessionPool pool, int threads, int count, ExecutorService callers) throws Throwable {
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int n = count / threads + (t < count % threads ? 1 : 0);
+
+            futures.add(callers.submit(() -> {
+                for (int i = 0; i < n; i++) {
+                    pool.acquire()
+                            .sendAsync(h -> new Message(MessageFlag.message, Message.guid(), "bench://localhost/demo", h, new byte[0]),
+                                    new HashMap<>(), 5)
+                            .get();
+                }
+                return null;
+            }));
+        }
+
+        for (Future<?> f : futures) {
+            try {
+                f.get();
+            } catch (ExecutionException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package feature;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.noear.nami.channel.socketd.SocketSessionPool;
+import org.noear.solon.core.message.Message;
+import org.noear.solon.core.message.MessageFlag;
+import org.noear.solon.core.message.Session;
+import org.noear.solon.socketd.Connector;
+import org.noear.solon.socketd.ListenerProxy;
+import org.noear.solon.socketd.SessionFactory;
+import org.noear.solon.socketd.SessionFactoryManager;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+
+import static org.junit.Assert.*;
+
+public class SocketSessionPoolTest {
+    //已发出、等待响应的回调
+    static final List<BiConsumer<Message, Throwable>> inFlight = new CopyOnWriteArrayList<>();
+    //发送所在的线程
+    static final List<String> senders = new CopyOnWriteArrayList<>();
+
+    @BeforeClass
+    public static void register() {
+        SessionFactoryManager.register(new SessionFactory() {
+            @Override
+            public String[] schemes() {
+                return new String[]{"fake"};
+            }
+
+            @Override
+            public Class<?> driveType() {
+                return Object.class;
+            }
+
+            @Override
+            public Session createSession(Connector connector) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Session createSession(URI uri, boolean autoReconnect) {
+                return (Session) Proxy.newProxyInstance(Session.class.getClassLoader(), new Class[]{Session.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "sendAndCallback":
+                            //同 SessionBase：按消息 key 登记等待响应的回调
+                            replies().put(((Message) args[0]).key(), new CompletableFuture<>());
+                            senders.add(Thread.currentThread().getName());
+                            inFlight.add((BiConsumer<Message, Throwable>) args[1]);
+                            return null;
+                        case "isValid":
+                            return true;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return null;
+                    }
+                });
+            }
+        });
+    }
+
+    static Map<String, Object> replies() throws Exception {
+        Field field = ListenerProxy.class.getDeclaredField("requests");
+        field.setAccessible(true);
+        return (Map<String, Object>) field.get(null);
+    }
+
+    @Before
+    public void reset() {
+        inFlight.clear();
+        senders.clear();
+    }
+
+    static CompletableFuture<Message> send(SocketSessionPool pool, int timeout) {
+        return pool.acquire().sendAsync(h -> new Message(MessageFlag.message, Message.guid(), "fake://localhost/demo", h, new byte[0]),
+                new HashMap<>(), timeout);
+    }
+
+    static void respond(int idx) {
+        inFlight.get(idx).accept(new Message(MessageFlag.response, "", new byte[0]), null);
+    }
+
+    static void await(int size) throws InterruptedException {
+        for (int i = 0; i < 100 && inFlight.size() < size; i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    public void fullWindowQueuesWithoutBlocking() throws Exception {
+        SocketSessionPool pool = new SocketSessionPool(URI.create("fake://localhost:1"), 1, 2, false);
+
+        long start = System.currentTimeMillis();
+        CompletableFuture<Message>[] futures = new CompletableFuture[5];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = send(pool, 5);
+        }
+
+        //窗口满时不阻塞调用方
+        assertTrue(System.currentTimeMillis() - start < 1000);
+        assertEquals(2, inFlight.size());
+
+        //完成一个，放出一个
+        respond(0);
+        await(3);
+        assertTrue(futures[0].isDone());
+        assertEquals(3, inFlight.size());
+
+        respond(1);
+        respond(2);
+        await(5);
+        assertEquals(5, inFlight.size());
+
+        pool.close();
+    }
+
+    @Test
+    public void queuedCallTimesOut() throws Exception {
+        SocketSessionPool pool = new SocketSessionPool(URI.create("fake://localhost:2"), 1, 1, false);
+
+        CompletableFuture<Message> first = send(pool, 5);
+        CompletableFuture<Message> queued = send(pool, 1);
+        assertEquals(1, inFlight.size());
+
+        try {
+            queued.get();
+            fail();
+        } catch (ExecutionException ex) {
+            assertTrue(ex.getCause() instanceof TimeoutException);
+        }
+
+        //排队时已超时的不再发出
+        respond(0);
+        assertTrue(first.isDone());
+        Thread.sleep(100);
+        assertEquals(1, inFlight.size());
+
+        pool.close();
+    }
+
+    @Test
+    public void resumedDrainRunsOnSenderThread() throws Exception {
+        SocketSessionPool pool = new SocketSessionPool(URI.create("fake://localhost:3"), 1, 1, false);
+
+        send(pool, 5);
+        send(pool, 5);
+        assertEquals(Thread.currentThread().getName(), senders.get(0));
+
+        //窗口空出后，由专用的发送线程续发（不用公共池，也不在响应线程上）
+        respond(0);
+        await(2);
+        assertEquals(2, senders.size());
+        assertTrue(senders.get(1), senders.get(1).startsWith("nami-socketd-sender-"));
+
+        pool.close();
+    }
+
+    @Test
+    public void timeoutRemovesReply() throws Exception {
+        SocketSessionPool pool = new SocketSessionPool(URI.create("fake://localhost:4"), 1, 1, false);
+
+        CompletableFuture<Message> future = pool.acquire().sendAsync(h -> new Message(MessageFlag.message, "timeout-key", "fake://localhost/demo", h, new byte[0]),
+                new HashMap<>(), 1);
+        assertTrue(replies().containsKey("timeout-key"));
+
+        try {
+            future.get();
+            fail();
+        } catch (ExecutionException ex) {
+            assertTrue(ex.getCause() instanceof TimeoutException);
+        }
+
+        //超时后不再等待响应
+        assertFalse(replies().containsKey("timeout-key"));
+
+        pool.close();
+    }
+}
@@ -0,0 +1,284 @@
+package org.noear.nami.coder.columnar;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 列式编解码（大端）
+ *
+ * 格式：magic(NC) + 版本(1) + 行数(int) + 列数(int)
+ * + 各列头：名字长度(short) + 名字(utf8) + 类型(byte)
+ * + 各列数据：[null 位图] + 值（基础类型为定长数组；字符串类为 长度(int) + utf8，null 不写）
+ *
+ * @author noear
+ * @since 1.3
+ */
+class ColumnarCodec {
+    private static final byte[] MAGIC = {'N', 'C', 1};
+
+    /**
+     * 编码（列表元素须为同一类型，且不能为 null）
+     */
+    static byte[] write(List<?> list) {
+        int rows = list.size();
+
+        Class<?> clz = null;
+        for (Object o : list) {
+            if (o == null) {
+                throw new IllegalArgumentException("Columnar does not support null rows");
+            }
+
+            if (clz == null) {
+                clz = o.getClass();
+            } else if (clz != o.getClass()) {
+                throw new IllegalArgumentException("Columnar requires rows of the same type: " + clz.getName() + ", " + o.getClass().getName());
+            }
+        }
+
+        ColumnarSchema schema = (clz == null ? null : ColumnarSchema.get(clz));
+        if (schema != null) {
+            schema.checkWritable();
+        }
+
+        int cols = (schema == null ? 0 : schema.fields.length);
+
+        Writer out = new Writer(64 + rows * cols * 8);
+
+        out.ensure(11).put(MAGIC).putInt(rows).putInt(cols);
+
+        for (int c = 0; c < cols; c++) {
+            byte[] name = schema.fields[c].getName().getBytes(StandardCharsets.UTF_8);
+            out.ensure(3 + name.length).putShort((short) name.length).put(name).put(schema.types[c]);
+        }
+
+        try {
+            for (int c = 0; c < cols; c++) {
+                writeColumn(out, list, schema.fields[c], schema.types[c]);
+            }
+        } catch (IllegalAccessException ex) {
+            throw new RuntimeException(ex);
+        }
+
+        return out.toBytes();
+    }
+
+    private static void writeColumn(Writer out, List<?> list, Field f, byte type) throws IllegalAccessException {
+        int rows = list.size();
+        int base = type & 0x7F;
+
+        if (hasBitmap(type) == false) {
+            //基础类型（无 null）
+            ByteBuffer buf = out.ensure(rows * 8);
+            for (Object o : list) {
+                switch (base) {
+                    case ColumnarSchema.T_INT: buf.putInt(f.getInt(o)); break;
+                    case ColumnarSchema.T_LONG: buf.putLong(f.getLong(o)); break;
+                    case ColumnarSchema.T_DOUBLE: buf.putDouble(f.getDouble(o)); break;
+                    case ColumnarSchema.T_FLOAT: buf.putFloat(f.getFloat(o)); break;
+                    case ColumnarSchema.T_BOOLEAN: buf.put((byte) (f.getBoolean(o) ? 1 : 0)); break;
+                    case ColumnarSchema.T_SHORT: buf.putShort(f.getShort(o)); break;
+                    case ColumnarSchema.T_BYTE: buf.put(f.getByte(o)); break;
+                    case ColumnarSchema.T_CHAR: buf.putChar(f.getChar(o)); break;
+                }
+            }
+            return;
+        }
+
+        Object[] vals = new Object[rows];
+        byte[] bitmap = new byte[(rows + 7) / 8];
+        int r = 0;
+        for (Object o : list) {
+            vals[r] = f.get(o);
+            if (vals[r] == null) {
+                bitmap[r >> 3] |= 1 << (r & 7);
+            }
+            r++;
+        }
+        out.ensure(bitmap.length).put(bitmap);
+
+        if (base >= ColumnarSchema.T_STRING && base != ColumnarSchema.T_DATE) {
+            //字符串类（null 不写）
+            for (Object v : vals) {
+                if (v != null) {
+                    String str = (base == ColumnarSchema.T_ENUM ? ((Enum<?>) v).name() : v.toString());
+                    byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+                    out.ensure(4 + bytes.length).putInt(bytes.length).put(bytes);
+                }
+            }
+            return;
+        }
+
+        ByteBuffer buf = out.ensure(rows * 8);
+        for (Object v : vals) {
+            switch (base) {
+                case ColumnarSchema.T_INT: buf.putInt(v == null ? 0 : (Integer) v); break;
+                case ColumnarSchema.T_LONG: buf.putLong(v == null ? 0L : (Long) v); break;
+                case ColumnarSchema.T_DOUBLE: buf.putDouble(v == null ? 0D : (Double) v); break;
+                case ColumnarSchema.T_FLOAT: buf.putFloat(v == null ? 0F : (Float) v); break;
+                case ColumnarSchema.T_BOOLEAN: buf.put((byte) (v != null && (Boolean) v ? 1 : 0)); break;
+                case ColumnarSchema.T_SHORT: buf.putShort(v == null ? 0 : (Short) v); break;
+                case ColumnarSchema.T_BYTE: buf.put(v == null ? 0 : (Byte) v); break;
+                case ColumnarSchema.T_CHAR: buf.putChar(v == null ? 0 : (Character) v); break;
+                case ColumnarSchema.T_DATE: buf.putLong(v == null ? 0L : ((Date) v).getTime()); break;
+            }
+        }
+    }
+
+    /**
+     * 解码
+     */
+    static <T> ColumnarList<T> read(byte[] data, Class<T> elementType) {
+        ByteBuffer buf = ByteBuffer.wrap(data);
+
+        if (data.length < 11 || buf.get() != MAGIC[0] || buf.get() != MAGIC[1] || buf.get() != MAGIC[2]) {
+            throw new IllegalArgumentException("Not a columnar body");
+        }
+
+        int rows = buf.getInt();
+        int cols = buf.getInt();
+
+        String[] names = new String[cols];
+        byte[] types = new byte[cols];
+        for (int c = 0; c < cols; c++) {
+            byte[] name = new byte[buf.getShort()];
+            buf.get(name);
+            names[c] = new String(name, StandardCharsets.UTF_8);
+            types[c] = buf.get();
+        }
+
+        Object[] columns = new Object[cols];
+        BitSet[] nulls = new BitSet[cols];
+        for (int c = 0; c < cols; c++) {
+            if (hasBitmap(types[c])) {
+                byte[] bitmap = new byte[(rows + 7) / 8];
+                buf.get(bitmap);
+                nulls[c] = BitSet.valueOf(bitmap);
+            }
+
+            columns[c] = readColumn(buf, rows, types[c] & 0x7F, nulls[c]);
+        }
+
+        return new ColumnarList<>(elementType, rows, names, types, columns, nulls);
+    }
+
+    private static Object readColumn(ByteBuffer buf, int rows, int base, BitSet nulls) {
+        switch (base) {
+            case ColumnarSchema.T_INT: {
+                int[] ary = new int[rows];
+                buf.asIntBuffer().get(ary);
+                buf.position(buf.position() + rows * 4);
+                return ary;
+            }
+            case ColumnarSchema.T_LONG:
+            case ColumnarSchema.T_DATE: {
+                long[] ary = new long[rows];
+                buf.asLongBuffer().get(ary);
+                buf.position(buf.position() + rows * 8);
+                return ary;
+            }
+            case ColumnarSchema.T_DOUBLE: {
+                double[] ary = new double[rows];
+                buf.asDoubleBuffer().get(ary);
+                buf.position(buf.position() + rows * 8);
+                return ary;
+            }
+            case ColumnarSchema.T_FLOAT: {
+                float[] ary = new float[rows];
+                buf.asFloatBuffer().get(ary);
+                buf.position(buf.position() + rows * 4);
+                return ary;
+            }
+            case ColumnarSchema.T_SHORT: {
+                short[] ary = new short[rows];
+                buf.asShortBuffer().get(ary);
+                buf.position(buf.position() + rows * 2);
+                return ary;
+            }
+            case ColumnarSchema.T_CHAR: {
+                char[] ary = new char[rows];
+                buf.asCharBuffer().get(ary);
+                buf.position(buf.position() + rows * 2);
+                return ary;
+            }
+            case ColumnarSchema.T_BYTE: {
+                byte[] ary = new byte[rows];
+                buf.get(ary);
+                return ary;
+            }
+            case ColumnarSchema.T_BOOLEAN: {
+                boolean[] ary = new boolean[rows];
+                for (int r = 0; r < rows; r++) {
+                    ary[r] = buf.get() != 0;
+                }
+                return ary;
+            }
+            case ColumnarSchema.T_STRING:
+            case ColumnarSchema.T_ENUM: {
+                String[] ary = new String[rows];
+                for (int r = 0; r < rows; r++) {
+                    if (nulls.get(r) == false) {
+                        ary[r] = readString(buf);
+                    }
+                }
+                return ary;
+            }
+            case ColumnarSchema.T_DECIMAL: {
+                BigDecimal[] ary = new BigDecimal[rows];
+                for (int r = 0; r < rows; r++) {
+                    if (nulls.get(r) == false) {
+                        ary[r] = new BigDecimal(readString(buf));
+                    }
+                }
+                return ary;
+            }
+            default:
+                throw new IllegalArgumentException("Unsupported columnar type: " + base);
+        }
+    }
+
+    private static String readString(ByteBuffer buf) {
+        int len = buf.getInt();
+        String str = new String(buf.array(), buf.arrayOffset() + buf.position(), len, StandardCharsets.UTF_8);
+        buf.position(buf.position() + len);
+        return str;
+    }
+
+    /**
+     * 是否带 null 位图（包装类型与对象类型）
+     */
+    private static boolean hasBitmap(byte type) {
+        return (type & ColumnarSchema.NULLABLE) != 0 || (type & 0x7F) >= ColumnarSchema.T_STRING;
+    }
+
+    /**
+     * 可增长的写缓冲（避免逐个值经过同步的输出流）
+     */
+    private static class Writer {
+        private ByteBuffer buf;
+
+        Writer(int capacity) {
+            buf = ByteBuffer.allocate(capacity);
+        }
+
+        ByteBuffer ensure(int n) {
+            if (buf.remaining() < n) {
+                ByteBuffer tmp = ByteBuffer.allocate(Math.max(buf.capacity() * 2, buf.position() + n));
+                buf.flip();
+                tmp.put(buf);
+                buf = tmp;
+            }
+
+            return buf;
+        }
+
+        byte[] toBytes() {
+            return Arrays.copyOf(buf.array(), buf.position());
+        }
+    }
+}
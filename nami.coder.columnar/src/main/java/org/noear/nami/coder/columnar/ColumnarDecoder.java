@@ -0,0 +1,60 @@
+package org.noear.nami.coder.columnar;
+
+import org.noear.nami.Decoder;
+import org.noear.nami.NamiConfig;
+import org.noear.nami.common.Constants;
+import org.noear.nami.common.Result;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Map;
+
+/**
+ * 列式解码器（返回 ColumnarList；List&lt;T&gt; 时按 T 延迟创建行对象，否则行为 Map）
+ *
+ * @author noear
+ * @since 1.3
+ */
+public class ColumnarDecoder implements Decoder {
+    public static final ColumnarDecoder instance = new ColumnarDecoder();
+
+    @Override
+    public String enctype() {
+        return Constants.CONTENT_TYPE_COLUMNAR;
+    }
+
+    @Override
+    public <T> T decode(Result rst, Type type) {
+        if (Void.TYPE == type) {
+            return null;
+        }
+
+        if (rst.code() >= 400) {
+            //抛出错误信息
+            rst.bodyAsString();
+        }
+
+        byte[] bytes = rst.body();
+
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        Class<?> elementType = null;
+        if (type instanceof ParameterizedType) {
+            Type e = ((ParameterizedType) type).getActualTypeArguments()[0];
+
+            if (e instanceof Class && Map.class.isAssignableFrom((Class<?>) e) == false) {
+                elementType = (Class<?>) e;
+            }
+        }
+
+        return (T) ColumnarCodec.read(bytes, elementType);
+    }
+
+    @Override
+    public void filter(NamiConfig cfg, String method, String url, Map<String, String> headers, Map<String, Object> args) {
+        headers.put(Constants.HEADER_SERIALIZATION, Constants.AT_COLUMNAR);
+        headers.put(Constants.HEADER_ACCEPT, Constants.CONTENT_TYPE_COLUMNAR);
+    }
+}
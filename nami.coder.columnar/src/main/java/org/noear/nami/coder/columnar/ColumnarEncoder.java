@@ -0,0 +1,30 @@
+package org.noear.nami.coder.columnar;
+
+import org.noear.nami.Encoder;
+import org.noear.nami.common.Constants;
+
+import java.util.List;
+
+/**
+ * 列式编码器（只支持同类型对象的 List）
+ *
+ * @author noear
+ * @since 1.3
+ */
+public class ColumnarEncoder implements Encoder {
+    public static final ColumnarEncoder instance = new ColumnarEncoder();
+
+    @Override
+    public String enctype() {
+        return Constants.CONTENT_TYPE_COLUMNAR;
+    }
+
+    @Override
+    public byte[] encode(Object obj) {
+        if (obj instanceof List == false) {
+            throw new IllegalArgumentException("Columnar only supports List: " + (obj == null ? null : obj.getClass().getName()));
+        }
+
+        return ColumnarCodec.write((List<?>) obj);
+    }
+}
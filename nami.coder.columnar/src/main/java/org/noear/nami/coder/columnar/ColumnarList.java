@@ -0,0 +1,239 @@
+package org.noear.nami.coder.columnar;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.util.AbstractList;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * 列式列表（按列存储；行对象在读取时才创建）
+ *
+ * 也可以直接按列访问：intColumn, longColumn, doubleColumn, stringColumn, column
+ *
+ * @author noear
+ * @since 1.3
+ */
+public class ColumnarList<T> extends AbstractList<T> implements RandomAccess {
+    private final int size;
+    private final String[] names;
+    private final byte[] types;
+    private final Object[] columns;
+    private final BitSet[] nulls;
+
+    private final ColumnarSchema schema;
+    private final Field[] fields;
+    private final Object[] rows;
+
+    ColumnarList(Class<T> elementType, int size, String[] names, byte[] types, Object[] columns, BitSet[] nulls) {
+        this.size = size;
+        this.names = names;
+        this.types = types;
+        this.columns = columns;
+        this.nulls = nulls;
+        this.rows = new Object[size];
+
+        if (elementType == null) {
+            this.schema = null;
+            this.fields = null;
+        } else {
+            this.schema = ColumnarSchema.get(elementType);
+            this.fields = new Field[names.length];
+
+            for (int c = 0; c < names.length; c++) {
+                Field f = schema.field(names[c]);
+
+                //类型对不上的列忽略
+                if (f != null && (ColumnarSchema.typeOf(f.getType()) & 0x7F) == (types[c] & 0x7F)) {
+                    fields[c] = f;
+                }
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 获取行（有元素类型时为对象，否则为 Map）
+     */
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        Object row = rows[index];
+        if (row == null) {
+            row = (schema == null ? buildMap(index) : buildObject(index));
+            rows[index] = row;
+        }
+
+        return (T) row;
+    }
+
+    /**
+     * 列数
+     */
+    public int columnCount() {
+        return names.length;
+    }
+
+    /**
+     * 列名
+     */
+    public String columnName(int col) {
+        return names[col];
+    }
+
+    /**
+     * 获取列（int[], long[], double[], float[], boolean[], short[], byte[], char[]；
+     * 字符串为 String[]，日期为 long[]，数值为 BigDecimal[]，枚举为 String[]）
+     */
+    public Object column(String name) {
+        int c = indexOf(name);
+        return c < 0 ? null : columns[c];
+    }
+
+    public int[] intColumn(String name) {
+        return (int[]) column(name);
+    }
+
+    public long[] longColumn(String name) {
+        return (long[]) column(name);
+    }
+
+    public double[] doubleColumn(String name) {
+        return (double[]) column(name);
+    }
+
+    public String[] stringColumn(String name) {
+        return (String[]) column(name);
+    }
+
+    /**
+     * 是否为 null
+     */
+    public boolean isNull(String name, int row) {
+        int c = indexOf(name);
+        return c < 0 || (nulls[c] != null && nulls[c].get(row));
+    }
+
+    private int indexOf(String name) {
+        for (int c = 0; c < names.length; c++) {
+            if (names[c].equals(name)) {
+                return c;
+            }
+        }
+
+        return -1;
+    }
+
+    private Object buildObject(int i) {
+        Object obj = schema.newInstance();
+
+        try {
+            for (int c = 0; c < fields.length; c++) {
+                Field f = fields[c];
+
+                if (f == null) {
+                    continue;
+                }
+
+                if (nulls[c] != null && nulls[c].get(i)) {
+                    if (f.getType().isPrimitive() == false) {
+                        f.set(obj, null);
+                    }
+                    continue;
+                }
+
+                if (f.getType().isPrimitive()) {
+                    setPrimitive(f, obj, columns[c], i);
+                } else {
+                    f.set(obj, valueOf(c, i, f.getType()));
+                }
+            }
+        } catch (IllegalAccessException ex) {
+            throw new RuntimeException(ex);
+        }
+
+        return obj;
+    }
+
+    private Map<String, Object> buildMap(int i) {
+        Map<String, Object> map = new LinkedHashMap<>();
+
+        for (int c = 0; c < names.length; c++) {
+            if (nulls[c] != null && nulls[c].get(i)) {
+                map.put(names[c], null);
+            } else {
+                map.put(names[c], valueOf(c, i, null));
+            }
+        }
+
+        return map;
+    }
+
+    private static void setPrimitive(Field f, Object obj, Object col, int i) throws IllegalAccessException {
+        if (col instanceof int[]) {
+            f.setInt(obj, ((int[]) col)[i]);
+        } else if (col instanceof long[]) {
+            f.setLong(obj, ((long[]) col)[i]);
+        } else if (col instanceof double[]) {
+            f.setDouble(obj, ((double[]) col)[i]);
+        } else if (col instanceof float[]) {
+            f.setFloat(obj, ((float[]) col)[i]);
+        } else if (col instanceof boolean[]) {
+            f.setBoolean(obj, ((boolean[]) col)[i]);
+        } else if (col instanceof short[]) {
+            f.setShort(obj, ((short[]) col)[i]);
+        } else if (col instanceof byte[]) {
+            f.setByte(obj, ((byte[]) col)[i]);
+        } else if (col instanceof char[]) {
+            f.setChar(obj, ((char[]) col)[i]);
+        }
+    }
+
+    private Object valueOf(int c, int i, Class<?> fieldType) {
+        Object col = columns[c];
+
+        switch (types[c] & 0x7F) {
+            case ColumnarSchema.T_INT:
+                return ((int[]) col)[i];
+            case ColumnarSchema.T_LONG:
+                return ((long[]) col)[i];
+            case ColumnarSchema.T_DOUBLE:
+                return ((double[]) col)[i];
+            case ColumnarSchema.T_FLOAT:
+                return ((float[]) col)[i];
+            case ColumnarSchema.T_BOOLEAN:
+                return ((boolean[]) col)[i];
+            case ColumnarSchema.T_SHORT:
+                return ((short[]) col)[i];
+            case ColumnarSchema.T_BYTE:
+                return ((byte[]) col)[i];
+            case ColumnarSchema.T_CHAR:
+                return ((char[]) col)[i];
+            case ColumnarSchema.T_STRING:
+                return ((String[]) col)[i];
+            case ColumnarSchema.T_DATE:
+                return new Date(((long[]) col)[i]);
+            case ColumnarSchema.T_DECIMAL:
+                return ((BigDecimal[]) col)[i];
+            case ColumnarSchema.T_ENUM:
+                String name = ((String[]) col)[i];
+                if (fieldType == null) {
+                    return name;
+                } else {
+                    return Enum.valueOf((Class<Enum>) fieldType, name);
+                }
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package org.noear.nami.coder.columnar;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 列式结构（类的字段与列类型；按类缓存）
+ *
+ * @author noear
+ * @since 1.3
+ */
+class ColumnarSchema {
+    static final byte T_INT = 1;
+    static final byte T_LONG = 2;
+    static final byte T_DOUBLE = 3;
+    static final byte T_FLOAT = 4;
+    static final byte T_BOOLEAN = 5;
+    static final byte T_SHORT = 6;
+    static final byte T_BYTE = 7;
+    static final byte T_CHAR = 8;
+    static final byte T_STRING = 9;
+    static final byte T_DATE = 10;
+    static final byte T_DECIMAL = 11;
+    static final byte T_ENUM = 12;
+
+    //可为 null 的基础类型（包装类型；带 null 位图）
+    static final byte NULLABLE = (byte) 0x80;
+
+    private static final Map<Class<?>, ColumnarSchema> cached = new ConcurrentHashMap<>();
+
+    public static ColumnarSchema get(Class<?> clz) {
+        return cached.computeIfAbsent(clz, ColumnarSchema::new);
+    }
+
+    final Class<?> clz;
+    final Field[] fields;
+    final byte[] types;
+    private final Map<String, Field> fieldMap = new ConcurrentHashMap<>();
+    private Constructor<?> constructor;
+
+    private ColumnarSchema(Class<?> clz) {
+        this.clz = clz;
+
+        List<Field> list = new ArrayList<>();
+        for (Class<?> c = clz; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field f : c.getDeclaredFields()) {
+                int mod = f.getModifiers();
+                if (Modifier.isStatic(mod) || Modifier.isTransient(mod) || fieldMap.containsKey(f.getName())) {
+                    continue;
+                }
+
+                f.setAccessible(true);
+                list.add(f);
+                fieldMap.put(f.getName(), f);
+            }
+        }
+
+        this.fields = list.toArray(new Field[0]);
+        this.types = new byte[fields.length];
+
+        for (int i = 0; i < fields.length; i++) {
+            //不支持的为 0（编码时报错；解码时忽略）
+            types[i] = typeOf(fields[i].getType());
+        }
+    }
+
+    /**
+     * 检查是否可编码
+     */
+    void checkWritable() {
+        for (int i = 0; i < fields.length; i++) {
+            if (types[i] == 0) {
+                throw new IllegalArgumentException("Columnar does not support field type: "
+                        + clz.getName() + "." + fields[i].getName() + " (" + fields[i].getType().getName() + ")");
+            }
+        }
+    }
+
+    /**
+     * 按名字获取字段
+     */
+    Field field(String name) {
+        return fieldMap.get(name);
+    }
+
+    /**
+     * 创建实例
+     */
+    Object newInstance() {
+        try {
+            if (constructor == null) {
+                Constructor<?> tmp = clz.getDeclaredConstructor();
+                tmp.setAccessible(true);
+                constructor = tmp;
+            }
+
+            return constructor.newInstance();
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    /**
+     * 获取列类型（不支持时为 0）
+     */
+    static byte typeOf(Class<?> type) {
+        if (type == int.class) return T_INT;
+        if (type == long.class) return T_LONG;
+        if (type == double.class) return T_DOUBLE;
+        if (type == float.class) return T_FLOAT;
+        if (type == boolean.class) return T_BOOLEAN;
+        if (type == short.class) return T_SHORT;
+        if (type == byte.class) return T_BYTE;
+        if (type == char.class) return T_CHAR;
+
+        if (type == Integer.class) return T_INT | NULLABLE;
+        if (type == Long.class) return T_LONG | NULLABLE;
+        if (type == Double.class) return T_DOUBLE | NULLABLE;
+        if (type == Float.class) return T_FLOAT | NULLABLE;
+        if (type == Boolean.class) return T_BOOLEAN | NULLABLE;
+        if (type == Short.class) return T_SHORT | NULLABLE;
+        if (type == Byte.class) return T_BYTE | NULLABLE;
+        if (type == Character.class) return T_CHAR | NULLABLE;
+
+        if (type == String.class) return T_STRING;
+        if (type == Date.class) return T_DATE;
+        if (type == BigDecimal.class) return T_DECIMAL;
+        if (type.isEnum()) return T_ENUM;
+
+        return 0;
+    }
+}
@@ -0,0 +1,89 @@
+package org.noear.nami.coder.columnar;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.List;
+
+/**
+ * 列式 与 jackson json 的对比（单线程）
+ *
+ * <p>1.编码 + 解码后读取全部行；2.编码 + 解码后只汇总一列（列式不创建行对象）</p>
+ */
+public class ColumnarBenchmark {
+    static final int ROWS = Integer.getInteger("rows", 1000);
+    static final int WARMUP = Integer.getInteger("warmup", 2_000);
+    static final int ROUNDS = Integer.getInteger("rounds", 10_000);
+
+    static final ObjectMapper mapper = new ObjectMapper()
+            .setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE)
+            .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+    static final TypeReference<List<Row>> ROW_LIST = new TypeReference<List<Row>>() {
+    };
+
+    interface Case {
+        long run(List<Row> rows) throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<Row> rows = Row.samples(ROWS);
+
+        System.out.printf("rows: %d, json %d bytes, columnar %d bytes%n",
+                ROWS, mapper.writeValueAsBytes(rows).length, ColumnarCodec.write(rows).length);
+
+        run("json(rows)", rows, ColumnarBenchmark::jsonRows);
+        run("columnar(rows)", rows, ColumnarBenchmark::columnarRows);
+        run("json(column)", rows, ColumnarBenchmark::jsonColumn);
+        run("columnar(column)", rows, ColumnarBenchmark::columnarColumn);
+    }
+
+    static long jsonRows(List<Row> rows) throws Exception {
+        List<Row> back = mapper.readValue(mapper.writeValueAsBytes(rows), ROW_LIST);
+        long sum = 0;
+        for (Row r : back) {
+            sum += r.getId();
+        }
+        return sum;
+    }
+
+    static long columnarRows(List<Row> rows) {
+        List<Row> back = ColumnarCodec.read(ColumnarCodec.write(rows), Row.class);
+        long sum = 0;
+        for (Row r : back) {
+            sum += r.getId();
+        }
+        return sum;
+    }
+
+    static long jsonColumn(List<Row> rows) throws Exception {
+        //json 要先解出全部行
+        return jsonRows(rows);
+    }
+
+    static long columnarColumn(List<Row> rows) {
+        ColumnarList<Row> back = ColumnarCodec.read(ColumnarCodec.write(rows), Row.class);
+        long sum = 0;
+        for (int id : back.intColumn("id")) {
+            sum += id;
+        }
+        return sum;
+    }
+
+    static void run(String name, List<Row> rows, Case c) throws Exception {
+        long sink = 0;
+
+        for (int i = 0; i < WARMUP; i++) {
+            sink += c.run(rows);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            sink += c.run(rows);
+        }
+        long spent = System.nanoTime() - start;
+
+        System.out.printf("%-18s %8.1f us/op  (%d)%n", name, spent / 1000.0 / ROUNDS, sink % 10);
+    }
+}
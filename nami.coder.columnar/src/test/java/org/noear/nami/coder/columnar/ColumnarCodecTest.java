@@ -0,0 +1,116 @@
+package org.noear.nami.coder.columnar;
+
+import org.junit.Test;
+import org.noear.nami.common.Result;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class ColumnarCodecTest {
+    public interface Api {
+        List<Row> rows();
+
+        List<Map<String, Object>> maps();
+    }
+
+    static Type typeOf(String method) throws Exception {
+        return Api.class.getMethod(method).getGenericReturnType();
+    }
+
+    @Test
+    public void roundTripAllTypes() {
+        List<Row> rows = Row.samples(30);
+        ColumnarList<Row> back = ColumnarCodec.read(ColumnarCodec.write(rows), Row.class);
+
+        assertEquals(rows, back);
+        //行对象缓存
+        assertSame(back.get(3), back.get(3));
+    }
+
+    @Test
+    public void columnsAndNulls() {
+        ColumnarList<Row> back = ColumnarCodec.read(ColumnarCodec.write(Row.samples(10)), Row.class);
+
+        assertEquals(14, back.columnCount());
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9}, back.intColumn("id"));
+        assertEquals("name-1-中文", back.stringColumn("name")[1]);
+
+        assertTrue(back.isNull("rank", 0));
+        assertFalse(back.isNull("rank", 1));
+        assertTrue(back.isNull("name", 7));
+        //基础类型列没有 null
+        assertFalse(back.isNull("id", 0));
+        //没有的列
+        assertTrue(back.isNull("none", 0));
+        assertNull(back.column("none"));
+    }
+
+    @Test
+    public void rowsAsMaps() {
+        ColumnarList<Map<String, Object>> back = ColumnarCodec.read(ColumnarCodec.write(Row.samples(3)), null);
+
+        Map<String, Object> row = back.get(1);
+        assertEquals(1, row.get("id"));
+        assertEquals("name-1-中文", row.get("name"));
+        assertEquals("HIGH", row.get("level"));
+        assertNull(back.get(0).get("rank"));
+    }
+
+    @Test
+    public void emptyList() {
+        assertEquals(0, ColumnarCodec.read(ColumnarCodec.write(Collections.emptyList()), Row.class).size());
+    }
+
+    static class Other {
+        int id;
+    }
+
+    static class Unsupported {
+        List<String> tags;
+    }
+
+    @Test
+    public void rejectsBadRows() {
+        List<Object> mixed = new ArrayList<>(Row.samples(1));
+        mixed.add(new Other());
+        assertThrows(IllegalArgumentException.class, () -> ColumnarCodec.write(mixed));
+
+        assertThrows(IllegalArgumentException.class, () -> ColumnarCodec.write(Arrays.asList(Row.sample(1), null)));
+        assertThrows(IllegalArgumentException.class, () -> ColumnarCodec.write(Arrays.asList(new Unsupported())));
+        assertThrows(IllegalArgumentException.class, () -> ColumnarCodec.read(new byte[]{'{', '}'}, Row.class));
+    }
+
+    static class Narrow {
+        //类型不同的列忽略
+        String id;
+        String name;
+    }
+
+    @Test
+    public void ignoresMissingAndMismatchedColumns() {
+        ColumnarList<Narrow> back = ColumnarCodec.read(ColumnarCodec.write(Row.samples(2)), Narrow.class);
+
+        assertNull(back.get(1).id);
+        assertEquals("name-1-中文", back.get(1).name);
+    }
+
+    @Test
+    public void throughEncoderAndDecoder() throws Exception {
+        byte[] bytes = ColumnarEncoder.instance.encode(Row.samples(5));
+
+        List<Row> rows = ColumnarDecoder.instance.decode(new Result(200, bytes), typeOf("rows"));
+        assertEquals(Row.samples(5), rows);
+
+        List<Map<String, Object>> maps = ColumnarDecoder.instance.decode(new Result(200, bytes), typeOf("maps"));
+        assertEquals(4, maps.get(4).get("id"));
+
+        assertNull(ColumnarDecoder.instance.decode(new Result(200, new byte[0]), typeOf("rows")));
+        assertThrows(IllegalArgumentException.class, () -> ColumnarEncoder.instance.encode(Row.sample(1)));
+    }
+}
@@ -0,0 +1,81 @@
+package org.noear.nami.coder.columnar;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+
+public class Row {
+    public enum Level {LOW, HIGH}
+
+    private int id;
+    private long ts;
+    private double score;
+    private float ratio;
+    private boolean active;
+    private short small;
+    private byte tiny;
+    private char flag;
+    private Integer rank;
+    private Long parentId;
+    private String name;
+    private Date created;
+    private BigDecimal amount;
+    private Level level;
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Integer getRank() {
+        return rank;
+    }
+
+    public static Row sample(int i) {
+        Row row = new Row();
+        row.id = i;
+        row.ts = 1_600_000_000_000L + i;
+        row.score = i * 0.5;
+        row.ratio = i / 4f;
+        row.active = (i % 2 == 0);
+        row.small = (short) i;
+        row.tiny = (byte) i;
+        row.flag = (char) ('a' + i % 26);
+        row.rank = (i % 3 == 0 ? null : i);
+        row.parentId = (i % 5 == 0 ? null : (long) i * 10);
+        row.name = (i % 7 == 0 ? null : "name-" + i + "-中文");
+        row.created = new Date(1_600_000_000_000L + i * 1000L);
+        row.amount = (i % 4 == 0 ? null : new BigDecimal(i + ".25"));
+        row.level = (i % 2 == 0 ? Level.LOW : Level.HIGH);
+        return row;
+    }
+
+    public static List<Row> samples(int count) {
+        List<Row> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            list.add(sample(i));
+        }
+        return list;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Row row = (Row) o;
+        return id == row.id && ts == row.ts && Double.compare(row.score, score) == 0 && Float.compare(row.ratio, ratio) == 0
+                && active == row.active && small == row.small && tiny == row.tiny && flag == row.flag
+                && Objects.equals(rank, row.rank) && Objects.equals(parentId, row.parentId) && Objects.equals(name, row.name)
+                && Objects.equals(created, row.created) && Objects.equals(amount, row.amount) && level == row.level;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, ts, name);
+    }
+}
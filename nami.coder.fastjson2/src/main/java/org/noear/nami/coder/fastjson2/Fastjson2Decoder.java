@@ -0,0 +1,77 @@
+package org.noear.nami.coder.fastjson2;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONReader;
+import org.noear.nami.Decoder;
+import org.noear.nami.NamiConfig;
+import org.noear.nami.common.Constants;
+import org.noear.nami.common.Result;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * @author noear
+ * @since 1.3
+ */
+public class Fastjson2Decoder implements Decoder {
+    public static final Fastjson2Decoder instance = new Fastjson2Decoder();
+
+    //只对本解码器开启 autoType（@type_json 需要），不改全局配置
+    private static final JSONReader.Feature[] features = {JSONReader.Feature.SupportAutoType};
+
+    @Override
+    public String enctype() {
+        return Constants.CONTENT_TYPE_JSON;
+    }
+
+    @Override
+    public <T> T decode(Result rst, Type type) {
+        if (rst.code() >= 400) {
+            //抛出错误信息
+            rst.bodyAsString();
+        }
+
+        Object returnVal = null;
+        try {
+            if (rst.charset() != null && StandardCharsets.UTF_8.equals(rst.charset()) == false) {
+                //非 utf-8 的，转成字符串再解析
+                String str = rst.bodyAsString();
+
+                if (str == null) {
+                    return null;
+                }
+
+                returnVal = JSON.parseObject(str, type, features);
+            } else {
+                byte[] bytes = rst.body();
+
+                if (bytes == null) {
+                    return null;
+                }
+
+                //直接从 utf-8 字节解析（不经过中间的 String）
+                returnVal = JSON.parseObject(bytes, type, features);
+            }
+        } catch (Throwable ex) {
+            returnVal = ex;
+        }
+
+        if (returnVal != null && Throwable.class.isAssignableFrom(returnVal.getClass())) {
+            if (returnVal instanceof RuntimeException) {
+                throw (RuntimeException) returnVal;
+            } else {
+                throw new RuntimeException((Throwable) returnVal);
+            }
+        } else {
+            return (T) returnVal;
+        }
+    }
+
+    @Override
+    public void filter(NamiConfig cfg, String method, String url, Map<String, String> headers, Map<String, Object> args) {
+        headers.put(Constants.HEADER_SERIALIZATION, Constants.AT_TYPE_JSON);
+        headers.put(Constants.HEADER_ACCEPT, Constants.CONTENT_TYPE_JSON);
+    }
+}
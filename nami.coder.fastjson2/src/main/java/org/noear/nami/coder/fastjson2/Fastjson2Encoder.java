@@ -0,0 +1,25 @@
+package org.noear.nami.coder.fastjson2;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONWriter;
+import org.noear.nami.Encoder;
+import org.noear.nami.common.Constants;
+
+/**
+ * @author noear
+ * @since 1.3
+ */
+public class Fastjson2Encoder implements Encoder {
+    public static final Fastjson2Encoder instance = new Fastjson2Encoder();
+
+    @Override
+    public String enctype() {
+        return Constants.CONTENT_TYPE_JSON;
+    }
+
+    @Override
+    public byte[] encode(Object obj) {
+        //直接输出 utf-8 字节（fastjson2 默认不做循环引用检测）
+        return JSON.toJSONBytes(obj, JSONWriter.Feature.BrowserCompatible);
+    }
+}
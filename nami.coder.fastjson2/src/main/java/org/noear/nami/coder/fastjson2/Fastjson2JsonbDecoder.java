@@ -0,0 +1,67 @@
+package org.noear.nami.coder.fastjson2;
+
+import com.alibaba.fastjson2.JSONB;
+import com.alibaba.fastjson2.JSONReader;
+import org.noear.nami.Decoder;
+import org.noear.nami.NamiConfig;
+import org.noear.nami.common.Constants;
+import org.noear.nami.common.Result;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+
+/**
+ * JSONB 解码器（fastjson2 的二进制格式）
+ *
+ * @author noear
+ * @since 1.3
+ */
+public class Fastjson2JsonbDecoder implements Decoder {
+    public static final Fastjson2JsonbDecoder instance = new Fastjson2JsonbDecoder();
+
+    private static final JSONReader.Feature[] features = {
+            JSONReader.Feature.SupportAutoType,
+            JSONReader.Feature.FieldBased};
+
+    @Override
+    public String enctype() {
+        return Constants.CONTENT_TYPE_JSONB;
+    }
+
+    @Override
+    public <T> T decode(Result rst, Type type) {
+        if (rst.code() >= 400) {
+            //抛出错误信息
+            rst.bodyAsString();
+        }
+
+        Object returnVal = null;
+        try {
+            byte[] bytes = rst.body();
+
+            if (bytes == null || bytes.length == 0) {
+                return null;
+            }
+
+            returnVal = JSONB.parseObject(bytes, type, features);
+        } catch (Throwable ex) {
+            returnVal = ex;
+        }
+
+        if (returnVal != null && Throwable.class.isAssignableFrom(returnVal.getClass())) {
+            if (returnVal instanceof RuntimeException) {
+                throw (RuntimeException) returnVal;
+            } else {
+                throw new RuntimeException((Throwable) returnVal);
+            }
+        } else {
+            return (T) returnVal;
+        }
+    }
+
+    @Override
+    public void filter(NamiConfig cfg, String method, String url, Map<String, String> headers, Map<String, Object> args) {
+        headers.put(Constants.HEADER_SERIALIZATION, Constants.AT_JSONB);
+        headers.put(Constants.HEADER_ACCEPT, Constants.CONTENT_TYPE_JSONB);
+    }
+}
@@ -0,0 +1,28 @@
+package org.noear.nami.coder.fastjson2;
+
+import com.alibaba.fastjson2.JSONB;
+import com.alibaba.fastjson2.JSONWriter;
+import org.noear.nami.Encoder;
+import org.noear.nami.common.Constants;
+
+/**
+ * JSONB 编码器（fastjson2 的二进制格式）
+ *
+ * @author noear
+ * @since 1.3
+ */
+public class Fastjson2JsonbEncoder implements Encoder {
+    public static final Fastjson2JsonbEncoder instance = new Fastjson2JsonbEncoder();
+
+    @Override
+    public String enctype() {
+        return Constants.CONTENT_TYPE_JSONB;
+    }
+
+    @Override
+    public byte[] encode(Object obj) {
+        return JSONB.toBytes(obj,
+                JSONWriter.Feature.WriteClassName,
+                JSONWriter.Feature.FieldBased);
+    }
+}
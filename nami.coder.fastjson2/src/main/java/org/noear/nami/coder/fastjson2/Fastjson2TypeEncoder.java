@@ -0,0 +1,26 @@
+package org.noear.nami.coder.fastjson2;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONWriter;
+import org.noear.nami.Encoder;
+import org.noear.nami.common.Constants;
+
+/**
+ * @author noear
+ * @since 1.3
+ */
+public class Fastjson2TypeEncoder implements Encoder {
+    public static final Fastjson2TypeEncoder instance = new Fastjson2TypeEncoder();
+
+    @Override
+    public String enctype() {
+        return Constants.CONTENT_TYPE_JSON_TYPE;
+    }
+
+    @Override
+    public byte[] encode(Object obj) {
+        return JSON.toJSONBytes(obj,
+                JSONWriter.Feature.BrowserCompatible,
+                JSONWriter.Feature.WriteClassName);
+    }
+}
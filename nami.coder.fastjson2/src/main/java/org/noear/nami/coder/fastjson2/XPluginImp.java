@@ -0,0 +1,21 @@
+package org.noear.nami.coder.fastjson2;
+
+import org.noear.nami.NamiManager;
+import org.noear.solon.SolonApp;
+import org.noear.solon.core.Plugin;
+
+/**
+ * @author noear
+ * @since 1.3
+ */
+public class XPluginImp implements Plugin {
+    @Override
+    public void start(SolonApp app) {
+        NamiManager.reg(Fastjson2Decoder.instance);
+        NamiManager.reg(Fastjson2Encoder.instance);
+        NamiManager.reg(Fastjson2TypeEncoder.instance);
+
+        NamiManager.reg(Fastjson2JsonbDecoder.instance);
+        NamiManager.reg(Fastjson2JsonbEncoder.instance);
+    }
+}
@@ -0,0 +1,49 @@
+package feature;
+
+import org.noear.nami.Decoder;
+import org.noear.nami.Encoder;
+import org.noear.nami.coder.fastjson.FastjsonDecoder;
+import org.noear.nami.coder.fastjson.FastjsonEncoder;
+import org.noear.nami.coder.fastjson2.Fastjson2Decoder;
+import org.noear.nami.coder.fastjson2.Fastjson2Encoder;
+import org.noear.nami.coder.fastjson2.Fastjson2JsonbDecoder;
+import org.noear.nami.coder.fastjson2.Fastjson2JsonbEncoder;
+import org.noear.nami.common.Result;
+
+/**
+ * fastjson2（json、jsonb）与 fastjson 编解码器的对比（编码 + 解码一个对象，单线程）
+ */
+public class Fastjson2Benchmark {
+    static final int WARMUP = 200_000;
+    static final int ROUNDS = 1_000_000;
+
+    public static void main(String[] args) {
+        run("fastjson", FastjsonEncoder.instance, FastjsonDecoder.instance);
+        run("fastjson2", Fastjson2Encoder.instance, Fastjson2Decoder.instance);
+        run("fastjson2-jsonb", Fastjson2JsonbEncoder.instance, Fastjson2JsonbDecoder.instance);
+    }
+
+    static void run(String name, Encoder encoder, Decoder decoder) {
+        UserModel user = UserModel.sample();
+        long sink = 0;
+
+        for (int i = 0; i < WARMUP; i++) {
+            sink += roundTrip(encoder, decoder, user);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            sink += roundTrip(encoder, decoder, user);
+        }
+        long spent = System.nanoTime() - start;
+
+        System.out.printf("%-16s %6.0f ns/op  %3d bytes  (%d)%n",
+                name, spent / (double) ROUNDS, encoder.encode(user).length, sink % 10);
+    }
+
+    static long roundTrip(Encoder encoder, Decoder decoder, UserModel user) {
+        byte[] bytes = encoder.encode(user);
+        UserModel back = decoder.decode(new Result(200, bytes), UserModel.class);
+        return back.getId() + bytes.length;
+    }
+}
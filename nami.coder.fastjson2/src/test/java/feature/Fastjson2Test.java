@@ -0,0 +1,75 @@
+package feature;
+
+import org.junit.Test;
+import org.noear.nami.coder.fastjson2.*;
+import org.noear.nami.common.Constants;
+import org.noear.nami.common.Result;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class Fastjson2Test {
+    @Test
+    public void jsonRoundTrip() {
+        UserModel user = UserModel.sample();
+        byte[] bytes = Fastjson2Encoder.instance.encode(user);
+
+        UserModel back = Fastjson2Decoder.instance.decode(new Result(200, bytes), UserModel.class);
+        assertEquals(user, back);
+    }
+
+    @Test
+    public void jsonNonUtf8Charset() {
+        Charset gbk = Charset.forName("GBK");
+        byte[] bytes = "{\"id\":1,\"name\":\"中文\"}".getBytes(gbk);
+
+        UserModel back = Fastjson2Decoder.instance.decode(new Result(gbk, bytes), UserModel.class);
+        assertEquals("中文", back.getName());
+    }
+
+    @Test
+    public void typeEncoderWritesClassName() {
+        byte[] bytes = Fastjson2TypeEncoder.instance.encode(UserModel.sample());
+        assertTrue(new String(bytes, StandardCharsets.UTF_8).contains("\"@type\""));
+
+        //按 @type 还原（解码器只对自己开启 autoType）
+        Object back = Fastjson2Decoder.instance.decode(new Result(200, bytes), Object.class);
+        assertEquals(UserModel.sample(), back);
+    }
+
+    @Test
+    public void jsonbRoundTrip() {
+        UserModel user = UserModel.sample();
+        byte[] jsonb = Fastjson2JsonbEncoder.instance.encode(user);
+
+        assertEquals(user, Fastjson2JsonbDecoder.instance.decode(new Result(200, jsonb), UserModel.class));
+        assertEquals(user, Fastjson2JsonbDecoder.instance.decode(new Result(200, jsonb), Object.class));
+    }
+
+    @Test
+    public void emptyJsonbIsNull() {
+        assertNull(Fastjson2JsonbDecoder.instance.decode(new Result(200, new byte[0]), UserModel.class));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void errorStatusThrows() {
+        Fastjson2Decoder.instance.decode(new Result(500, "boom".getBytes()), UserModel.class);
+    }
+
+    @Test
+    public void filterNegotiatesHeaders() {
+        Map<String, String> headers = new HashMap<>();
+
+        Fastjson2JsonbDecoder.instance.filter(null, Constants.METHOD_POST, "", headers, new HashMap<>());
+        assertEquals(Constants.AT_JSONB, headers.get(Constants.HEADER_SERIALIZATION));
+        assertEquals(Constants.CONTENT_TYPE_JSONB, headers.get(Constants.HEADER_ACCEPT));
+
+        Fastjson2Decoder.instance.filter(null, Constants.METHOD_POST, "", headers, new HashMap<>());
+        assertEquals(Constants.AT_TYPE_JSON, headers.get(Constants.HEADER_SERIALIZATION));
+        assertEquals(Constants.CONTENT_TYPE_JSON, headers.get(Constants.HEADER_ACCEPT));
+    }
+}
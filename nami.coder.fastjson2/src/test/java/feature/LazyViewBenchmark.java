@@ -0,0 +1,107 @@
+package feature;
+
+import org.noear.nami.Decoder;
+import org.noear.nami.coder.fastjson2.Fastjson2Decoder;
+import org.noear.nami.common.LazyJsonView;
+import org.noear.nami.common.Result;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * 宽对象上只读少数字段：延迟视图（LazyJsonView）与完整解码的对比（单线程）
+ *
+ * <p>-Dfields=N 为对象的字段数（默认 200）；读取第一个、中间、最后一个字段（lazy-view-head 只读第一个）</p>
+ */
+public class LazyViewBenchmark {
+    static final int WARMUP = Integer.getInteger("warmup", 100_000);
+    static final int ROUNDS = Integer.getInteger("rounds", 500_000);
+    static final int FIELDS = Integer.getInteger("fields", 200);
+
+    public interface WideView {
+        long getF0();
+
+        String getMiddle();
+
+        long getLast();
+    }
+
+    public static class NarrowModel {
+        public long f0;
+        public String middle;
+        public long last;
+    }
+
+    public static void main(String[] args) {
+        byte[] json = wideJson(FIELDS);
+        Decoder decoder = Fastjson2Decoder.instance;
+
+        System.out.printf("fields: %d, bytes: %d%n", FIELDS, json.length);
+
+        run("lazy-view", () -> {
+            WideView view = LazyJsonView.tryCreate(WideView.class, json, decoder);
+            return view.getF0() + view.getMiddle().length() + view.getLast();
+        });
+
+        //只读靠前的字段（找到即停，不扫描后面的）
+        run("lazy-view-head", () -> {
+            WideView view = LazyJsonView.tryCreate(WideView.class, json, decoder);
+            return view.getF0();
+        });
+
+        run("decode-map", () -> {
+            Map<String, Object> map = decoder.decode(new Result(200, json), Map.class);
+            return ((Number) map.get("f0")).longValue() + ((String) map.get("middle")).length() + ((Number) map.get("last")).longValue();
+        });
+
+        //只声明读取的字段（其余的由解码器跳过，但仍要完整扫描）
+        run("decode-narrow", () -> {
+            NarrowModel model = decoder.decode(new Result(200, json), NarrowModel.class);
+            return model.f0 + model.middle.length() + model.last;
+        });
+    }
+
+    interface Op {
+        long run();
+    }
+
+    static void run(String name, Op op) {
+        long sink = 0;
+
+        for (int i = 0; i < WARMUP; i++) {
+            sink += op.run();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            sink += op.run();
+        }
+        long spent = System.nanoTime() - start;
+
+        System.out.printf("%-15s %8.0f ns/op  (%d)%n", name, spent / (double) ROUNDS, sink % 10);
+    }
+
+    /**
+     * 宽对象（数字、字符串、嵌套对象与数组混合；middle 在中间，last 在最后）
+     */
+    static byte[] wideJson(int fields) {
+        StringBuilder buf = new StringBuilder("{\"f0\":1");
+
+        for (int i = 1; i < fields - 1; i++) {
+            buf.append(',');
+
+            if (i == fields / 2) {
+                buf.append("\"middle\":\"中间的值\"");
+            } else if (i % 10 == 0) {
+                buf.append("\"obj").append(i).append("\":{\"id\":").append(i).append(",\"tags\":[\"a\",\"b\",\"c\"]}");
+            } else if (i % 3 == 0) {
+                buf.append("\"str").append(i).append("\":\"value-").append(i).append("\"");
+            } else {
+                buf.append("\"num").append(i).append("\":").append(i * 31L);
+            }
+        }
+
+        buf.append(",\"last\":").append(fields).append('}');
+        return buf.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,78 @@
+package feature;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+public class UserModel {
+    private long id;
+    private String name;
+    private boolean active;
+    private double score;
+    private List<String> tags = new ArrayList<>();
+
+    public static UserModel sample() {
+        UserModel m = new UserModel();
+        m.id = 1001;
+        m.name = "张三 noear";
+        m.active = true;
+        m.score = 98.5;
+        m.tags.add("admin");
+        m.tags.add("dev");
+        return m;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        UserModel that = (UserModel) o;
+        return id == that.id && active == that.active && Double.compare(that.score, score) == 0
+                && Objects.equals(name, that.name) && Objects.equals(tags, that.tags);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, active, score, tags);
+    }
+}
@@ -3,15 +3,24 @@ package org.noear.nami.coder.jackson;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.type.TypeFactory;
 import org.noear.nami.Decoder;
 import org.noear.nami.NamiConfig;
 import org.noear.nami.common.Constants;
 import org.noear.nami.common.Result;
 
+import java.io.InputStream;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author noear
@@ -23,14 +32,52 @@ public class JacksonDecoder implements Decoder {
 
     ObjectMapper mapper_type = new ObjectMapper();
 
+    //按类型缓存 reader（免去每次的类型解析）
+    private final Map<Type, ObjectReader> readerCached = new ConcurrentHashMap<>();
+
     public JacksonDecoder(){
         mapper_type.enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
         mapper_type.enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
         mapper_type.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         mapper_type.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
-        mapper_type.activateDefaultTypingAsProperty(
-                mapper_type.getPolymorphicTypeValidator(),
-                ObjectMapper.DefaultTyping.OBJECT_AND_NON_CONCRETE, "@type");
+        JacksonUtils.activateDefaultTyping(mapper_type);
+    }
+
+    /**
+     * 获取类型对应的 reader
+     */
+    public ObjectReader reader(Type type) {
+        return readerCached.computeIfAbsent(type, t -> mapper_type.readerFor(rootType(t)));
+    }
+
+    /**
+     * 根类型（根上的 List, Set, Map 等抽象容器换成具体类型：对方按实际类型写出，根上没有类型标识）
+     */
+    private JavaType rootType(Type type) {
+        TypeFactory tf = mapper_type.getTypeFactory();
+        JavaType jt = tf.constructType(type);
+
+        if (jt.isAbstract() == false) {
+            return jt;
+        }
+
+        Class<?> raw = jt.getRawClass();
+
+        if (jt.isCollectionLikeType()) {
+            if (raw.isAssignableFrom(ArrayList.class)) {
+                return tf.constructCollectionType(ArrayList.class, jt.getContentType());
+            }
+
+            if (raw.isAssignableFrom(LinkedHashSet.class)) {
+                return tf.constructCollectionType(LinkedHashSet.class, jt.getContentType());
+            }
+        } else if (jt.isMapLikeType()) {
+            if (raw.isAssignableFrom(LinkedHashMap.class)) {
+                return tf.constructMapType(LinkedHashMap.class, jt.getKeyType(), jt.getContentType());
+            }
+        }
+
+        return jt;
     }
 
     @Override
@@ -40,15 +87,36 @@ public class JacksonDecoder implements Decoder {
 
     @Override
     public <T> T decode(Result rst, Type type) {
-        String str = rst.bodyAsString();
+        if (rst.code() >= 400) {
+            //抛出错误信息
+            rst.bodyAsString();
+        }
 
         Object returnVal = null;
         try {
-            if (str == null) {
-                return (T) str;
-            }
-            returnVal = mapper_type.readValue(str, new TypeReferenceImp(type));
+            if (rst.charset() != null && StandardCharsets.UTF_8.equals(rst.charset()) == false) {
+                //非 utf-8 的，转成字符串再解析
+                String str = rst.bodyAsString();
 
+                if (str == null) {
+                    return null;
+                }
+
+                returnVal = reader(type).readValue(str);
+            } else if (rst.isBodyStream()) {
+                //直接从流解析（不经过中间的 byte[]）
+                try (InputStream in = rst.bodyAsStream()) {
+                    returnVal = reader(type).readValue(in);
+                }
+            } else {
+                byte[] bytes = rst.body();
+
+                if (bytes == null) {
+                    return null;
+                }
+
+                returnVal = reader(type).readValue(bytes);
+            }
         } catch (Throwable ex) {
             returnVal = ex;
         }
@@ -1,10 +1,14 @@
 package org.noear.nami.coder.jackson;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import org.noear.nami.Encoder;
 import org.noear.nami.common.Constants;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * @author noear
  * @since 1.2
@@ -15,6 +19,9 @@ public class JacksonEncoder implements Encoder {
 
     ObjectMapper mapper = new ObjectMapper();
 
+    //按类型缓存 writer
+    private final Map<Class<?>, ObjectWriter> writerCached = new ConcurrentHashMap<>();
+
     public JacksonEncoder() {
         mapper.enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
     }
@@ -27,7 +34,11 @@ public class JacksonEncoder implements Encoder {
     @Override
     public byte[] encode(Object obj) {
         try {
-            return mapper.writeValueAsBytes(obj);
+            if (obj == null) {
+                return mapper.writeValueAsBytes(null);
+            }
+
+            return writerCached.computeIfAbsent(obj.getClass(), mapper::writerFor).writeValueAsBytes(obj);
         } catch (Exception ex) {
             throw new RuntimeException(ex);
         }
@@ -4,10 +4,14 @@ import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import org.noear.nami.Encoder;
 import org.noear.nami.common.Constants;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * @author noear
  * @since 1.2
@@ -17,13 +21,14 @@ public class JacksonTypeEncoder implements Encoder {
 
     ObjectMapper mapper_type = new ObjectMapper();
 
+    //按类型缓存 writer
+    private final Map<Class<?>, ObjectWriter> writerCached = new ConcurrentHashMap<>();
+
     public JacksonTypeEncoder() {
         mapper_type.enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
         mapper_type.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         mapper_type.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
-        mapper_type.activateDefaultTypingAsProperty(
-                mapper_type.getPolymorphicTypeValidator(),
-                ObjectMapper.DefaultTyping.OBJECT_AND_NON_CONCRETE, "@type");
+        JacksonUtils.activateDefaultTyping(mapper_type);
     }
 
     @Override
@@ -34,7 +39,11 @@ public class JacksonTypeEncoder implements Encoder {
     @Override
     public byte[] encode(Object obj) {
         try {
-            return mapper_type.writeValueAsBytes(obj);
+            if (obj == null) {
+                return mapper_type.writeValueAsBytes(null);
+            }
+
+            return writerCached.computeIfAbsent(obj.getClass(), mapper_type::writerFor).writeValueAsBytes(obj);
         } catch (Exception ex) {
             throw new RuntimeException(ex);
         }
@@ -0,0 +1,30 @@
+package org.noear.nami.coder.jackson;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
+
+/**
+ * Jackson 工具
+ *
+ * @author noear
+ * @since 1.3
+ */
+class JacksonUtils {
+    /**
+     * 启用默认类型（"@type" 属性；已在 TypeRegistry 注册的类写数字 id）
+     */
+    static ObjectMapper activateDefaultTyping(ObjectMapper mapper) {
+        PolymorphicTypeValidator ptv = mapper.getPolymorphicTypeValidator();
+
+        ObjectMapper.DefaultTypeResolverBuilder builder = new ObjectMapper.DefaultTypeResolverBuilder(
+                ObjectMapper.DefaultTyping.OBJECT_AND_NON_CONCRETE, ptv);
+        builder.init(JsonTypeInfo.Id.CUSTOM, new TypeRegistryIdResolver(mapper.getTypeFactory(), ptv));
+        builder.inclusion(JsonTypeInfo.As.PROPERTY);
+        builder.typeProperty("@type");
+
+        mapper.setDefaultTyping(builder);
+
+        return mapper;
+    }
+}
@@ -0,0 +1,60 @@
+package org.noear.nami.coder.jackson;
+
+import com.fasterxml.jackson.databind.DatabindContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.impl.ClassNameIdResolver;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import org.noear.nami.common.TypeRegistry;
+
+import java.io.IOException;
+
+/**
+ * 类型 id 解析器（已在 TypeRegistry 注册的类写数字 id，其它的仍写类名）
+ *
+ * @author noear
+ * @since 1.3
+ */
+class TypeRegistryIdResolver extends ClassNameIdResolver {
+    public TypeRegistryIdResolver(TypeFactory typeFactory, PolymorphicTypeValidator ptv) {
+        super(TypeFactory.unknownType(), typeFactory, ptv);
+    }
+
+    @Override
+    public String idFromValue(Object value) {
+        Integer id = TypeRegistry.getId(value.getClass());
+
+        if (id != null) {
+            return id.toString();
+        } else {
+            return super.idFromValue(value);
+        }
+    }
+
+    @Override
+    public String idFromValueAndType(Object value, Class<?> type) {
+        Integer id = TypeRegistry.getId(type);
+
+        if (id != null) {
+            return id.toString();
+        } else {
+            return super.idFromValueAndType(value, type);
+        }
+    }
+
+    @Override
+    public JavaType typeFromId(DatabindContext context, String id) throws IOException {
+        //类名不会以数字开头
+        if (id.length() > 0 && Character.isDigit(id.charAt(0))) {
+            Class<?> clz = TypeRegistry.getType(Integer.parseInt(id));
+
+            if (clz == null) {
+                throw new IllegalStateException("Unregistered type id: " + id);
+            }
+
+            return context.getTypeFactory().constructType(clz);
+        } else {
+            return super.typeFromId(context, id);
+        }
+    }
+}
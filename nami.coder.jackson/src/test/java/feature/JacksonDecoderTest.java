@@ -0,0 +1,102 @@
+package feature;
+
+import org.junit.Test;
+import org.noear.nami.coder.jackson.JacksonDecoder;
+import org.noear.nami.coder.jackson.JacksonTypeEncoder;
+import org.noear.nami.common.Result;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class JacksonDecoderTest {
+    public static class Item {
+        public String name;
+        public int qty;
+
+        public Item() {
+        }
+
+        public Item(String name, int qty) {
+            this.name = name;
+            this.qty = qty;
+        }
+    }
+
+    public static class Tag {
+        public String code;
+    }
+
+    public interface Api {
+        List<Item> items();
+
+        Map<String, Tag> tags();
+    }
+
+    static Type returnType(String method) throws Exception {
+        return Api.class.getMethod(method).getGenericReturnType();
+    }
+
+    static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void nullBody() {
+        assertNull(JacksonDecoder.instance.decode(new Result(200, (byte[]) null), Item.class));
+        assertNull(JacksonDecoder.instance.decode(new Result(200, bytes("null")), Item.class));
+    }
+
+    @Test
+    public void errorStatusThrows() {
+        RuntimeException ex = assertThrows(RuntimeException.class, () ->
+                JacksonDecoder.instance.decode(new Result(500, bytes("服务忙")), Item.class));
+        assertTrue(ex.getMessage(), ex.getMessage().contains("500"));
+        assertTrue(ex.getMessage(), ex.getMessage().contains("服务忙"));
+    }
+
+    @Test
+    public void genericContainersCachedPerType() throws Exception {
+        List<Item> items = new ArrayList<>(Arrays.asList(new Item("a", 1), new Item("b", 2)));
+        byte[] itemsJson = JacksonTypeEncoder.instance.encode(items);
+
+        Map<String, Tag> tags = new HashMap<>();
+        Tag tag = new Tag();
+        tag.code = "x";
+        tags.put("t", tag);
+        byte[] tagsJson = JacksonTypeEncoder.instance.encode(tags);
+
+        //不同的泛型参数，各用各的 reader
+        List<Item> items2 = JacksonDecoder.instance.decode(new Result(200, itemsJson), returnType("items"));
+        Map<String, Tag> tags2 = JacksonDecoder.instance.decode(new Result(200, tagsJson), returnType("tags"));
+        List<Item> items3 = JacksonDecoder.instance.decode(new Result(200, itemsJson), returnType("items"));
+
+        assertEquals(2, items2.size());
+        assertEquals("b", items2.get(1).name);
+        assertEquals(2, items3.get(1).qty);
+        assertEquals("x", tags2.get("t").code);
+    }
+
+    @Test
+    public void streamBody() {
+        Result rst = new Result(200, new ByteArrayInputStream(bytes("{\"name\":\"中文\",\"qty\":3}")));
+        assertTrue(rst.isBodyStream());
+
+        Item item = JacksonDecoder.instance.decode(rst, Item.class);
+        assertEquals("中文", item.name);
+        assertEquals(3, item.qty);
+    }
+
+    @Test
+    public void nonUtf8Body() {
+        Charset gbk = Charset.forName("GBK");
+        Result rst = new Result(gbk, "{\"name\":\"中文\",\"qty\":3}".getBytes(gbk));
+
+        Item item = JacksonDecoder.instance.decode(rst, Item.class);
+        assertEquals("中文", item.name);
+    }
+}
@@ -0,0 +1,63 @@
+package org.noear.nami.coder.kryo;
+
+import org.noear.nami.Decoder;
+import org.noear.nami.NamiConfig;
+import org.noear.nami.common.Constants;
+import org.noear.nami.common.Result;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+
+/**
+ * @author noear
+ * @since 1.3
+ */
+public class KryoDecoder implements Decoder {
+    public static final KryoDecoder instance = new KryoDecoder();
+
+    @Override
+    public String enctype() {
+        return Constants.CONTENT_TYPE_KRYO;
+    }
+
+    @Override
+    public <T> T decode(Result rst, Type type) {
+        if (Void.TYPE == type) {
+            return null;
+        }
+
+        if (rst.code() >= 400) {
+            //抛出错误信息
+            rst.bodyAsString();
+        }
+
+        Object returnVal = null;
+        try {
+            byte[] bytes = rst.body();
+
+            if (bytes == null || bytes.length == 0) {
+                return null;
+            }
+
+            returnVal = KryoPool.instance.read(bytes);
+        } catch (Throwable ex) {
+            returnVal = ex;
+        }
+
+        if (returnVal != null && Throwable.class.isAssignableFrom(returnVal.getClass())) {
+            if (returnVal instanceof RuntimeException) {
+                throw (RuntimeException) returnVal;
+            } else {
+                throw new RuntimeException((Throwable) returnVal);
+            }
+        } else {
+            return (T) returnVal;
+        }
+    }
+
+    @Override
+    public void filter(NamiConfig cfg, String method, String url, Map<String, String> headers, Map<String, Object> args) {
+        headers.put(Constants.HEADER_SERIALIZATION, Constants.AT_KRYO);
+        headers.put(Constants.HEADER_ACCEPT, Constants.CONTENT_TYPE_KRYO);
+    }
+}
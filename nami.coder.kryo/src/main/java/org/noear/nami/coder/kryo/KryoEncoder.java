@@ -0,0 +1,22 @@
+package org.noear.nami.coder.kryo;
+
+import org.noear.nami.Encoder;
+import org.noear.nami.common.Constants;
+
+/**
+ * @author noear
+ * @since 1.3
+ */
+public class KryoEncoder implements Encoder {
+    public static final KryoEncoder instance = new KryoEncoder();
+
+    @Override
+    public String enctype() {
+        return Constants.CONTENT_TYPE_KRYO;
+    }
+
+    @Override
+    public byte[] encode(Object obj) {
+        return KryoPool.instance.write(obj);
+    }
+}
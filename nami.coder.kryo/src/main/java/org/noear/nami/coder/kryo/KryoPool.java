@@ -0,0 +1,148 @@
+package org.noear.nami.coder.kryo;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.esotericsoftware.kryo.util.DefaultInstantiatorStrategy;
+import com.esotericsoftware.kryo.util.Pool;
+import org.noear.nami.common.PositionalArgs;
+import org.noear.nami.common.TypeRegistry;
+import org.objenesis.strategy.StdInstantiatorStrategy;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+
+/**
+ * Kryo 池（Kryo 非线程安全，实例与 Input/Output 缓冲都池化复用）
+ *
+ * 可选的类注册（见 TypeRegistry）：注册后线上只写类的 id，不写类名；id 由类名得出，两端注册的类可以不同
+ *
+ * @author noear
+ * @since 1.3
+ */
+public class KryoPool {
+    public static final KryoPool instance = new KryoPool();
+
+    //常用类型的 id 起始值（避开 kryo 内置的注册）
+    private static final int COMMON_ID_BASE = 50;
+    //TypeRegistry 的 id 偏移
+    private static final int REGISTRY_ID_OFFSET = 100;
+    private static final int BUFFER_SIZE = 1024 * 4;
+    //超过此大小的缓冲不回池（免得偶尔的大消息长期占住内存）
+    private static final int BUFFER_SIZE_MAX = 1024 * 1024;
+
+    //常用的具体类型（接口签名里一般只声明 List, Map 等）
+    private static final Class<?>[] COMMON_CLASSES = {
+            ArrayList.class, LinkedList.class, HashMap.class, LinkedHashMap.class, TreeMap.class,
+            HashSet.class, LinkedHashSet.class, TreeSet.class, Date.class, BigDecimal.class, BigInteger.class,
+            Object[].class, byte[].class, String[].class, PositionalArgs.class};
+
+    private final int poolSize = Integer.getInteger("nami.kryo.poolSize", 64);
+    //默认开启引用（异常的 cause 会引用自己；纯数据对象可关闭以减少开销）
+    private final boolean references = Boolean.parseBoolean(System.getProperty("nami.kryo.references", "true"));
+
+    private volatile Pool<Kryo> kryoPool = newKryoPool();
+    private volatile int kryoPoolVersion = TypeRegistry.version();
+
+    private final Pool<Output> outputPool = new Pool<Output>(true, false, poolSize) {
+        @Override
+        protected Output create() {
+            return new Output(BUFFER_SIZE, -1);
+        }
+    };
+
+    private final Pool<Input> inputPool = new Pool<Input>(true, false, poolSize) {
+        @Override
+        protected Input create() {
+            return new Input();
+        }
+    };
+
+    /**
+     * 注册客户端接口（同 TypeRegistry.registerClient）
+     */
+    public void registerClient(Class<?> clientInterface) {
+        TypeRegistry.registerClient(clientInterface);
+    }
+
+    /**
+     * 序列化
+     */
+    public byte[] write(Object obj) {
+        Pool<Kryo> pool = kryoPool();
+        Kryo kryo = pool.obtain();
+        Output output = outputPool.obtain();
+
+        try {
+            kryo.writeClassAndObject(output, obj);
+            return output.toBytes();
+        } finally {
+            if (output.getBuffer().length <= BUFFER_SIZE_MAX) {
+                output.reset();
+                outputPool.free(output);
+            }
+            pool.free(kryo);
+        }
+    }
+
+    /**
+     * 反序列化
+     */
+    public Object read(byte[] bytes) {
+        Pool<Kryo> pool = kryoPool();
+        Kryo kryo = pool.obtain();
+        Input input = inputPool.obtain();
+
+        try {
+            input.setBuffer(bytes);
+            return kryo.readClassAndObject(input);
+        } finally {
+            input.setBuffer(new byte[0]);
+            inputPool.free(input);
+            pool.free(kryo);
+        }
+    }
+
+    /**
+     * 获取 Kryo 池（注册有变化时重建）
+     */
+    private Pool<Kryo> kryoPool() {
+        int ver = TypeRegistry.version();
+
+        if (ver != kryoPoolVersion) {
+            synchronized (this) {
+                if (ver != kryoPoolVersion) {
+                    kryoPool = newKryoPool();
+                    kryoPoolVersion = ver;
+                }
+            }
+        }
+
+        return kryoPool;
+    }
+
+    private Pool<Kryo> newKryoPool() {
+        Map<Integer, Class<?>> types = TypeRegistry.types();
+
+        return new Pool<Kryo>(true, true, poolSize) {
+            @Override
+            protected Kryo create() {
+                Kryo kryo = new Kryo();
+                //未注册的类仍可用（写类名）
+                kryo.setRegistrationRequired(false);
+                kryo.setReferences(references);
+                kryo.setInstantiatorStrategy(new DefaultInstantiatorStrategy(new StdInstantiatorStrategy()));
+
+                int id = COMMON_ID_BASE;
+                for (Class<?> c : COMMON_CLASSES) {
+                    kryo.register(c, id++);
+                }
+
+                types.forEach((k, v) -> kryo.register(v, REGISTRY_ID_OFFSET + k));
+
+                return kryo;
+            }
+        };
+    }
+}
@@ -0,0 +1,86 @@
+package feature;
+
+import com.esotericsoftware.kryo.io.Input;
+import org.junit.Test;
+import org.noear.nami.coder.kryo.KryoPool;
+import org.noear.nami.common.PositionalArgs;
+import org.noear.nami.common.TypeRegistry;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * 线上的类 id 固定（改了会与已部署的对端不兼容）
+ */
+public class KryoPoolIdTest {
+    public static class Pinned {
+        public String name;
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Pinned && Objects.equals(name, ((Pinned) o).name);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(name);
+        }
+    }
+
+    public static class Pinned2 {
+        public int value;
+    }
+
+    /**
+     * 读出写在开头的类 id（kryo 写 id + 2，0 与 1 留给 null 与类名）
+     */
+    static int classId(Object obj) {
+        Input input = new Input(KryoPool.instance.write(obj));
+        return input.readVarInt(true) - 2;
+    }
+
+    @Test
+    public void commonClassesFrom50() {
+        assertEquals(50, classId(new ArrayList<>()));
+        assertEquals(51, classId(new LinkedList<>()));
+        assertEquals(52, classId(new HashMap<>()));
+        assertEquals(53, classId(new LinkedHashMap<>()));
+        assertEquals(54, classId(new TreeMap<>()));
+        assertEquals(55, classId(new HashSet<>()));
+        assertEquals(56, classId(new LinkedHashSet<>()));
+        assertEquals(57, classId(new TreeSet<>()));
+        assertEquals(58, classId(new Date(0)));
+        assertEquals(59, classId(BigDecimal.ONE));
+        assertEquals(60, classId(BigInteger.ONE));
+        assertEquals(61, classId(new Object[0]));
+        assertEquals(62, classId(new byte[0]));
+        assertEquals(63, classId(new String[0]));
+    }
+
+    @Test
+    public void positionalArgsLast() {
+        //新的常用类型只能加在 PositionalArgs 之后
+        assertEquals(64, classId(new PositionalArgs(1, new Object[]{"a"})));
+    }
+
+    @Test
+    public void registryIdsOffsetBy100() {
+        TypeRegistry.register(Pinned.class, 7);
+
+        Pinned obj = new Pinned();
+        obj.name = "noear";
+
+        //注册后重建的池：id 为 100 + 注册的 id，且仍能读回
+        assertEquals(107, classId(obj));
+        assertEquals(obj, KryoPool.instance.read(KryoPool.instance.write(obj)));
+
+        //再注册别的，池再次重建，已写出的仍能读回
+        byte[] bytes = KryoPool.instance.write(obj);
+        TypeRegistry.register(Pinned2.class, 8);
+        assertEquals(obj, KryoPool.instance.read(bytes));
+        assertEquals(108, classId(new Pinned2()));
+    }
+}
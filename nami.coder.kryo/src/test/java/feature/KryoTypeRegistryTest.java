@@ -0,0 +1,39 @@
+package feature;
+
+import org.junit.Test;
+import org.noear.nami.coder.kryo.KryoPool;
+import org.noear.nami.common.TypeRegistry;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class KryoTypeRegistryTest {
+    public static class Other {
+        public String name;
+    }
+
+    public interface OtherService {
+        List<Other> list();
+    }
+
+    @Test
+    public void registeredTypesWriteIdsAndKeepThem() {
+        OrderModel order = OrderModel.sample();
+        byte[] before = KryoPool.instance.write(order);
+
+        KryoPool.instance.registerClient(OrderService.class);
+        byte[] after = KryoPool.instance.write(order);
+
+        assertTrue(after.length < before.length);
+        assertEquals(order, KryoPool.instance.read(after));
+        //按类名写的仍能读
+        assertEquals(order, KryoPool.instance.read(before));
+
+        //再注册别的接口，已写出的 id 仍解得对
+        KryoPool.instance.registerClient(OtherService.class);
+        assertEquals(order, KryoPool.instance.read(after));
+        assertArrayEquals(after, KryoPool.instance.write(order));
+        assertNotNull(TypeRegistry.getId(Other.class));
+    }
+}
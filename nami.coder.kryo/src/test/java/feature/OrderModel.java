@@ -0,0 +1,97 @@
+package feature;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+public class OrderModel {
+    private long id;
+    private String buyer;
+    private List<ItemModel> items = new ArrayList<>();
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getBuyer() {
+        return buyer;
+    }
+
+    public void setBuyer(String buyer) {
+        this.buyer = buyer;
+    }
+
+    public List<ItemModel> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ItemModel> items) {
+        this.items = items;
+    }
+
+    public static OrderModel sample() {
+        OrderModel order = new OrderModel();
+        order.setId(10001);
+        order.setBuyer("noear");
+
+        for (int i = 0; i < 3; i++) {
+            ItemModel item = new ItemModel();
+            item.setSku("sku-" + i);
+            item.setCount(i + 1);
+            order.getItems().add(item);
+        }
+
+        return order;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        OrderModel that = (OrderModel) o;
+        return id == that.id && Objects.equals(buyer, that.buyer) && Objects.equals(items, that.items);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, buyer, items);
+    }
+
+    public static class ItemModel {
+        private String sku;
+        private int count;
+
+        public String getSku() {
+            return sku;
+        }
+
+        public void setSku(String sku) {
+            this.sku = sku;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ItemModel that = (ItemModel) o;
+            return count == that.count && Objects.equals(sku, that.sku);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sku, count);
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package feature;
+
+public interface OrderService {
+    OrderModel get(long id);
+}
@@ -0,0 +1,85 @@
+package feature;
+
+import org.noear.nami.Decoder;
+import org.noear.nami.Encoder;
+import org.noear.nami.coder.jackson.JacksonDecoder;
+import org.noear.nami.coder.jackson.JacksonTypeEncoder;
+import org.noear.nami.coder.kryo.KryoPool;
+import org.noear.nami.common.Result;
+import org.noear.nami.common.TypeRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 写类名 与 写 TypeRegistry id 的对比（返回体大小、解码耗时，单线程）
+ *
+ * <p>返回 List（元素声明为 Object，jackson 也会为每个元素写类型）</p>
+ */
+public class TypeRegistryBenchmark {
+    static final int WARMUP = Integer.getInteger("warmup", 200_000);
+    static final int ROUNDS = Integer.getInteger("rounds", 1_000_000);
+
+    /**
+     * 两种方式分开跑（同一 jvm 里先后跑，后跑的受先跑的 jit 结果影响）：参数 name 或 id
+     */
+    public static void main(String[] args) {
+        String mode = args.length > 0 ? args[0] : "id";
+
+        if ("id".equals(mode)) {
+            TypeRegistry.registerClient(OrderService.class);
+        }
+
+        runKryo("kryo(" + mode + ")");
+        runJackson("jackson(" + mode + ")");
+    }
+
+    static void runKryo(String name) {
+        byte[] bytes = KryoPool.instance.write(payload());
+        long sink = 0;
+
+        for (int i = 0; i < WARMUP; i++) {
+            sink += ((List<?>) KryoPool.instance.read(bytes)).size();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            sink += ((List<?>) KryoPool.instance.read(bytes)).size();
+        }
+        long spent = System.nanoTime() - start;
+
+        print(name, spent, bytes.length, sink);
+    }
+
+    static void runJackson(String name) {
+        Encoder encoder = JacksonTypeEncoder.instance;
+        Decoder decoder = JacksonDecoder.instance;
+
+        byte[] bytes = encoder.encode(payload());
+        long sink = 0;
+
+        for (int i = 0; i < WARMUP; i++) {
+            sink += decoder.<List<?>>decode(new Result(200, bytes), ArrayList.class).size();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            sink += decoder.<List<?>>decode(new Result(200, bytes), ArrayList.class).size();
+        }
+        long spent = System.nanoTime() - start;
+
+        print(name, spent, bytes.length, sink);
+    }
+
+    static List<Object> payload() {
+        List<Object> list = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            list.add(OrderModel.sample());
+        }
+        return list;
+    }
+
+    static void print(String name, long spent, int size, long sink) {
+        System.out.printf("%-16s %6.0f ns/op  %3d bytes  (%d)%n", name, spent / (double) ROUNDS, size, sink % 10);
+    }
+}
@@ -0,0 +1,99 @@
+package org.noear.nami.coder.msgpack;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.noear.nami.common.PositionalArgs;
+import org.noear.nami.common.Result;
+
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 二进制格式的 jackson 映射（按类型缓存 reader 与 writer）
+ *
+ * 不写类型信息，以便其它语言的服务能直接读写
+ *
+ * @author noear
+ * @since 1.3
+ */
+class BinaryMapper {
+    private final ObjectMapper mapper;
+    private final Map<Type, ObjectReader> readerCached = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ObjectWriter> writerCached = new ConcurrentHashMap<>();
+
+    public BinaryMapper(JsonFactory factory) {
+        mapper = new ObjectMapper(factory);
+        mapper.enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        //位置参数写成数组：[hash, [arg1, arg2]]
+        mapper.addMixIn(PositionalArgs.class, PositionalArgsMixin.class);
+    }
+
+    public ObjectReader reader(Type type) {
+        return readerCached.computeIfAbsent(type, t -> mapper.readerFor(mapper.getTypeFactory().constructType(t)));
+    }
+
+    public ObjectWriter writer(Class<?> clz) {
+        return writerCached.computeIfAbsent(clz, c -> mapper.writerFor(c));
+    }
+
+    public byte[] write(Object obj) {
+        try {
+            if (obj == null) {
+                return mapper.writeValueAsBytes(null);
+            } else {
+                return writer(obj.getClass()).writeValueAsBytes(obj);
+            }
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    public <T> T read(Result rst, Type type) {
+        if (Void.TYPE == type) {
+            return null;
+        }
+
+        if (rst.code() >= 400) {
+            //抛出错误信息
+            rst.bodyAsString();
+        }
+
+        try {
+            if (rst.isBodyStream()) {
+                //直接从流解析（不经过中间的 byte[]）
+                try (InputStream in = rst.bodyAsStream()) {
+                    return reader(type).readValue(in);
+                }
+            } else {
+                byte[] bytes = rst.body();
+
+                if (bytes == null || bytes.length == 0) {
+                    return null;
+                }
+
+                return reader(type).readValue(bytes);
+            }
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    @JsonFormat(shape = JsonFormat.Shape.ARRAY)
+    @JsonPropertyOrder({"hash", "args"})
+    static abstract class PositionalArgsMixin {
+    }
+}
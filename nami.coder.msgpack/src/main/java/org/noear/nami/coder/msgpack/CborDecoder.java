@@ -0,0 +1,36 @@
+package org.noear.nami.coder.msgpack;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.noear.nami.Decoder;
+import org.noear.nami.NamiConfig;
+import org.noear.nami.common.Constants;
+import org.noear.nami.common.Result;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+
+/**
+ * @author noear
+ * @since 1.3
+ */
+public class CborDecoder implements Decoder {
+    public static final CborDecoder instance = new CborDecoder();
+
+    private final BinaryMapper mapper = new BinaryMapper(new CBORFactory());
+
+    @Override
+    public String enctype() {
+        return Constants.CONTENT_TYPE_CBOR;
+    }
+
+    @Override
+    public <T> T decode(Result rst, Type type) {
+        return mapper.read(rst, type);
+    }
+
+    @Override
+    public void filter(NamiConfig cfg, String method, String url, Map<String, String> headers, Map<String, Object> args) {
+        headers.put(Constants.HEADER_SERIALIZATION, Constants.AT_CBOR);
+        headers.put(Constants.HEADER_ACCEPT, Constants.CONTENT_TYPE_CBOR);
+    }
+}
@@ -0,0 +1,25 @@
+package org.noear.nami.coder.msgpack;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.noear.nami.Encoder;
+import org.noear.nami.common.Constants;
+
+/**
+ * @author noear
+ * @since 1.3
+ */
+public class CborEncoder implements Encoder {
+    public static final CborEncoder instance = new CborEncoder();
+
+    private final BinaryMapper mapper = new BinaryMapper(new CBORFactory());
+
+    @Override
+    public String enctype() {
+        return Constants.CONTENT_TYPE_CBOR;
+    }
+
+    @Override
+    public byte[] encode(Object obj) {
+        return mapper.write(obj);
+    }
+}
@@ -0,0 +1,25 @@
+package org.noear.nami.coder.msgpack;
+
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.noear.nami.Encoder;
+import org.noear.nami.common.Constants;
+
+/**
+ * @author noear
+ * @since 1.3
+ */
+public class MsgpackEncoder implements Encoder {
+    public static final MsgpackEncoder instance = new MsgpackEncoder();
+
+    private final BinaryMapper mapper = new BinaryMapper(new MessagePackFactory());
+
+    @Override
+    public String enctype() {
+        return Constants.CONTENT_TYPE_MSGPACK;
+    }
+
+    @Override
+    public byte[] encode(Object obj) {
+        return mapper.write(obj);
+    }
+}
@@ -0,0 +1,20 @@
+package org.noear.nami.coder.msgpack;
+
+import org.noear.nami.NamiManager;
+import org.noear.solon.SolonApp;
+import org.noear.solon.core.Plugin;
+
+/**
+ * @author noear
+ * @since 1.3
+ */
+public class XPluginImp implements Plugin {
+    @Override
+    public void start(SolonApp app) {
+        NamiManager.reg(MsgpackDecoder.instance);
+        NamiManager.reg(MsgpackEncoder.instance);
+
+        NamiManager.reg(CborDecoder.instance);
+        NamiManager.reg(CborEncoder.instance);
+    }
+}
@@ -0,0 +1,49 @@
+package feature;
+
+import org.noear.nami.Decoder;
+import org.noear.nami.Encoder;
+import org.noear.nami.coder.jackson.JacksonDecoder;
+import org.noear.nami.coder.jackson.JacksonTypeEncoder;
+import org.noear.nami.coder.msgpack.CborDecoder;
+import org.noear.nami.coder.msgpack.CborEncoder;
+import org.noear.nami.coder.msgpack.MsgpackDecoder;
+import org.noear.nami.coder.msgpack.MsgpackEncoder;
+import org.noear.nami.common.Result;
+
+/**
+ * msgpack、cbor 与 jackson json（@type_json，JacksonDecoder 需要类型信息）编解码器的对比（编码 + 解码一个对象，单线程）
+ */
+public class MsgpackBenchmark {
+    static final int WARMUP = 200_000;
+    static final int ROUNDS = 1_000_000;
+
+    public static void main(String[] args) {
+        run("jackson-json", JacksonTypeEncoder.instance, JacksonDecoder.instance);
+        run("msgpack", MsgpackEncoder.instance, MsgpackDecoder.instance);
+        run("cbor", CborEncoder.instance, CborDecoder.instance);
+    }
+
+    static void run(String name, Encoder encoder, Decoder decoder) {
+        UserModel user = UserModel.sample();
+        long sink = 0;
+
+        for (int i = 0; i < WARMUP; i++) {
+            sink += roundTrip(encoder, decoder, user);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            sink += roundTrip(encoder, decoder, user);
+        }
+        long spent = System.nanoTime() - start;
+
+        System.out.printf("%-16s %6.0f ns/op  %3d bytes  (%d)%n",
+                name, spent / (double) ROUNDS, encoder.encode(user).length, sink % 10);
+    }
+
+    static long roundTrip(Encoder encoder, Decoder decoder, UserModel user) {
+        byte[] bytes = encoder.encode(user);
+        UserModel back = decoder.decode(new Result(200, bytes), UserModel.class);
+        return back.getId() + bytes.length;
+    }
+}
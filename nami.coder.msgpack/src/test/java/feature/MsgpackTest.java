@@ -0,0 +1,174 @@
+package feature;
+
+import org.junit.Test;
+import org.msgpack.core.MessagePack;
+import org.msgpack.core.MessageUnpacker;
+import org.noear.nami.Encoder;
+import org.noear.nami.Nami;
+import org.noear.nami.NamiChannel;
+import org.noear.nami.NamiConfig;
+import org.noear.nami.annotation.Mapping;
+import org.noear.nami.coder.jackson.JacksonEncoder;
+import org.noear.nami.coder.msgpack.CborDecoder;
+import org.noear.nami.coder.msgpack.CborEncoder;
+import org.noear.nami.coder.msgpack.MsgpackDecoder;
+import org.noear.nami.coder.msgpack.MsgpackEncoder;
+import org.noear.nami.common.Constants;
+import org.noear.nami.common.PositionalArgs;
+import org.noear.nami.common.Result;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class MsgpackTest {
+    @Test
+    public void msgpackRoundTrip() {
+        UserModel user = UserModel.sample();
+        byte[] bytes = MsgpackEncoder.instance.encode(user);
+
+        assertEquals(user, MsgpackDecoder.instance.decode(new Result(200, bytes), UserModel.class));
+    }
+
+    @Test
+    public void cborRoundTrip() {
+        UserModel user = UserModel.sample();
+        byte[] bytes = CborEncoder.instance.encode(user);
+
+        assertEquals(user, CborDecoder.instance.decode(new Result(200, bytes), UserModel.class));
+    }
+
+    @Test
+    public void decodeFromStream() {
+        UserModel user = UserModel.sample();
+        byte[] bytes = MsgpackEncoder.instance.encode(user);
+
+        Result rst = new Result(200, new ByteArrayInputStream(bytes));
+        assertEquals(user, MsgpackDecoder.instance.decode(rst, UserModel.class));
+    }
+
+    @Test
+    public void plainMapWithoutTypeInfo() throws Exception {
+        //其它语言按普通 map 读取（不带 @type）
+        byte[] bytes = MsgpackEncoder.instance.encode(UserModel.sample());
+
+        Set<String> keys = new HashSet<>();
+        try (MessageUnpacker unpacker = MessagePack.newDefaultUnpacker(bytes)) {
+            int size = unpacker.unpackMapHeader();
+            for (int i = 0; i < size; i++) {
+                keys.add(unpacker.unpackString());
+                unpacker.skipValue();
+            }
+        }
+
+        assertEquals(new HashSet<>(Arrays.asList("id", "name", "active", "score", "tags")), keys);
+    }
+
+    @Test
+    public void smallerThanJson() {
+        UserModel user = UserModel.sample();
+        int json = JacksonEncoder.instance.encode(user).length;
+
+        assertTrue(MsgpackEncoder.instance.encode(user).length < json);
+        assertTrue(CborEncoder.instance.encode(user).length < json);
+    }
+
+    @Test
+    public void emptyAndVoid() {
+        assertNull(MsgpackDecoder.instance.decode(new Result(200, new byte[0]), UserModel.class));
+        assertNull(MsgpackDecoder.instance.decode(new Result(200, new byte[]{1}), Void.TYPE));
+    }
+
+    @Test
+    public void filterNegotiatesHeaders() {
+        Map<String, String> headers = new HashMap<>();
+
+        MsgpackDecoder.instance.filter(null, Constants.METHOD_POST, "", headers, new HashMap<>());
+        assertEquals(Constants.AT_MSGPACK, headers.get(Constants.HEADER_SERIALIZATION));
+        assertEquals(Constants.CONTENT_TYPE_MSGPACK, headers.get(Constants.HEADER_ACCEPT));
+
+        CborDecoder.instance.filter(null, Constants.METHOD_POST, "", headers, new HashMap<>());
+        assertEquals(Constants.AT_CBOR, headers.get(Constants.HEADER_SERIALIZATION));
+        assertEquals(Constants.CONTENT_TYPE_CBOR, headers.get(Constants.HEADER_ACCEPT));
+    }
+
+    public interface UserApi {
+        @Mapping("GET user/{id}")
+        UserModel get(String id, String name, Integer age);
+
+        UserModel find(String name, Integer age);
+    }
+
+    /**
+     * 记下发出的 body（返回 msgpack 编码的 UserModel）
+     */
+    static class CaptureChannel implements NamiChannel {
+        Object body;
+        String url;
+
+        @Override
+        public Result call(NamiConfig cfg, Method method, String action, String url, Map<String, String> headers, Map<String, Object> args, Object body) {
+            this.body = body;
+            this.url = url;
+            return new Result(200, MsgpackEncoder.instance.encode(UserModel.sample()));
+        }
+
+        @Override
+        public void filter(NamiConfig cfg, String action, String url, Map<String, String> headers, Map<String, Object> args) {
+        }
+    }
+
+    static UserApi client(Encoder encoder, CaptureChannel channel) {
+        return Nami.builder()
+                .url("http://localhost:8080/")
+                .encoder(encoder)
+                .decoder(MsgpackDecoder.instance)
+                .channel(channel)
+                .positionalArgs(true)
+                .create(UserApi.class);
+    }
+
+    @Test
+    public void positionalArgsAsArray() throws Exception {
+        CaptureChannel channel = new CaptureChannel();
+        client(MsgpackEncoder.instance, channel).find("noear", null);
+
+        PositionalArgs pa = (PositionalArgs) channel.body;
+        assertEquals(PositionalArgs.hashOf(UserApi.class.getMethod("find", String.class, Integer.class)), pa.getHash());
+
+        //[hash, [args...]]（null 保留位置）
+        try (MessageUnpacker unpacker = MessagePack.newDefaultUnpacker(MsgpackEncoder.instance.encode(pa))) {
+            assertEquals(2, unpacker.unpackArrayHeader());
+            assertEquals(pa.getHash(), unpacker.unpackInt());
+            assertEquals(2, unpacker.unpackArrayHeader());
+            assertEquals("noear", unpacker.unpackString());
+            assertTrue(unpacker.tryUnpackNil());
+            assertFalse(unpacker.hasNext());
+        }
+    }
+
+    @Test
+    public void positionalArgsSkipPathVariables() {
+        CaptureChannel channel = new CaptureChannel();
+        client(MsgpackEncoder.instance, channel).get("12", "noear", 18);
+
+        assertTrue(channel.url, channel.url.endsWith("user/12"));
+        assertArrayEquals(new Object[]{"noear", 18}, ((PositionalArgs) channel.body).getArgs());
+    }
+
+    @Test
+    public void positionalArgsNotForJson() {
+        CaptureChannel channel = new CaptureChannel();
+        client(JacksonEncoder.instance, channel).find("noear", 18);
+
+        //json 仍按参数名传
+        assertFalse(channel.body instanceof PositionalArgs);
+        assertEquals("noear", ((Map<?, ?>) channel.body).get("name"));
+    }
+}
@@ -0,0 +1,143 @@
+package org.noear.nami.coder.zstd;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdInputStream;
+import org.noear.nami.Decoder;
+import org.noear.nami.NamiConfig;
+import org.noear.nami.common.Constants;
+import org.noear.nami.common.Result;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Map;
+
+/**
+ * Zstd 解码器（包装实际解码器，先按字典id解压，再解码）
+ *
+ * @author noear
+ * @since 1.3
+ */
+public class ZstdDecoder implements Decoder {
+    public static final String ENCODING_ZSTD = "zstd";
+    public static final String HEADER_ZSTD_DICT = "X-Zstd-Dict";
+
+    /**
+     * 解压后的最大大小（防止帧头声明过大的原始大小；默认 64m）
+     */
+    public static final int MAX_SIZE = Integer.getInteger("nami.zstd.maxSize", 64 * 1024 * 1024);
+
+    private final Decoder real;
+    private final ZstdEncoder encoder;
+
+    public ZstdDecoder(Decoder real) {
+        this(real, null);
+    }
+
+    /**
+     * @param encoder 配对的编码器（其字典会告知对端，用于压缩响应）
+     */
+    public ZstdDecoder(Decoder real, ZstdEncoder encoder) {
+        this.real = real;
+        this.encoder = encoder;
+    }
+
+    @Override
+    public String enctype() {
+        return real.enctype();
+    }
+
+    @Override
+    public <T> T decode(Result rst, Type clz) {
+        return real.decode(prepare(rst), clz);
+    }
+
+    /**
+     * 解压（解压后的结果不再带 Content-Encoding，可直接扫描；再交给实际解码器预处理）
+     */
+    @Override
+    public Result prepare(Result rst) {
+        if (ENCODING_ZSTD.equalsIgnoreCase(rst.headerGet(Constants.HEADER_CONTENT_ENCODING)) == false) {
+            return real.prepare(rst);
+        }
+
+        byte[] body = rst.body();
+        if (body == null || body.length == 0) {
+            return real.prepare(rst);
+        }
+
+        Result rst2 = new Result(rst.code(), decompress(body));
+        rst2.charsetSet(rst.charset());
+        for (Map.Entry<String, String> kv : rst.headers()) {
+            if (Constants.HEADER_CONTENT_ENCODING.equalsIgnoreCase(kv.getKey()) == false
+                    && "Content-Length".equalsIgnoreCase(kv.getKey()) == false) {
+                rst2.headerAdd(kv.getKey(), kv.getValue());
+            }
+        }
+
+        return real.prepare(rst2);
+    }
+
+    @Override
+    public void filter(NamiConfig cfg, String action, String url, Map<String, String> headers, Map<String, Object> args) {
+        real.filter(cfg, action, url, headers, args);
+
+        headers.put(Constants.HEADER_ACCEPT_ENCODING, ENCODING_ZSTD);
+
+        ZstdDict dict = (encoder == null ? null : encoder.dict());
+        if (dict != null) {
+            headers.put(HEADER_ZSTD_DICT, String.valueOf(dict.id()));
+        }
+
+    }
+
+    private static byte[] decompress(byte[] body) {
+        long dictId = Zstd.getDictIdFromFrame(body);
+        ZstdDict dict = null;
+
+        if (dictId != 0) {
+            dict = ZstdDicts.get(dictId);
+
+            if (dict == null) {
+                throw new IllegalStateException("Zstd dictionary not found: " + dictId);
+            }
+        }
+
+        long size = Zstd.decompressedSize(body);
+
+        if (size > MAX_SIZE) {
+            throw new IllegalStateException("Zstd decompressed size exceeds the limit: " + size + " > " + MAX_SIZE);
+        }
+
+        if (size > 0) {
+            if (dict == null) {
+                return Zstd.decompress(body, (int) size);
+            } else {
+                return Zstd.decompress(body, dict.decompress(), (int) size);
+            }
+        }
+
+        //帧头里没有原始大小时，以流方式解压
+        try (ZstdInputStream in = new ZstdInputStream(new ByteArrayInputStream(body))) {
+            if (dict != null) {
+                in.setDict(dict.data());
+            }
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.min(body.length * 4, MAX_SIZE));
+            byte[] buf = new byte[4096];
+            int len;
+            while ((len = in.read(buf)) > 0) {
+                if (out.size() + len > MAX_SIZE) {
+                    throw new IllegalStateException("Zstd decompressed size exceeds the limit: " + MAX_SIZE);
+                }
+
+                out.write(buf, 0, len);
+            }
+
+            return out.toByteArray();
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.noear.nami.coder.zstd;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdDictCompress;
+import com.github.luben.zstd.ZstdDictDecompress;
+import com.github.luben.zstd.ZstdDictTrainer;
+
+import java.util.Collection;
+
+/**
+ * Zstd 字典（以字典内置的 id 进行登记与传递）
+ *
+ * @author noear
+ * @since 1.3
+ */
+public class ZstdDict {
+    /**
+     * 默认压缩级别（与 zstd 的默认值一致）
+     */
+    public static final int DEFAULT_LEVEL = 3;
+
+    private final long id;
+    private final byte[] data;
+    private final ZstdDictCompress compress;
+    private final ZstdDictDecompress decompress;
+
+    public ZstdDict(byte[] data) {
+        this(data, DEFAULT_LEVEL);
+    }
+
+    public ZstdDict(byte[] data, int level) {
+        this.id = Zstd.getDictIdFromDict(data);
+        this.data = data;
+        this.compress = new ZstdDictCompress(data, level);
+        this.decompress = new ZstdDictDecompress(data);
+    }
+
+    /**
+     * 字典id
+     */
+    public long id() {
+        return id;
+    }
+
+    /**
+     * 字典数据（用于分发给对端）
+     */
+    public byte[] data() {
+        return data;
+    }
+
+    public ZstdDictCompress compress() {
+        return compress;
+    }
+
+    public ZstdDictDecompress decompress() {
+        return decompress;
+    }
+
+    /**
+     * 通过样本训练字典（离线训练时使用）
+     *
+     * @param samples  样本（一般为 Encoder.encode 的输出）
+     * @param dictSize 字典大小
+     */
+    public static ZstdDict train(Collection<byte[]> samples, int dictSize) {
+        int total = 0;
+        for (byte[] s : samples) {
+            total += s.length;
+        }
+
+        ZstdDictTrainer trainer = new ZstdDictTrainer(total, dictSize);
+        for (byte[] s : samples) {
+            trainer.addSample(s);
+        }
+
+        return new ZstdDict(trainer.trainSamples());
+    }
+}
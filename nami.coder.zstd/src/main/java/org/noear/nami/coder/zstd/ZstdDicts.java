@@ -0,0 +1,34 @@
+package org.noear.nami.coder.zstd;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Zstd 字典登记簿（请求与响应两端，按字典id取用）
+ *
+ * @author noear
+ * @since 1.3
+ */
+public class ZstdDicts {
+    static final Map<Long, ZstdDict> dictMap = new ConcurrentHashMap<>();
+
+    /**
+     * 登记字典
+     */
+    public static void reg(ZstdDict dict) {
+        dictMap.put(dict.id(), dict);
+    }
+
+    /**
+     * 登记字典
+     */
+    public static ZstdDict reg(byte[] data) {
+        ZstdDict dict = new ZstdDict(data);
+        reg(dict);
+        return dict;
+    }
+
+    public static ZstdDict get(long id) {
+        return dictMap.get(id);
+    }
+}
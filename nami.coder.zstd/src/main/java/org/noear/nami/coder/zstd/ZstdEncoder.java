@@ -0,0 +1,80 @@
+package org.noear.nami.coder.zstd;
+
+import com.github.luben.zstd.Zstd;
+import org.noear.nami.Encoder;
+
+/**
+ * Zstd 编码器（包装实际编码器，对输出进行字典压缩；通道使用输出时，按 encoding() 添加 Content-Encoding）
+ *
+ * @author noear
+ * @since 1.3
+ */
+public class ZstdEncoder implements Encoder {
+    private final Encoder real;
+    private volatile ZstdDict dict;
+    private volatile ZstdSampler sampler;
+
+    public ZstdEncoder(Encoder real) {
+        this(real, null);
+    }
+
+    public ZstdEncoder(Encoder real, ZstdDict dict) {
+        this.real = real;
+        this.dict = dict;
+    }
+
+    /**
+     * 当前字典（可以为Null）
+     */
+    public ZstdDict dict() {
+        return dict;
+    }
+
+    /**
+     * 切换字典（一般在重新训练后）
+     */
+    public ZstdEncoder dict(ZstdDict dict) {
+        this.dict = dict;
+        return this;
+    }
+
+    /**
+     * 设置样本采集器
+     */
+    public ZstdEncoder sampler(ZstdSampler sampler) {
+        this.sampler = sampler;
+        return this;
+    }
+
+    @Override
+    public String enctype() {
+        return real.enctype();
+    }
+
+    @Override
+    public byte[] encode(Object obj) {
+        byte[] bytes = real.encode(obj);
+
+        if (bytes == null) {
+            return null;
+        }
+
+        ZstdSampler sampler0 = sampler;
+        if (sampler0 != null) {
+            sampler0.offer(bytes);
+        }
+
+        ZstdDict dict0 = dict;
+        if (dict0 == null) {
+            return Zstd.compress(bytes);
+        } else {
+            return Zstd.compress(bytes, dict0.compress());
+        }
+    }
+
+    @Override
+    public String encoding() {
+        //只要经过 encode() 就一定是压缩输出
+        return ZstdDecoder.ENCODING_ZSTD;
+    }
+}
\ No newline at end of file
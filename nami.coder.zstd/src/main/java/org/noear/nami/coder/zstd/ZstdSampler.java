@@ -0,0 +1,62 @@
+package org.noear.nami.coder.zstd;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Zstd 样本采集器（环形缓冲，按比例采样真实的编码输出，用于在线训练字典）
+ *
+ * @author noear
+ * @since 1.3
+ */
+public class ZstdSampler {
+    private final byte[][] ring;
+    private final int rate;
+    private final AtomicLong counter = new AtomicLong();
+
+    /**
+     * @param capacity 环形缓冲容量（样本数）
+     * @param rate     采样比例（每 rate 个取 1 个）
+     */
+    public ZstdSampler(int capacity, int rate) {
+        this.ring = new byte[capacity][];
+        this.rate = rate < 1 ? 1 : rate;
+    }
+
+    /**
+     * 提供样本
+     */
+    public void offer(byte[] sample) {
+        if (sample == null || sample.length == 0) {
+            return;
+        }
+
+        long n = counter.getAndIncrement();
+        if (n % rate == 0) {
+            ring[(int) ((n / rate) % ring.length)] = sample;
+        }
+    }
+
+    /**
+     * 当前样本
+     */
+    public List<byte[]> samples() {
+        List<byte[]> list = new ArrayList<>(ring.length);
+        for (byte[] s : ring) {
+            if (s != null) {
+                list.add(s);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * 用当前样本训练字典（训练后自动登记）
+     */
+    public ZstdDict train(int dictSize) {
+        ZstdDict dict = ZstdDict.train(samples(), dictSize);
+        ZstdDicts.reg(dict);
+        return dict;
+    }
+}
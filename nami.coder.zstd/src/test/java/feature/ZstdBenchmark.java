@@ -0,0 +1,69 @@
+package feature;
+
+import org.noear.nami.coder.zstd.ZstdDecoder;
+import org.noear.nami.coder.zstd.ZstdDict;
+import org.noear.nami.coder.zstd.ZstdDicts;
+import org.noear.nami.coder.zstd.ZstdEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 压缩对比（1~4k 的 json；运行 main）
+ */
+public class ZstdBenchmark {
+    public static void main(String[] args) {
+        List<byte[]> samples = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            samples.add(payload(i).getBytes(StandardCharsets.UTF_8));
+        }
+
+        ZstdDict dict = ZstdDict.train(samples, 16 * 1024);
+        ZstdDicts.reg(dict);
+
+        ZstdEncoder plain = new ZstdEncoder(ZstdTest.textEncoder);
+        ZstdEncoder dicted = new ZstdEncoder(ZstdTest.textEncoder, dict);
+        ZstdDecoder decoder = new ZstdDecoder(ZstdTest.textDecoder);
+
+        String[] payloads = new String[1000];
+        long raw = 0;
+        for (int i = 0; i < payloads.length; i++) {
+            payloads[i] = payload(10000 + i);
+            raw += payloads[i].length();
+        }
+
+        for (int round = 0; round < 5; round++) {
+            run("plain", plain, decoder, payloads, raw);
+            run("dict ", dicted, decoder, payloads, raw);
+        }
+    }
+
+    static void run(String name, ZstdEncoder encoder, ZstdDecoder decoder, String[] payloads, long raw) {
+        long size = 0;
+        long t0 = System.nanoTime();
+        byte[][] out = new byte[payloads.length][];
+        for (int i = 0; i < payloads.length; i++) {
+            out[i] = encoder.encode(payloads[i]);
+            size += out[i].length;
+        }
+        long t1 = System.nanoTime();
+        for (byte[] b : out) {
+            decoder.decode(ZstdTest.result(b), String.class);
+        }
+        long t2 = System.nanoTime();
+
+        System.out.printf("%s ratio %.2f, encode %.1fus/op, decode %.1fus/op%n", name,
+                (double) raw / size, (t1 - t0) / 1000.0 / payloads.length, (t2 - t1) / 1000.0 / payloads.length);
+    }
+
+    static String payload(int i) {
+        StringBuilder buf = new StringBuilder(ZstdTest.payload(i));
+        buf.setLength(buf.length() - 2);
+        for (int n = 1; n < 10 + i % 20; n++) {
+            buf.append(",{\"skuId\":").append(i * 31 + n).append(",\"skuName\":\"item-").append(n)
+                    .append("\",\"quantity\":").append(n % 7).append(",\"price\":").append(n * 9.9).append('}');
+        }
+        return buf.append("]}").toString();
+    }
+}
@@ -0,0 +1,167 @@
+package feature;
+
+import com.github.luben.zstd.Zstd;
+import org.junit.Test;
+import org.noear.nami.Decoder;
+import org.noear.nami.Encoder;
+import org.noear.nami.Nami;
+import org.noear.nami.NamiChannel;
+import org.noear.nami.NamiConfig;
+import org.noear.nami.NamiException;
+import org.noear.nami.annotation.Envelope;
+import org.noear.nami.coder.zstd.*;
+import org.noear.nami.common.Constants;
+import org.noear.nami.common.Result;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class ZstdTest {
+    static final Encoder textEncoder = new Encoder() {
+        @Override
+        public String enctype() {
+            return Constants.CONTENT_TYPE_JSON;
+        }
+
+        @Override
+        public byte[] encode(Object obj) {
+            return obj.toString().getBytes(StandardCharsets.UTF_8);
+        }
+    };
+
+    static final Decoder textDecoder = new Decoder() {
+        @Override
+        public String enctype() {
+            return Constants.CONTENT_TYPE_JSON;
+        }
+
+        @Override
+        public <T> T decode(Result rst, Type clz) {
+            return (T) rst.bodyAsString();
+        }
+
+        @Override
+        public void filter(NamiConfig cfg, String action, String url, Map<String, String> headers, Map<String, Object> args) {
+        }
+    };
+
+    static String payload(int i) {
+        return "{\"orderId\":" + (100000 + i) + ",\"userName\":\"user" + i + "\",\"status\":\"PAID\",\"amount\":" + (i * 3.5)
+                + ",\"items\":[{\"skuId\":" + i + ",\"skuName\":\"item-" + i + "\",\"quantity\":" + (i % 5) + "}]}";
+    }
+
+    static Result result(byte[] body) {
+        Result rst = new Result(200, body);
+        rst.headerAdd(Constants.HEADER_CONTENT_ENCODING, ZstdDecoder.ENCODING_ZSTD);
+        return rst;
+    }
+
+    @Test
+    public void roundTrip() {
+        ZstdEncoder encoder = new ZstdEncoder(textEncoder);
+        ZstdDecoder decoder = new ZstdDecoder(textDecoder);
+
+        String str = payload(1);
+        byte[] bytes = encoder.encode(str);
+
+        assertEquals(str, decoder.decode(result(bytes), String.class));
+    }
+
+    @Test
+    public void roundTripWithDict() {
+        List<byte[]> samples = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            samples.add(payload(i).getBytes(StandardCharsets.UTF_8));
+        }
+
+        ZstdDict dict = ZstdDict.train(samples, 4 * 1024);
+        ZstdDicts.reg(dict);
+
+        ZstdEncoder encoder = new ZstdEncoder(textEncoder, dict);
+        ZstdDecoder decoder = new ZstdDecoder(textDecoder, encoder);
+
+        String str = payload(99999);
+        byte[] bytes = encoder.encode(str);
+
+        assertEquals(dict.id(), Zstd.getDictIdFromFrame(bytes));
+        assertTrue(bytes.length < new ZstdEncoder(textEncoder).encode(str).length);
+        assertEquals(str, decoder.decode(result(bytes), String.class));
+    }
+
+    @Test
+    public void notCompressed() {
+        ZstdDecoder decoder = new ZstdDecoder(textDecoder);
+        Result rst = new Result(200, "abc".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("abc", decoder.decode(rst, String.class));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void declaredSizeOverLimit() {
+        //帧头声明的原始大小超过上限时，不分配
+        byte[] big = new byte[ZstdDecoder.MAX_SIZE + 1];
+        new ZstdDecoder(textDecoder).decode(result(Zstd.compress(big)), String.class);
+    }
+
+    @Test
+    public void contentEncodingFromEncoder() {
+        //标记跟随 encode()：只要通道使用了编码输出，就是 zstd 帧
+        ZstdEncoder encoder = new ZstdEncoder(textEncoder);
+        assertEquals(ZstdDecoder.ENCODING_ZSTD, encoder.encoding());
+        assertNull(textEncoder.encoding());
+
+        byte[] bytes = encoder.encode("abc");
+        assertEquals("abc", new String(Zstd.decompress(bytes, 3), StandardCharsets.UTF_8));
+    }
+
+    @Envelope
+    public interface EnvelopeApi {
+        String get();
+    }
+
+    static EnvelopeApi envelopeClient(String json) {
+        byte[] body = new ZstdEncoder(textEncoder).encode(json);
+
+        NamiChannel channel = new NamiChannel() {
+            @Override
+            public Result call(NamiConfig cfg, Method method, String action, String url, Map<String, String> headers, Map<String, Object> args, Object body0) {
+                Result rst = result(body);
+                rst.headerAdd(Constants.HEADER_CONTENT_TYPE, Constants.CONTENT_TYPE_JSON);
+                return rst;
+            }
+
+            @Override
+            public void filter(NamiConfig cfg, String action, String url, Map<String, String> headers, Map<String, Object> args) {
+            }
+        };
+
+        return Nami.builder()
+                .url("http://localhost:8080/")
+                .decoder(new ZstdDecoder(textDecoder))
+                .channel(channel)
+                .create(EnvelopeApi.class);
+    }
+
+    @Test
+    public void envelopeOverZstd() {
+        //先解压，再拆信封
+        assertEquals("\"ok\"", envelopeClient("{\"code\":0,\"data\":\"ok\"}").get());
+
+        //状态检查不能被压缩绕过
+        NamiException ex = assertThrows(NamiException.class, () -> envelopeClient("{\"code\":500,\"msg\":\"busy\"}").get());
+        assertEquals("Envelope status 500: busy", ex.getMessage());
+    }
+
+    @Test
+    public void prepareDropsContentEncoding() {
+        byte[] bytes = new ZstdEncoder(textEncoder).encode("abc");
+        Result rst = new ZstdDecoder(textDecoder).prepare(result(bytes));
+
+        assertFalse(rst.isEncoded());
+        assertEquals("abc", rst.bodyAsString());
+    }
+}
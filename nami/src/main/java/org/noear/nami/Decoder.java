@@ -20,4 +20,11 @@ public interface Decoder extends Filter {
      * 反序列化
      * */
     <T> T decode(Result rst, Type clz);
+
+    /**
+     * 预处理返回（如解压；信封、延迟解码等要直接扫描返回体的处理之前调用；默认原样返回）
+     * */
+    default Result prepare(Result rst) {
+        return rst;
+    }
 }
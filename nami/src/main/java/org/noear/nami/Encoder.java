@@ -16,4 +16,11 @@ public interface Encoder {
      * 序列化
      * */
     byte[] encode(Object obj);
+
+    /**
+     * 内容编码（如：zstd；输出未压缩时为 null。通道在使用编码输出时，据此添加 Content-Encoding）
+     * */
+    default String encoding() {
+        return null;
+    }
 }
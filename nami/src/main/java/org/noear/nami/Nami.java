@@ -1,15 +1,23 @@
 package org.noear.nami;
 
 import org.noear.nami.annotation.NamiClient;
+import org.noear.nami.annotation.OneWay;
 import org.noear.nami.common.Constants;
+import org.noear.nami.common.DownloadUtils;
+import org.noear.nami.common.EnvelopeUtils;
+import org.noear.nami.common.LazyJsonView;
+import org.noear.nami.common.MethodWrap;
+import org.noear.nami.common.PrimitiveArrays;
 import org.noear.nami.common.Result;
 import org.noear.solon.core.util.PrintUtil;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
 /**
@@ -126,44 +134,127 @@ public class Nami {
                 args = new HashMap<>();
             }
 
-            for (Filter filter : _config.getFilters()) {
-                filter.filter(_config, _action, _url, headers, args);
+            NamiChannel channel = prepare(headers, args);
+
+            if (body == null) {
+                body = args;
             }
 
-            NamiChannel channel = _config.getChannel();
+            _result = channel.call(_config, _method, _action, _url, headers, args, body);
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new RuntimeException(ex);
+        }
 
-            if (channel == null) {
-                //通过 scheme 获取通道
-                int idx = _url.indexOf("://");
-                if (idx > 0) {
-                    String scheme = _url.substring(0, idx);
-                    channel = NamiManager.getChannel(scheme);
-                }
+        return this;
+    }
+
+    /**
+     * 执行异步呼叫（完成后可 getObject）
+     */
+    public CompletableFuture<Nami> callAsync(Map<String, String> headers, Map args, Object body) {
+        try {
+            if (headers == null) {
+                headers = new HashMap<>();
             }
 
-            if (channel == null) {
-                throw new NamiException("There are no channels available");
+            if (args == null) {
+                args = new HashMap<>();
             }
 
-            //执行通道过滤器
-            channel.filter(_config, _action, _url, headers, args);
+            NamiChannel channel = prepare(headers, args);
 
             if (body == null) {
                 body = args;
             }
 
+            CompletableFuture<Result> future = channel.callAsync(_config, _method, _action, _url, headers, args, body);
+
+            return future.thenApply(result -> {
+                _result = result;
+                return this;
+            });
+        } catch (Throwable ex) {
+            CompletableFuture<Nami> future = new CompletableFuture<>();
+            future.completeExceptionally(ex);
+            return future;
+        }
+    }
+
+    /**
+     * 执行单向发送（不等待响应；本地缓冲满时按策略丢弃或阻塞）
+     */
+    public void send(Map<String, String> headers, Map args, Object body, OneWay.Policy policy) {
+        if (headers == null) {
+            headers = new HashMap<>();
+        }
+
+        if (args == null) {
+            args = new HashMap<>();
+        }
+
+        NamiChannel channel = prepare(headers, args);
+
+        if (body == null) {
+            body = args;
+        }
+
+        if (OneWayDispatcher.instance.acquire(policy, _config.getTimeout()) == false) {
             if (_config.getDebug()) {
-                System.out.println("[Nami] call: " + _url);
+                System.out.println("[Nami] send dropped: " + _url);
             }
+            return;
+        }
 
-            _result = channel.call(_config, _method, _action, _url, headers, args, body);
-        } catch (RuntimeException ex) {
-            throw ex;
+        CompletableFuture<Void> future;
+        try {
+            future = channel.send(_config, _method, _action, _url, headers, args, body);
         } catch (Throwable ex) {
-            throw new RuntimeException(ex);
+            OneWayDispatcher.instance.release();
+            throw ex;
         }
 
-        return this;
+        future.whenComplete((v, err) -> {
+            OneWayDispatcher.instance.release();
+
+            if (err != null && _config.getDebug()) {
+                System.out.println("[Nami] send failed: " + _url + ", " + err);
+            }
+        });
+    }
+
+    /**
+     * 执行过滤器并确定通道
+     */
+    private NamiChannel prepare(Map<String, String> headers, Map args) {
+        for (Filter filter : _config.getFilters()) {
+            filter.filter(_config, _action, _url, headers, args);
+        }
+
+        NamiChannel channel = _config.getChannel();
+
+        if (channel == null) {
+            //通过 scheme 获取通道
+            int idx = _url.indexOf("://");
+            if (idx > 0) {
+                String scheme = _url.substring(0, idx);
+                channel = NamiManager.getChannel(scheme);
+            }
+        }
+
+        if (channel == null) {
+            throw new NamiException("There are no channels available");
+        }
+
+        //执行通道过滤器
+        channel.filter(_config, _action, _url, headers, args);
+
+        if (_config.getDebug()) {
+            System.out.println("[Nami] call: " + _url);
+        }
+
+        return channel;
     }
 
     private Result _result;
@@ -192,7 +283,11 @@ public class Nami {
         }
 
         if (Void.TYPE.equals(returnType)) {
+            //释放未读取的返回体（流式的通道需要）
+            _result.close();
             return null;
+        } else if (DownloadUtils.isDownload(returnType)) {
+            return (T) DownloadUtils.toReturn(_result, returnType);
         } else {
             Decoder decoder = _config.getDecoder();
 
@@ -200,8 +295,65 @@ public class Nami {
                 decoder = NamiManager.getDecoder(Constants.CONTENT_TYPE_JSON);
             }
 
-            return decoder.decode(_result, returnType);
+            if (decoder instanceof NamiNegotiator) {
+                //协商解码（按返回的 Content-Type 选择解码器）
+                decoder = ((NamiNegotiator) decoder).select(_url, _result);
+            }
+
+            //先解开内容编码（如 zstd），信封与延迟解码才能扫描返回体
+            Result rst = decoder.prepare(_result);
+            MethodWrap mw = (_method == null ? null : MethodWrap.get(_method));
+
+            if (mw != null && mw.getEnvelopeAnno() != null) {
+                //响应信封（检查状态，只解码数据节点）
+                if (decoder.enctype().startsWith(Constants.CONTENT_TYPE_JSON) == false) {
+                    throw new NamiException("@Envelope requires a json decoder: " + decoder.enctype());
+                }
+
+                rst = EnvelopeUtils.unwrap(rst, mw.getEnvelopeAnno());
+            }
+
+            if (mw != null && mw.isLazyDecode()) {
+                //延迟解码（返回接口视图；不能处理时再交给解码器）
+                Object val = lazyDecode(rst, decoder, returnType);
+                if (val != null) {
+                    return (T) val;
+                }
+            }
+
+            if (_config.isPrimitiveArrays() && PrimitiveArrays.isSupported(returnType)) {
+                //基础类型数组的快速路径（可选；不装箱；不能处理时再交给解码器）
+                Object val = PrimitiveArrays.tryDecode(rst, returnType, decoder);
+                if (val != null) {
+                    return (T) val;
+                }
+            }
+
+            return decoder.decode(rst, returnType);
+        }
+    }
+
+
+    private Object lazyDecode(Result rst, Decoder decoder, Type returnType) {
+        if (rst.code() >= 400 || decoder.enctype().startsWith(Constants.CONTENT_TYPE_JSON) == false) {
+            return null;
+        }
+
+        if (rst.isEncoded()) {
+            //没能解开的内容编码，交给解码器
+            return null;
+        }
+
+        if (rst.charset() != null && StandardCharsets.UTF_8.equals(rst.charset()) == false) {
+            return null;
+        }
+
+        byte[] bytes = rst.body();
+        if (bytes == null) {
+            return null;
         }
+
+        return LazyJsonView.tryCreate((Class<?>) returnType, bytes, decoder);
     }
 
 
@@ -280,6 +432,22 @@ public class Nami {
             return this;
         }
 
+        /**
+         * 使用位置参数（用于二进制编码器；服务端需支持 PositionalArgs）
+         */
+        public Builder positionalArgs(boolean positionalArgs) {
+            _config.setPositionalArgs(positionalArgs);
+            return this;
+        }
+
+        /**
+         * 启用基础类型数组的快速解码（List 返回的是只读视图）
+         */
+        public Builder primitiveArrays(boolean primitiveArrays) {
+            _config.setPrimitiveArrays(primitiveArrays);
+            return this;
+        }
+
 
         /**
          * 设置服务端
@@ -4,6 +4,8 @@ import org.noear.nami.common.Result;
 
 import java.lang.reflect.Method;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Nami 执行通道
@@ -16,4 +18,36 @@ public interface NamiChannel extends Filter{
      * 设用
      * */
     Result call(NamiConfig cfg, Method method, String action, String url, Map<String, String> headers, Map<String, Object> args, Object body) throws Throwable;
+
+    /**
+     * 异步调用（默认在当前线程同步执行；支持异步的通道可重写）
+     * */
+    default CompletableFuture<Result> callAsync(NamiConfig cfg, Method method, String action, String url, Map<String, String> headers, Map<String, Object> args, Object body) {
+        CompletableFuture<Result> future = new CompletableFuture<>();
+
+        try {
+            future.complete(call(cfg, method, action, url, headers, args, body));
+        } catch (Throwable ex) {
+            future.completeExceptionally(ex);
+        }
+
+        return future;
+    }
+
+    /**
+     * 单向发送（不等待响应；默认在后台线程调用并丢弃结果；有原生异步或单向消息的通道可重写）
+     * */
+    default CompletableFuture<Void> send(NamiConfig cfg, Method method, String action, String url, Map<String, String> headers, Map<String, Object> args, Object body) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                Result result = call(cfg, method, action, url, headers, args, body);
+
+                if (result != null) {
+                    result.close();
+                }
+            } catch (Throwable ex) {
+                throw new CompletionException(ex);
+            }
+        }, OneWayDispatcher.instance.executor());
+    }
 }
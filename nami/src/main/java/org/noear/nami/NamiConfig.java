@@ -47,6 +47,10 @@ public class NamiConfig {
     private boolean debug;
     //请求超时设置
     private int timeout;
+    //位置参数（用于二进制编码器）
+    private boolean positionalArgs;
+    //基础类型数组的快速解码
+    private boolean primitiveArrays;
     //编码器
     private Encoder encoder;
     //解码器
@@ -83,6 +87,28 @@ public class NamiConfig {
         this.timeout = timeout;
     }
 
+    /**
+     * 是否使用位置参数（没有 @Body 且为二进制编码器时，以 PositionalArgs 为 body，不传参数名；json 等文本编码器不受影响）
+     * */
+    public boolean isPositionalArgs() {
+        return positionalArgs;
+    }
+
+    public void setPositionalArgs(boolean positionalArgs) {
+        this.positionalArgs = positionalArgs;
+    }
+
+    /**
+     * 是否启用基础类型数组的快速解码（见 PrimitiveArrays；List 返回的是只读视图，且会请求服务端用二进制数组返回）
+     * */
+    public boolean isPrimitiveArrays() {
+        return primitiveArrays;
+    }
+
+    public void setPrimitiveArrays(boolean primitiveArrays) {
+        this.primitiveArrays = primitiveArrays;
+    }
+
     /**
      * 获取编码器（可以为Null）
      * */
@@ -0,0 +1,104 @@
+package org.noear.nami;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Nami - 函数级配置（编码器、解码器可单独指定；其它的委托给客户端配置）
+ *
+ * @author noear
+ * @since 1.3
+ * */
+class NamiConfigMethod extends NamiConfig {
+    private final NamiConfig parent;
+    private final Encoder encoder;
+    private final Decoder decoder;
+
+    NamiConfigMethod(NamiConfig parent, Encoder encoder, Decoder decoder) {
+        this.parent = parent;
+        this.encoder = encoder;
+        this.decoder = decoder;
+    }
+
+    @Override
+    protected NamiConfig init() {
+        //客户端配置已初始化
+        return this;
+    }
+
+    @Override
+    public Encoder getEncoder() {
+        return encoder == null ? parent.getEncoder() : encoder;
+    }
+
+    @Override
+    public Decoder getDecoder() {
+        return decoder == null ? parent.getDecoder() : decoder;
+    }
+
+    @Override
+    public boolean getDebug() {
+        return parent.getDebug();
+    }
+
+    @Override
+    public int getTimeout() {
+        return parent.getTimeout();
+    }
+
+    @Override
+    public boolean isPositionalArgs() {
+        return parent.isPositionalArgs();
+    }
+
+    @Override
+    public boolean isPrimitiveArrays() {
+        return parent.isPrimitiveArrays();
+    }
+
+    @Override
+    public NamiChannel getChannel() {
+        return parent.getChannel();
+    }
+
+    @Override
+    public Supplier<String> getUpstream() {
+        return parent.getUpstream();
+    }
+
+    @Override
+    public String getUrl() {
+        return parent.getUrl();
+    }
+
+    @Override
+    public String getName() {
+        return parent.getName();
+    }
+
+    @Override
+    public String getPath() {
+        return parent.getPath();
+    }
+
+    @Override
+    public String getGroup() {
+        return parent.getGroup();
+    }
+
+    @Override
+    public String getHeader(String name) {
+        return parent.getHeader(name);
+    }
+
+    @Override
+    public Map<String, String> getHeaders() {
+        return parent.getHeaders();
+    }
+
+    @Override
+    public Set<Filter> getFilters() {
+        return parent.getFilters();
+    }
+}
@@ -4,15 +4,22 @@ import org.noear.nami.annotation.Mapping;
 import org.noear.nami.annotation.NamiClient;
 import org.noear.nami.common.Constants;
 import org.noear.nami.common.MethodWrap;
+import org.noear.nami.common.PositionalArgs;
 import org.noear.nami.common.TextUtils;
+import org.noear.nami.common.UploadUtils;
+import org.noear.nami.common.UpstreamConsistentHash;
 import org.noear.nami.common.UpstreamFixed;
 
 import java.lang.invoke.MethodHandles;
 import java.lang.reflect.*;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -25,12 +32,16 @@ import java.util.regex.Pattern;
  * */
 public class NamiHandler implements InvocationHandler {
     private static Pattern pathKeyExpr = Pattern.compile("\\{([^\\\\}]+)\\}");
+    private static final Set<String> BINARY_ENCTYPES = new HashSet<>(Arrays.asList(
+            Constants.CONTENT_TYPE_HESSIAN, Constants.CONTENT_TYPE_PROTOBUF, Constants.CONTENT_TYPE_KRYO,
+            Constants.CONTENT_TYPE_MSGPACK, Constants.CONTENT_TYPE_CBOR, Constants.CONTENT_TYPE_JSONB));
 
     private final NamiConfig config;
 
     private final Map<String, String> headers0 = new LinkedHashMap<>();
     private final Class<?> clz0;
     private final Map<String, Map> pathKeysCached = new ConcurrentHashMap<>();
+    private final Map<Method, NamiConfig> methodConfigs = new HashMap<>();
 
     /**
      * @param config 配置
@@ -91,12 +102,59 @@ public class NamiHandler implements InvocationHandler {
 
             //>>添加upstream
             if (client.upstream().length > 0) {
-                config.setUpstream(new UpstreamFixed(Arrays.asList(client.upstream())));
+                if (hasRouteKey(clz)) {
+                    //有路由键时，用一致性哈希
+                    config.setUpstream(new UpstreamConsistentHash(Arrays.asList(client.upstream())));
+                } else {
+                    config.setUpstream(new UpstreamFixed(Arrays.asList(client.upstream())));
+                }
             }
         }
 
         //2.配置初始化
         config.init();
+
+        //3.函数级的编码器、解码器（创建时确定）
+        for (Method m : clz.getMethods()) {
+            Mapping mapping = m.getAnnotation(Mapping.class);
+
+            if (mapping != null && (mapping.encoder().length() > 0 || mapping.decoder().length() > 0)) {
+                methodConfigs.put(m, buildMethodConfig(m, mapping));
+            }
+        }
+    }
+
+    private static boolean hasRouteKey(Class<?> clz) {
+        for (Method m : clz.getMethods()) {
+            if (MethodWrap.get(m).getRouteKeyIndex() >= 0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private NamiConfig buildMethodConfig(Method method, Mapping mapping) {
+        Encoder encoder = null;
+        Decoder decoder = null;
+
+        if (mapping.encoder().length() > 0) {
+            encoder = NamiManager.getEncoder(mapping.encoder());
+
+            if (encoder == null) {
+                throw new NamiException("NamiClient: Not found encoder: " + mapping.encoder() + ", " + method);
+            }
+        }
+
+        if (mapping.decoder().length() > 0) {
+            decoder = NamiManager.getDecoder(mapping.decoder());
+
+            if (decoder == null) {
+                throw new NamiException("NamiClient: Not found decoder: " + mapping.decoder() + ", " + method);
+            }
+        }
+
+        return new NamiConfigMethod(config, encoder, decoder);
     }
 
 
@@ -117,6 +175,7 @@ public class NamiHandler implements InvocationHandler {
 
 
         MethodWrap methodWrap = MethodWrap.get(method);
+        NamiConfig methodConfig = methodConfigs.getOrDefault(method, config);
 
         //Object 函数调用
         Class caller = method.getDeclaringClass();
@@ -147,11 +206,21 @@ public class NamiHandler implements InvocationHandler {
         if (methodWrap.getBodyName() != null) {
             body = args.get(methodWrap.getBodyName());
 
-            if (config.getEncoder() == null) {
-                headers.putIfAbsent(Constants.HEADER_CONTENT_TYPE, methodWrap.getBodyAnno().contentType());
+            if (methodConfig.getEncoder() == null) {
+                String ct = methodWrap.getBodyAnno().contentType();
+
+                //上传流不使用默认的 json 类型
+                if (UploadUtils.isUpload(body) == false || Constants.CONTENT_TYPE_JSON.equals(ct) == false) {
+                    headers.putIfAbsent(Constants.HEADER_CONTENT_TYPE, ct);
+                }
             }
         }
 
+        //基础类型数组返回时（可选），告知服务端可以用小端二进制数组返回
+        if (methodWrap.isPrimitiveArray() && config.isPrimitiveArrays()) {
+            headers.put(Constants.HEADER_ACCEPT_ARRAY, Constants.CONTENT_TYPE_ARRAY_LE);
+        }
+
         //构建 fun
         String fun = method.getName();
         String act = null;
@@ -181,7 +250,12 @@ public class NamiHandler implements InvocationHandler {
         //构建 url
         String url = null;
         if (TextUtils.isEmpty(config.getUrl())) {
-            url = config.getUpstream().get();
+            if (config.getUpstream() instanceof NamiRouter) {
+                //路由（按调用选择服务端）
+                url = ((NamiRouter) config.getUpstream()).get(method, vals);
+            } else {
+                url = config.getUpstream().get();
+            }
 
             if (url == null) {
                 throw new NamiException("NamiClient: Upstream not found server!");
@@ -224,20 +298,59 @@ public class NamiHandler implements InvocationHandler {
             }
         }
 
+        //位置参数（可选；二进制编码器才用，按顺序传参数值，不传参数名；已用作路径变量的参数不再传）
+        if (body == null && args.size() > 0 && config.isPositionalArgs() && isBinary(methodConfig.getEncoder())) {
+            body = new PositionalArgs(methodWrap.getSignHash(), positionalVals(names, vals, args));
+        }
+
         //确定返回类型
-        Type type = method.getGenericReturnType();
+        Type type = methodWrap.getReturnType();
         if (type == null) {
             type = method.getReturnType();
         }
 
-
-        //执行调用
-        return new Nami(config)
+        Nami nami = new Nami(methodConfig)
                 .method(method)
                 .action(act)
-                .url(url, fun)
-                .call(headers, args, body)
-                .getObject(type);
+                .url(url, fun);
+
+        //执行调用
+        if (methodWrap.getOneWayAnno() != null) {
+            nami.send(headers, args, body, methodWrap.getOneWayAnno().policy());
+            return null;
+        } else if (methodWrap.isAsync()) {
+            Type type0 = type;
+            return nami.callAsync(headers, args, body)
+                    .thenApply(n -> n.getObject(type0));
+        } else {
+            return nami.call(headers, args, body)
+                    .getObject(type);
+        }
+    }
+
+    /**
+     * 是否为二进制编码器（json 等文本编码器仍用参数名）
+     */
+    private static boolean isBinary(Encoder encoder) {
+        return encoder != null && BINARY_ENCTYPES.contains(encoder.enctype());
+    }
+
+    /**
+     * 位置参数值（按声明顺序；跳过已用作路径变量的参数，null 值保留位置）
+     */
+    private static Object[] positionalVals(Parameter[] names, Object[] vals, Map<String, Object> args) {
+        if (args.size() == names.length) {
+            return vals;
+        }
+
+        List<Object> list = new ArrayList<>(names.length);
+        for (int i = 0; i < names.length; i++) {
+            if (vals[i] == null || args.containsKey(names[i].getName())) {
+                list.add(vals[i]);
+            }
+        }
+
+        return list.toArray();
     }
 
     private Map<String, String> buildPathKeys(String path) {
@@ -1,6 +1,9 @@
 package org.noear.nami;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -10,7 +13,7 @@ import java.util.Map;
  * @since 1.2
  */
 public class NamiManager {
-    static final Map<String, Decoder> decoderMap = new HashMap<>();
+    static final Map<String, Decoder> decoderMap = new LinkedHashMap<>();
     static final Map<String, Encoder> encoderMap = new HashMap<>();
     static final Map<String, NamiChannel> channelMap = new HashMap<>();
     static final Map<Class<?>, NamiConfiguration> configuratorMap = new HashMap<>();
@@ -59,6 +62,13 @@ public class NamiManager {
         return decoderMap.get(enctype);
     }
 
+    /**
+     * 获取所有解码器（按登记顺序）
+     */
+    public static Collection<Decoder> getDecoders() {
+        return Collections.unmodifiableCollection(decoderMap.values());
+    }
+
     public static Encoder getEncoder(String enctype) {
         return encoderMap.get(enctype);
     }
@@ -0,0 +1,179 @@
+package org.noear.nami;
+
+import org.noear.nami.common.Constants;
+import org.noear.nami.common.Result;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Nami - 协商解码器（按偏好顺序告知服务端所有可用的解码格式；按返回的 Content-Type 选择解码器，并按服务端缓存）
+ *
+ * 1.未协商过的服务端：Accept 为所有解码器（带 q 值），由服务端选择
+ * 2.协商过的服务端：直接使用缓存的解码器（过期后重新协商，以便服务端升级后切换到更快的格式）
+ *
+ * @author noear
+ * @since 1.3
+ * */
+public class NamiNegotiator implements Decoder {
+    /**
+     * 按 NamiManager 的登记顺序为偏好
+     */
+    public static final NamiNegotiator instance = new NamiNegotiator();
+
+    private final List<String> preferred;
+    private final long ttl;
+    private final Map<String, Negotiated> negotiated = new ConcurrentHashMap<>();
+
+    public NamiNegotiator() {
+        this(Long.getLong("nami.negotiate.ttl", 5 * 60 * 1000L));
+    }
+
+    /**
+     * @param ttl       协商结果的缓存时间（单位：毫秒）
+     * @param preferred 偏好的格式（为空时，按 NamiManager 的登记顺序）
+     */
+    public NamiNegotiator(long ttl, String... preferred) {
+        this.ttl = ttl;
+        this.preferred = (preferred.length == 0 ? null : Arrays.asList(preferred));
+    }
+
+    @Override
+    public String enctype() {
+        return Constants.CONTENT_TYPE_NEGOTIATE;
+    }
+
+    @Override
+    public void filter(NamiConfig cfg, String method, String url, Map<String, String> headers, Map<String, Object> args) {
+        Decoder decoder = negotiated(url);
+
+        if (decoder != null) {
+            decoder.filter(cfg, method, url, headers, args);
+        } else {
+            headers.put(Constants.HEADER_ACCEPT, buildAccept());
+        }
+    }
+
+    @Override
+    public <T> T decode(Result rst, Type type) {
+        return select(null, rst).decode(rst, type);
+    }
+
+    /**
+     * 按返回的 Content-Type 选择解码器（并缓存到服务端）
+     *
+     * @param url 请求地址（为 null 时不缓存）
+     */
+    public Decoder select(String url, Result rst) {
+        String ct = rst.headerGet(Constants.HEADER_CONTENT_TYPE);
+        Decoder decoder = null;
+
+        if (ct != null) {
+            int idx = ct.indexOf(';');
+            if (idx > 0) {
+                ct = ct.substring(0, idx);
+            }
+
+            decoder = NamiManager.getDecoder(ct.trim());
+        }
+
+        if (decoder == null || decoder instanceof NamiNegotiator) {
+            //不认识的格式，用协商过的或默认的（json）
+            decoder = negotiated(url);
+
+            if (decoder == null) {
+                decoder = NamiManager.getDecoder(Constants.CONTENT_TYPE_JSON);
+            }
+
+            if (decoder == null) {
+                throw new NamiException("NamiNegotiator: Not found decoder: " + ct);
+            }
+
+            return decoder;
+        }
+
+        if (url != null && rst.code() < 400) {
+            negotiated.put(serverOf(url), new Negotiated(decoder, System.currentTimeMillis() + ttl));
+        }
+
+        return decoder;
+    }
+
+    /**
+     * 获取协商过的解码器（没有或过期时为 null）
+     */
+    public Decoder negotiated(String url) {
+        if (url == null) {
+            return null;
+        }
+
+        Negotiated tmp = negotiated.get(serverOf(url));
+
+        if (tmp == null || tmp.expireAt < System.currentTimeMillis()) {
+            return null;
+        } else {
+            return tmp.decoder;
+        }
+    }
+
+    /**
+     * 构建 Accept（例：application/kryo, application/hessian;q=0.9, application/json;q=0.8）
+     */
+    private String buildAccept() {
+        List<String> list = new ArrayList<>();
+
+        if (preferred == null) {
+            for (Decoder d : NamiManager.getDecoders()) {
+                if (d instanceof NamiNegotiator == false) {
+                    list.add(d.enctype());
+                }
+            }
+        } else {
+            for (String enctype : preferred) {
+                if (NamiManager.getDecoder(enctype) != null) {
+                    list.add(enctype);
+                }
+            }
+        }
+
+        StringBuilder buf = new StringBuilder();
+        for (int i = 0, len = list.size(); i < len; i++) {
+            if (i > 0) {
+                buf.append(", ");
+            }
+
+            buf.append(list.get(i));
+
+            if (i > 0) {
+                int q = Math.max(1, 10 - i);
+                buf.append(";q=0.").append(q);
+            }
+        }
+
+        return buf.toString();
+    }
+
+    /**
+     * 服务端（scheme://host:port）
+     */
+    private static String serverOf(String url) {
+        int idx = url.indexOf("://");
+        idx = url.indexOf('/', idx < 0 ? 0 : idx + 3);
+
+        return idx < 0 ? url : url.substring(0, idx);
+    }
+
+    private static class Negotiated {
+        final Decoder decoder;
+        final long expireAt;
+
+        Negotiated(Decoder decoder, long expireAt) {
+            this.decoder = decoder;
+            this.expireAt = expireAt;
+        }
+    }
+}
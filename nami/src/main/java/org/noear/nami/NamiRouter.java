@@ -0,0 +1,28 @@
+package org.noear.nami;
+
+import java.lang.reflect.Method;
+import java.util.function.Supplier;
+
+/**
+ * Nami - 路由（带调用上下文的上游；可直接作为 upstream 使用）
+ *
+ * @author noear
+ * @since 1.3
+ * */
+public interface NamiRouter extends Supplier<String> {
+    /**
+     * 按调用选择服务端
+     *
+     * @param method 函数
+     * @param args   参数值（可能为 null）
+     */
+    String get(Method method, Object[] args);
+
+    /**
+     * 没有调用上下文时
+     */
+    @Override
+    default String get() {
+        return get(null, null);
+    }
+}
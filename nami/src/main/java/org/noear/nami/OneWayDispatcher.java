@@ -0,0 +1,108 @@
+package org.noear.nami;
+
+import org.noear.nami.annotation.OneWay;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 单向调用调度器（限制未完成的单向调用数；满了按策略丢弃或阻塞）
+ *
+ * @author noear
+ * @since 1.3
+ */
+public class OneWayDispatcher {
+    public static final OneWayDispatcher instance = new OneWayDispatcher(Integer.getInteger("nami.oneway.maxPending", 1024));
+
+    private final int maxPending;
+    private final Semaphore permits;
+    private final AtomicLong dropped = new AtomicLong();
+    private final ThreadPoolExecutor executor;
+
+    public OneWayDispatcher(int maxPending) {
+        this(maxPending, Integer.getInteger("nami.oneway.threads", Math.max(2, Runtime.getRuntime().availableProcessors())));
+    }
+
+    /**
+     * @param maxPending 最大未完成数
+     * @param threads    后台线程数（队列容量与最大未完成数一致，不会无限创建线程）
+     */
+    public OneWayDispatcher(int maxPending, int threads) {
+        this.maxPending = Math.max(1, maxPending);
+        this.permits = new Semaphore(this.maxPending);
+
+        int threads0 = Math.max(1, threads);
+        this.executor = new ThreadPoolExecutor(threads0, threads0, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(this.maxPending), r -> {
+            Thread t = new Thread(r, "nami-oneway");
+            t.setDaemon(true);
+            return t;
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 最大未完成数
+     */
+    public int maxPending() {
+        return maxPending;
+    }
+
+    /**
+     * 可用的许可数（为 maxPending 时，没有未完成的单向调用）
+     */
+    public int available() {
+        return permits.availablePermits();
+    }
+
+    /**
+     * 已丢弃的数量
+     */
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * 后台执行器（通道没有原生的单向发送时使用；有界，满时拒绝）
+     */
+    public Executor executor() {
+        return executor;
+    }
+
+    /**
+     * 获取发送许可
+     *
+     * @param timeout 超时（单位：秒；BLOCK 策略时有效，0 为一直等）
+     * @return 是否获得（否，则丢弃）
+     */
+    public boolean acquire(OneWay.Policy policy, int timeout) {
+        if (policy == OneWay.Policy.BLOCK) {
+            try {
+                if (timeout > 0) {
+                    if (permits.tryAcquire(timeout, TimeUnit.SECONDS)) {
+                        return true;
+                    }
+                } else {
+                    permits.acquire();
+                    return true;
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        } else {
+            if (permits.tryAcquire()) {
+                return true;
+            }
+        }
+
+        dropped.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * 释放发送许可
+     */
+    public void release() {
+        permits.release();
+    }
+}
@@ -0,0 +1,36 @@
+package org.noear.nami.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 响应信封（如：{"code":0,"msg":"","data":{...}}；只解码 data 节点，并检查状态字段；仅用于 json 解码器）
+ *
+ * 可用于接口（对所有函数有效）或函数（优先）
+ *
+ * @author noear
+ * @since 1.3
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Envelope {
+    /**
+     * 数据路径（例：data 或 data.user；也支持 json pointer，如：/data/user）
+     */
+    String value() default "data";
+
+    /**
+     * 状态字段（为空时不检查；配置了而返回里没有时，作为失败）
+     */
+    String code() default "code";
+
+    /**
+     * 成功的状态值
+     */
+    String[] success() default {"0", "200"};
+
+    /**
+     * 消息字段（状态不成功时，作为异常信息）
+     */
+    String msg() default "msg";
+}
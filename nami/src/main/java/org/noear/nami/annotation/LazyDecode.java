@@ -0,0 +1,15 @@
+package org.noear.nami.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 延迟解码（返回基于响应字节的接口视图，字段在访问时才解析；仅用于返回接口的函数，且为 json 解码器）
+ *
+ * @author noear
+ * @since 1.3
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface LazyDecode {
+}
@@ -24,4 +24,18 @@ public @interface Mapping {
      * 例：{"xxx=xxx","yyy=yyy"}
      * */
     String[] headers() default {};
+
+    /**
+     * 编码器（按 enctype 从 NamiManager 获取，优先于客户端的配置）
+     *
+     * 例：application/hessian
+     * */
+    String encoder() default "";
+
+    /**
+     * 解码器（按 enctype 从 NamiManager 获取，优先于客户端的配置）
+     *
+     * 例：application/hessian
+     * */
+    String decoder() default "";
 }
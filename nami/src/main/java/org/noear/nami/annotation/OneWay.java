@@ -0,0 +1,30 @@
+package org.noear.nami.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 单向调用（只发送，不等待响应；仅用于 void 函数）
+ *
+ * @author noear
+ * @since 1.3
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface OneWay {
+    /**
+     * 本地缓冲满时的策略
+     */
+    Policy policy() default Policy.DROP;
+
+    enum Policy {
+        /**
+         * 丢弃
+         */
+        DROP,
+        /**
+         * 阻塞调用方，直到有空位（有超时配置时，最多等待超时）
+         */
+        BLOCK
+    }
+}
@@ -0,0 +1,17 @@
+package org.noear.nami.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 路由键（一致性哈希路由时，相同的键总是调用同一个服务端）
+ *
+ * 支持字符串、数字、枚举等自带 toString 的类型，及其数组
+ *
+ * @author noear
+ * @since 1.3
+ */
+@Target({ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RouteKey {
+}
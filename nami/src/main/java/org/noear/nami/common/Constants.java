@@ -10,10 +10,24 @@ public class Constants {
     public static final String CONTENT_TYPE_JSON = "application/json";
     public static final String CONTENT_TYPE_JSON_TYPE = "application/json-type";
     public static final String CONTENT_TYPE_FORM_URLENCODED = "application/x-www-form-urlencoded";
+    public static final String CONTENT_TYPE_MULTIPART = "multipart/form-data";
+    public static final String CONTENT_TYPE_OCTET_STREAM = "application/octet-stream";
+    public static final String CONTENT_TYPE_JSONB = "application/jsonb";
+    public static final String CONTENT_TYPE_KRYO = "application/kryo";
+    public static final String CONTENT_TYPE_MSGPACK = "application/msgpack";
+    public static final String CONTENT_TYPE_CBOR = "application/cbor";
+    public static final String CONTENT_TYPE_ARRAY_LE = "application/x-array-le";
+    public static final String CONTENT_TYPE_COLUMNAR = "application/x-columnar";
+    public static final String CONTENT_TYPE_NEGOTIATE = "application/x-negotiate";
 
     public static final String AT_TYPE_JSON = "@type_json";
     public static final String AT_PROTOBUF = "@protobuf";
     public static final String AT_HESSION = "@hession";
+    public static final String AT_JSONB = "@jsonb";
+    public static final String AT_KRYO = "@kryo";
+    public static final String AT_MSGPACK = "@msgpack";
+    public static final String AT_CBOR = "@cbor";
+    public static final String AT_COLUMNAR = "@columnar";
 
     public static final String METHOD_GET = "GET";
     public static final String METHOD_POST = "POST";
@@ -21,4 +35,7 @@ public class Constants {
     public static final String HEADER_SERIALIZATION = "X-Serialization";
     public static final String HEADER_CONTENT_TYPE = "Content-Type";
     public static final String HEADER_ACCEPT = "Accept";
+    public static final String HEADER_CONTENT_ENCODING = "Content-Encoding";
+    public static final String HEADER_ACCEPT_ENCODING = "Accept-Encoding";
+    public static final String HEADER_ACCEPT_ARRAY = "X-Accept-Array";
 }
@@ -0,0 +1,67 @@
+package org.noear.nami.common;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * 下载工具（InputStream, ReadableByteChannel, Path 返回类型不走解码器，直接交出响应流）
+ *
+ * @author noear
+ * @since 1.3
+ */
+public class DownloadUtils {
+    /**
+     * 是否为下载类型
+     */
+    public static boolean isDownload(Type type) {
+        return type == InputStream.class || type == ReadableByteChannel.class || type == Path.class;
+    }
+
+    /**
+     * 转为下载返回
+     */
+    public static Object toReturn(Result result, Type type) {
+        InputStream stream = result.bodyAsStream();
+
+        if (stream == null || type == InputStream.class) {
+            return stream;
+        }
+
+        if (type == ReadableByteChannel.class) {
+            return Channels.newChannel(stream);
+        }
+
+        //Path：直接转存到临时文件
+        Path file = null;
+        try (InputStream in = stream) {
+            file = Files.createTempFile("nami-", ".download");
+            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+            return file;
+        } catch (IOException | RuntimeException ex) {
+            //失败时删除临时文件
+            deleteQuietly(file);
+
+            if (ex instanceof RuntimeException) {
+                throw (RuntimeException) ex;
+            } else {
+                throw new RuntimeException(ex);
+            }
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ex) {
+                //不用处理
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package org.noear.nami.common;
+
+import org.noear.nami.NamiException;
+import org.noear.nami.annotation.Envelope;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 响应信封工具（一次扫描：检查状态字段，并截取数据节点；其它字段只跳过，不构建）
+ *
+ * @author noear
+ * @since 1.3
+ */
+public class EnvelopeUtils {
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * 拆开信封（返回只包含数据节点的结果；不是 json 对象时原样返回，由解码器处理）
+     */
+    public static Result unwrap(Result rst, Envelope anno) {
+        if (rst.code() >= 400) {
+            return rst;
+        }
+
+        if (rst.isEncoded()) {
+            //不能扫描压缩的返回体（解码器须在 prepare 里解开），不能跳过状态检查
+            throw new NamiException("@Envelope cannot read an encoded body: " + rst.headerGet(Constants.HEADER_CONTENT_ENCODING));
+        }
+
+        byte[] bytes = rst.body();
+        if (bytes == null) {
+            return rst;
+        }
+
+        if (rst.charset() != null && StandardCharsets.UTF_8.equals(rst.charset()) == false) {
+            bytes = new String(bytes, rst.charset()).getBytes(StandardCharsets.UTF_8);
+        }
+
+        String[] path = pathOf(anno.value());
+        String codeName = anno.code();
+        boolean checkCode = codeName.length() > 0;
+
+        int pos = JsonScanner.openObject(bytes, 0, bytes.length);
+        if (pos < 0) {
+            return rst;
+        }
+
+        //1.扫描第一层字段（找到状态与数据即停）
+        Map<String, int[]> index = new HashMap<>();
+        while (pos >= 0) {
+            if (index.containsKey(path[0]) && (checkCode == false || index.containsKey(codeName))) {
+                break;
+            }
+
+            pos = JsonScanner.nextField(bytes, pos, bytes.length, index);
+        }
+
+        //2.检查状态
+        int[] codeSpan = (checkCode ? index.get(codeName) : null);
+        if (codeSpan != null) {
+            String code = textOf(bytes, codeSpan);
+
+            if (Arrays.asList(anno.success()).contains(code) == false) {
+                //继续找消息字段
+                while (pos >= 0 && index.containsKey(anno.msg()) == false) {
+                    pos = JsonScanner.nextField(bytes, pos, bytes.length, index);
+                }
+
+                int[] msgSpan = index.get(anno.msg());
+                String msg = (msgSpan == null ? null : textOf(bytes, msgSpan));
+
+                throw new NamiException("Envelope status " + code + (msg == null ? "" : ": " + msg));
+            }
+        } else if (checkCode) {
+            if (index.containsKey("@type")) {
+                //没有状态字段，可能是序列化的异常（交给解码器）
+                return rst;
+            }
+
+            //配置了状态字段却没有，不能当作成功
+            throw new NamiException("Envelope status field not found: " + codeName);
+        }
+
+        //3.截取数据节点
+        int[] span = index.get(path[0]);
+        for (int i = 1; i < path.length && span != null; i++) {
+            span = JsonScanner.find(bytes, span[0], span[1], path[i]);
+        }
+
+        byte[] data = (span == null ? NULL : Arrays.copyOfRange(bytes, span[0], span[1]));
+
+        Result rst2 = new Result(rst.code(), data);
+        for (Map.Entry<String, String> kv : rst.headers()) {
+            rst2.headerAdd(kv.getKey(), kv.getValue());
+        }
+
+        return rst2;
+    }
+
+    /**
+     * 数据路径（支持 a.b 和 /a/b）
+     */
+    private static String[] pathOf(String path) {
+        if (path.startsWith("/")) {
+            String[] ss = path.substring(1).split("/");
+            for (int i = 0; i < ss.length; i++) {
+                ss[i] = ss[i].replace("~1", "/").replace("~0", "~");
+            }
+            return ss;
+        } else {
+            return path.split("\\.");
+        }
+    }
+
+    private static String textOf(byte[] bytes, int[] span) {
+        if (bytes[span[0]] == '"') {
+            return JsonScanner.parseString(bytes, span[0], span[1]);
+        } else {
+            return new String(bytes, span[0], span[1] - span[0], StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package org.noear.nami.common;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Json 扫描器（只定位值的区间，不构建树；值在需要时才解析）
+ *
+ * 区间为 int[]{start, end}，end 不包含
+ *
+ * @author noear
+ * @since 1.3
+ */
+public class JsonScanner {
+    /**
+     * 索引对象的第一层字段（不是对象时返回 null）
+     */
+    public static Map<String, int[]> indexObject(byte[] b, int start, int end) {
+        int pos = openObject(b, start, end);
+        if (pos < 0) {
+            return null;
+        }
+
+        Map<String, int[]> index = new HashMap<>();
+        while (pos >= 0) {
+            pos = nextField(b, pos, end, index);
+        }
+
+        return index;
+    }
+
+    /**
+     * 打开对象，返回第一个字段的位置（不是对象时返回 -1）
+     */
+    public static int openObject(byte[] b, int start, int end) {
+        int pos = skipWs(b, start, end);
+        if (pos >= end || b[pos] != '{') {
+            return -1;
+        }
+
+        return skipWs(b, pos + 1, end);
+    }
+
+    /**
+     * 读取下一个字段到索引里，返回下一个字段的位置（对象结束时返回负数）
+     */
+    public static int nextField(byte[] b, int pos, int end, Map<String, int[]> index) {
+        if (pos < end && b[pos] == '}') {
+            //空对象
+            return -1;
+        }
+
+        if (pos >= end || b[pos] != '"') {
+            throw error(b, pos);
+        }
+
+        int keyEnd = skipString(b, pos, end);
+        String key = parseString(b, pos, keyEnd);
+
+        pos = skipWs(b, keyEnd, end);
+        if (pos >= end || b[pos] != ':') {
+            throw error(b, pos);
+        }
+
+        int valStart = skipWs(b, pos + 1, end);
+        int valEnd = skipValue(b, valStart, end);
+        index.put(key, new int[]{valStart, valEnd});
+
+        pos = skipWs(b, valEnd, end);
+        if (pos < end && b[pos] == ',') {
+            return skipWs(b, pos + 1, end);
+        } else if (pos < end && b[pos] == '}') {
+            return -1;
+        } else {
+            throw error(b, pos);
+        }
+    }
+
+    /**
+     * 按路径查找值的区间（如：data.user；找不到时返回 null）
+     */
+    public static int[] find(byte[] b, int start, int end, String path) {
+        int[] span = {start, end};
+
+        for (String name : path.split("\\.")) {
+            int pos = openObject(b, span[0], span[1]);
+            if (pos < 0) {
+                return null;
+            }
+
+            //找到即停
+            Map<String, int[]> index = new HashMap<>();
+            int end2 = span[1];
+            span = null;
+            while (pos >= 0 && span == null) {
+                pos = nextField(b, pos, end2, index);
+                span = index.get(name);
+            }
+
+            if (span == null) {
+                return null;
+            }
+        }
+
+        return span;
+    }
+
+    /**
+     * 跳过一个值，返回值之后的位置
+     */
+    public static int skipValue(byte[] b, int pos, int end) {
+        if (pos >= end) {
+            throw error(b, pos);
+        }
+
+        byte c = b[pos];
+
+        if (c == '"') {
+            return skipString(b, pos, end);
+        }
+
+        if (c == '{' || c == '[') {
+            int depth = 0;
+            while (pos < end) {
+                c = b[pos];
+                if (c == '"') {
+                    pos = skipString(b, pos, end);
+                    continue;
+                }
+
+                if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    depth--;
+                    if (depth == 0) {
+                        return pos + 1;
+                    }
+                }
+                pos++;
+            }
+
+            throw error(b, pos);
+        }
+
+        //数字、true、false、null
+        while (pos < end) {
+            c = b[pos];
+            if (c == ',' || c == '}' || c == ']' || c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+                break;
+            }
+            pos++;
+        }
+
+        return pos;
+    }
+
+    /**
+     * 是否为 null 值
+     */
+    public static boolean isNull(byte[] b, int start, int end) {
+        return end - start == 4 && b[start] == 'n' && b[start + 1] == 'u' && b[start + 2] == 'l' && b[start + 3] == 'l';
+    }
+
+    /**
+     * 是否为简单类型（可用 parseScalar 解析）
+     */
+    public static boolean isScalarType(Class<?> type) {
+        return type == String.class || type.isPrimitive()
+                || Number.class.isAssignableFrom(type) && type.getName().startsWith("java.")
+                || type == Boolean.class || type == Character.class;
+    }
+
+    /**
+     * 解析简单类型的值（字符串、数字、布尔）
+     *
+     * 整数类型也接受 1.0, 1e3 这样的写法；有小数部分或溢出时抛出 ArithmeticException
+     */
+    public static Object parseScalar(byte[] b, int start, int end, Class<?> type) {
+        if (isNull(b, start, end)) {
+            return type.isPrimitive() ? defaultValue(type) : null;
+        }
+
+        String str;
+        if (b[start] == '"') {
+            str = parseString(b, start, end);
+        } else {
+            str = new String(b, start, end - start, StandardCharsets.ISO_8859_1);
+        }
+
+        if (type == String.class || type == Object.class) {
+            return str;
+        }
+
+        if (type == int.class || type == Integer.class) {
+            return (int) parseIntegral(str, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        } else if (type == long.class || type == Long.class) {
+            return parseIntegral(str, Long.MIN_VALUE, Long.MAX_VALUE);
+        } else if (type == double.class || type == Double.class) {
+            return Double.parseDouble(str);
+        } else if (type == float.class || type == Float.class) {
+            return Float.parseFloat(str);
+        } else if (type == boolean.class || type == Boolean.class) {
+            return Boolean.parseBoolean(str);
+        } else if (type == short.class || type == Short.class) {
+            return (short) parseIntegral(str, Short.MIN_VALUE, Short.MAX_VALUE);
+        } else if (type == byte.class || type == Byte.class) {
+            return (byte) parseIntegral(str, Byte.MIN_VALUE, Byte.MAX_VALUE);
+        } else if (type == char.class || type == Character.class) {
+            return str.length() > 0 ? str.charAt(0) : (char) 0;
+        } else if (type == BigDecimal.class) {
+            return new BigDecimal(str);
+        } else if (type == BigInteger.class) {
+            return new BigDecimal(str).toBigIntegerExact();
+        } else {
+            throw new IllegalArgumentException("Unsupported scalar type: " + type.getName());
+        }
+    }
+
+    /**
+     * 解析整数（常见的整数写法直接解析，其它的经 BigDecimal）
+     */
+    private static long parseIntegral(String str, long min, long max) {
+        long val;
+        try {
+            val = Long.parseLong(str);
+        } catch (NumberFormatException ex) {
+            val = new BigDecimal(str).longValueExact();
+        }
+
+        if (val < min || val > max) {
+            throw new ArithmeticException("Overflow: " + str);
+        }
+
+        return val;
+    }
+
+    /**
+     * 基础类型的默认值
+     */
+    public static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) return false;
+        if (type == char.class) return (char) 0;
+        if (type == byte.class) return (byte) 0;
+        if (type == short.class) return (short) 0;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == float.class) return 0F;
+        if (type == double.class) return 0D;
+        return null;
+    }
+
+    /**
+     * 解析字符串（含引号的区间）
+     */
+    public static String parseString(byte[] b, int start, int end) {
+        int s = start + 1;
+        int e = end - 1;
+
+        //没有转义的直接构建
+        boolean escaped = false;
+        for (int i = s; i < e; i++) {
+            if (b[i] == '\\') {
+                escaped = true;
+                break;
+            }
+        }
+
+        if (escaped == false) {
+            return new String(b, s, e - s, StandardCharsets.UTF_8);
+        }
+
+        StringBuilder sb = new StringBuilder(e - s);
+        int i = s;
+        while (i < e) {
+            int j = i;
+            while (j < e && b[j] != '\\') {
+                j++;
+            }
+            if (j > i) {
+                sb.append(new String(b, i, j - i, StandardCharsets.UTF_8));
+            }
+            if (j >= e) {
+                break;
+            }
+
+            byte c = b[j + 1];
+            switch (c) {
+                case 'n': sb.append('\n'); break;
+                case 't': sb.append('\t'); break;
+                case 'r': sb.append('\r'); break;
+                case 'b': sb.append('\b'); break;
+                case 'f': sb.append('\f'); break;
+                case 'u':
+                    sb.append((char) Integer.parseInt(new String(b, j + 2, 4, StandardCharsets.ISO_8859_1), 16));
+                    j += 4;
+                    break;
+                default: sb.append((char) c); break;
+            }
+            i = j + 2;
+        }
+
+        return sb.toString();
+    }
+
+    private static int skipString(byte[] b, int pos, int end) {
+        pos++;
+        while (pos < end) {
+            byte c = b[pos];
+            if (c == '\\') {
+                pos += 2;
+            } else if (c == '"') {
+                return pos + 1;
+            } else {
+                pos++;
+            }
+        }
+
+        throw error(b, pos);
+    }
+
+    private static int skipWs(byte[] b, int pos, int end) {
+        while (pos < end && (b[pos] == ' ' || b[pos] == '\n' || b[pos] == '\r' || b[pos] == '\t')) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static IllegalArgumentException error(byte[] b, int pos) {
+        return new IllegalArgumentException("Illegal json at position " + pos);
+    }
+}
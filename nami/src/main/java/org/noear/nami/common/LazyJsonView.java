@@ -0,0 +1,236 @@
+package org.noear.nami.common;
+
+import org.noear.nami.Decoder;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 延迟的 json 接口视图（保留响应字节；字段在访问时才定位并解析，结果会缓存）
+ *
+ * 取值函数：getXxx(), isXxx() 或 xxx()，对应字段 xxx；default 函数执行其默认实现
+ *
+ * @author noear
+ * @since 1.3
+ */
+public class LazyJsonView implements InvocationHandler {
+    private static final Object NULL = new Object();
+    private static final int SCAN_DONE = Integer.MIN_VALUE;
+    private static final Map<Method, MethodHandle> defaultHandles = new ConcurrentHashMap<>();
+
+    /**
+     * 是否可以创建视图（非 jdk 的接口）
+     */
+    public static boolean isViewType(Type type) {
+        return type instanceof Class
+                && ((Class<?>) type).isInterface()
+                && ((Class<?>) type).getName().startsWith("java.") == false;
+    }
+
+    /**
+     * 尝试创建视图（不是 json 对象，或者是异常时返回 null，由解码器处理）
+     */
+    public static <T> T tryCreate(Class<T> type, byte[] bytes, Decoder decoder) {
+        LazyJsonView view = new LazyJsonView(type, bytes, 0, bytes.length, decoder);
+
+        try {
+            if (view.scanPos < 0) {
+                //不是对象
+                return null;
+            }
+
+            //异常的类型标识（@type）总是在第一个字段
+            view.scanNext();
+            if (isThrowable(bytes, view.index.get("@type"))) {
+                return null;
+            }
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+
+        return view.proxy();
+    }
+
+    private static <T> T create(Class<T> type, byte[] bytes, int start, int end, Decoder decoder) {
+        return new LazyJsonView(type, bytes, start, end, decoder).proxy();
+    }
+
+    private static boolean isThrowable(byte[] bytes, int[] span) {
+        if (span == null || bytes[span[0]] != '"') {
+            return false;
+        }
+
+        try {
+            String name = JsonScanner.parseString(bytes, span[0], span[1]);
+            return Throwable.class.isAssignableFrom(Class.forName(name, false, LazyJsonView.class.getClassLoader()));
+        } catch (ClassNotFoundException ex) {
+            return false;
+        }
+    }
+
+    private final Class<?> type;
+    private final byte[] bytes;
+    private final int start;
+    private final int end;
+    private final Decoder decoder;
+
+    //字段索引（按需扫描，找到即停）
+    private final Map<String, int[]> index = new HashMap<>();
+    private int scanPos;
+    private final Map<Method, Object> cached = new HashMap<>();
+
+    private LazyJsonView(Class<?> type, byte[] bytes, int start, int end, Decoder decoder) {
+        this.type = type;
+        this.bytes = bytes;
+        this.start = start;
+        this.end = end;
+        this.decoder = decoder;
+        this.scanPos = JsonScanner.openObject(bytes, start, end);
+    }
+
+    private <T> T proxy() {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(),
+                new Class[]{type},
+                this);
+    }
+
+    /**
+     * 扫描下一个字段
+     */
+    private void scanNext() {
+        if (scanPos >= 0) {
+            scanPos = JsonScanner.nextField(bytes, scanPos, end, index);
+            if (scanPos < 0) {
+                scanPos = SCAN_DONE;
+            }
+        }
+    }
+
+    /**
+     * 查找字段（未索引到的继续扫描）
+     */
+    private int[] lookup(String name) {
+        int[] span = index.get(name);
+
+        while (span == null && scanPos >= 0) {
+            scanNext();
+            span = index.get(name);
+        }
+
+        return span;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            switch (method.getName()) {
+                case "toString":
+                    return new String(bytes, start, end - start, StandardCharsets.UTF_8);
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        }
+
+        if (method.isDefault()) {
+            return defaultHandle(method).bindTo(proxy).invokeWithArguments(args == null ? new Object[0] : args);
+        }
+
+        if (method.getParameterCount() > 0) {
+            throw new UnsupportedOperationException("Lazy view only supports getters: " + method);
+        }
+
+        synchronized (this) {
+            Object val = cached.get(method);
+
+            if (val == null) {
+                val = resolve(method);
+                cached.put(method, val == null ? NULL : val);
+            }
+
+            return val == NULL ? null : val;
+        }
+    }
+
+    private Object resolve(Method method) {
+        Class<?> rt = method.getReturnType();
+        int[] span = lookup(fieldName(method));
+
+        if (span == null || JsonScanner.isNull(bytes, span[0], span[1])) {
+            return JsonScanner.defaultValue(rt);
+        }
+
+        if (JsonScanner.isScalarType(rt)) {
+            try {
+                return JsonScanner.parseScalar(bytes, span[0], span[1], rt);
+            } catch (NumberFormatException | ArithmeticException ex) {
+                //如 1.5 之于 int，按解码器的规则处理
+            }
+        }
+
+        if (isViewType(rt) && bytes[span[0]] == '{') {
+            //嵌套的接口，也用视图
+            return create(rt, bytes, span[0], span[1], decoder);
+        }
+
+        //其它的交给解码器（只解码这个字段）
+        byte[] sub = Arrays.copyOfRange(bytes, span[0], span[1]);
+        return decoder.decode(new Result(200, sub), method.getGenericReturnType());
+    }
+
+    /**
+     * 默认函数的句柄（jdk9+ 用 privateLookupIn；jdk8 用 Lookup 的私有构造）
+     */
+    private static MethodHandle defaultHandle(Method method) throws Throwable {
+        MethodHandle handle = defaultHandles.get(method);
+
+        if (handle == null) {
+            Class<?> caller = method.getDeclaringClass();
+            MethodHandles.Lookup lookup;
+
+            try {
+                Method privateLookupIn = MethodHandles.class.getMethod("privateLookupIn", Class.class, MethodHandles.Lookup.class);
+                lookup = (MethodHandles.Lookup) privateLookupIn.invoke(null, caller, MethodHandles.lookup());
+            } catch (InvocationTargetException ex) {
+                throw ex.getTargetException();
+            } catch (NoSuchMethodException ex) {
+                Constructor<MethodHandles.Lookup> constructor = MethodHandles.Lookup.class.getDeclaredConstructor(Class.class, Integer.TYPE);
+                constructor.setAccessible(true);
+                lookup = constructor.newInstance(caller, MethodHandles.Lookup.PRIVATE);
+            }
+
+            handle = lookup.unreflectSpecial(method, caller);
+            defaultHandles.put(method, handle);
+        }
+
+        return handle;
+    }
+
+    private static String fieldName(Method method) {
+        String name = method.getName();
+
+        if (name.length() > 3 && name.startsWith("get") && Character.isUpperCase(name.charAt(3))) {
+            return Character.toLowerCase(name.charAt(3)) + name.substring(4);
+        }
+
+        if (name.length() > 2 && name.startsWith("is") && Character.isUpperCase(name.charAt(2))) {
+            return Character.toLowerCase(name.charAt(2)) + name.substring(3);
+        }
+
+        return name;
+    }
+}
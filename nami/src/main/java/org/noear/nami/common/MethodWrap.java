@@ -1,12 +1,19 @@
 package org.noear.nami.common;
 
 import org.noear.nami.annotation.Body;
+import org.noear.nami.annotation.Envelope;
+import org.noear.nami.annotation.LazyDecode;
 import org.noear.nami.annotation.Mapping;
+import org.noear.nami.annotation.OneWay;
+import org.noear.nami.annotation.RouteKey;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 函数包装器（预处理并缓存）
@@ -38,6 +45,48 @@ public class MethodWrap {
         this.parameters = m.getParameters();
         this.mappingAnno = m.getAnnotation(Mapping.class);
 
+        //确定返回类型（异步时，取 CompletableFuture<T> 的 T）
+        this.returnType = m.getGenericReturnType();
+        if (CompletableFuture.class == m.getReturnType()) {
+            this.async = true;
+
+            if (returnType instanceof ParameterizedType) {
+                returnType = ((ParameterizedType) returnType).getActualTypeArguments()[0];
+            } else {
+                returnType = Object.class;
+            }
+        }
+
+        this.download = DownloadUtils.isDownload(returnType);
+        this.signHash = PositionalArgs.hashOf(m);
+        this.primitiveArray = PrimitiveArrays.isSupported(returnType);
+
+        //单向调用（只能是 void 函数）
+        this.oneWayAnno = m.getAnnotation(OneWay.class);
+        if (oneWayAnno != null && Void.TYPE != m.getReturnType()) {
+            throw new IllegalArgumentException("@OneWay only supports void methods: " + m);
+        }
+
+        //延迟解码（只能是返回接口的函数）
+        this.lazyDecode = m.isAnnotationPresent(LazyDecode.class);
+        if (lazyDecode && LazyJsonView.isViewType(returnType) == false) {
+            throw new IllegalArgumentException("@LazyDecode only supports methods returning an interface: " + m);
+        }
+
+        //响应信封（函数上的优先）
+        this.envelopeAnno = m.getAnnotation(Envelope.class);
+        if (envelopeAnno == null) {
+            envelopeAnno = m.getDeclaringClass().getAnnotation(Envelope.class);
+        }
+
+        //路由键（用于一致性哈希路由）
+        for (int i = 0; i < parameters.length; i++) {
+            if (parameters[i].isAnnotationPresent(RouteKey.class)) {
+                routeKeyIndex = i;
+                break;
+            }
+        }
+
         for (Parameter p1 : parameters) {
             bodyAnno = p1.getAnnotation(Body.class);
             if (bodyAnno != null) {
@@ -81,6 +130,15 @@ public class MethodWrap {
     private Map<String,String> mappingHeaders;
     private String act;
     private String fun;
+    private Type returnType;
+    private boolean async;
+    private boolean download;
+    private int signHash;
+    private boolean primitiveArray;
+    private OneWay oneWayAnno;
+    private boolean lazyDecode;
+    private Envelope envelopeAnno;
+    private int routeKeyIndex = -1;
 
     public Method getMethod() {
         return method;
@@ -113,4 +171,67 @@ public class MethodWrap {
     public String getFun() {
         return fun;
     }
+
+    /**
+     * 返回类型（异步时，为结果的类型）
+     */
+    public Type getReturnType() {
+        return returnType;
+    }
+
+    /**
+     * 是否为异步（返回 CompletableFuture）
+     */
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * 是否为下载（返回 InputStream, ReadableByteChannel, Path）
+     */
+    public boolean isDownload() {
+        return download;
+    }
+
+    /**
+     * 是否返回基础类型数组（int[], long[], double[], List&lt;Long&gt; 等）
+     */
+    public boolean isPrimitiveArray() {
+        return primitiveArray;
+    }
+
+    /**
+     * 函数签名哈希（用于位置参数）
+     */
+    public int getSignHash() {
+        return signHash;
+    }
+
+    /**
+     * 是否延迟解码
+     */
+    public boolean isLazyDecode() {
+        return lazyDecode;
+    }
+
+    /**
+     * 响应信封注解
+     */
+    public Envelope getEnvelopeAnno() {
+        return envelopeAnno;
+    }
+
+    /**
+     * 路由键的参数位置（没有时为 -1）
+     */
+    public int getRouteKeyIndex() {
+        return routeKeyIndex;
+    }
+
+    /**
+     * 单向调用注解
+     */
+    public OneWay getOneWayAnno() {
+        return oneWayAnno;
+    }
 }
@@ -0,0 +1,68 @@
+package org.noear.nami.common;
+
+import java.io.Serializable;
+import java.lang.reflect.Method;
+
+/**
+ * 位置参数（紧凑的参数格式：函数签名哈希 + 按顺序的参数值；不传参数名）
+ *
+ * 签名哈希为 "函数名(参数类型1,参数类型2)" 的 String.hashCode()，如：getUser(int,java.lang.String)
+ * 已用作路径变量的参数在 url 里，不在参数值里
+ *
+ * @author noear
+ * @since 1.3
+ */
+public class PositionalArgs implements Serializable {
+    private int hash;
+    private Object[] args;
+
+    public PositionalArgs() {
+        //给序列化框架用
+    }
+
+    public PositionalArgs(int hash, Object[] args) {
+        this.hash = hash;
+        this.args = args;
+    }
+
+    /**
+     * 函数签名哈希
+     */
+    public int getHash() {
+        return hash;
+    }
+
+    public void setHash(int hash) {
+        this.hash = hash;
+    }
+
+    /**
+     * 参数值（按声明顺序，不含路径变量）
+     */
+    public Object[] getArgs() {
+        return args;
+    }
+
+    public void setArgs(Object[] args) {
+        this.args = args;
+    }
+
+    /**
+     * 计算函数签名哈希
+     */
+    public static int hashOf(Method method) {
+        StringBuilder sb = new StringBuilder(64);
+
+        sb.append(method.getName()).append("(");
+        Class<?>[] types = method.getParameterTypes();
+        for (int i = 0; i < types.length; i++) {
+            if (i > 0) {
+                sb.append(",");
+            }
+            sb.append(types[i].getTypeName());
+        }
+        sb.append(")");
+
+        return sb.toString().hashCode();
+    }
+}
@@ -0,0 +1,392 @@
+package org.noear.nami.common;
+
+import org.noear.nami.Decoder;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * 基础类型数组的快速解码（int[], long[], float[], double[] 及 List&lt;Integer|Long|Double&gt;）
+ *
+ * 1.json 数字数组直接解析为基础类型数组（不装箱，不构建中间树）
+ * 2.小端二进制数组（Content-Type: application/x-array-le）直接从返回体复制
+ * 3.List 返回的是基于基础类型数组的只读视图（读取时才装箱）
+ *
+ * 是可选的（见 NamiConfig.setPrimitiveArrays）
+ *
+ * @author noear
+ * @since 1.3
+ */
+public class PrimitiveArrays {
+    /**
+     * 是否为支持的类型
+     */
+    public static boolean isSupported(Type type) {
+        return arrayType(type) != null;
+    }
+
+    /**
+     * 尝试快速解码（不能处理时返回 null，由解码器继续处理）
+     */
+    public static Object tryDecode(Result rst, Type type, Decoder decoder) {
+        if (rst.code() >= 400 || rst.isEncoded()) {
+            return null;
+        }
+
+        Class<?> arrayType = arrayType(type);
+        if (arrayType == null) {
+            return null;
+        }
+
+        String ct = rst.headerGet(Constants.HEADER_CONTENT_TYPE);
+
+        if (ct != null && ct.startsWith(Constants.CONTENT_TYPE_ARRAY_LE)) {
+            byte[] bytes = rst.body();
+            return bytes == null ? null : toReturn(fromBinary(bytes, arrayType), type);
+        }
+
+        if (decoder != null && decoder.enctype().startsWith(Constants.CONTENT_TYPE_JSON)) {
+            if (rst.charset() != null && StandardCharsets.UTF_8.equals(rst.charset()) == false) {
+                return null;
+            }
+
+            byte[] bytes = rst.body();
+            Object array = (bytes == null ? null : parseJson(bytes, arrayType));
+            return array == null ? null : toReturn(array, type);
+        }
+
+        return null;
+    }
+
+    /**
+     * 从小端二进制复制为基础类型数组
+     */
+    public static Object fromBinary(byte[] bytes, Class<?> arrayType) {
+        ByteBuffer buf = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+
+        if (arrayType == long[].class) {
+            long[] ary = new long[length(bytes, 8)];
+            buf.asLongBuffer().get(ary);
+            return ary;
+        } else if (arrayType == int[].class) {
+            int[] ary = new int[length(bytes, 4)];
+            buf.asIntBuffer().get(ary);
+            return ary;
+        } else if (arrayType == double[].class) {
+            double[] ary = new double[length(bytes, 8)];
+            buf.asDoubleBuffer().get(ary);
+            return ary;
+        } else if (arrayType == float[].class) {
+            float[] ary = new float[length(bytes, 4)];
+            buf.asFloatBuffer().get(ary);
+            return ary;
+        } else {
+            throw new IllegalArgumentException("Unsupported array type: " + arrayType);
+        }
+    }
+
+    /**
+     * 解析 json 数字数组（不是纯数字数组、格式不对或溢出时返回 null）
+     */
+    public static Object parseJson(byte[] bytes, Class<?> arrayType) {
+        boolean integral = (arrayType == long[].class || arrayType == int[].class);
+
+        //1.检查并计数（按 json 数字语法，逗号分隔）
+        int start = skipWs(bytes, 0);
+        if (start >= bytes.length || bytes[start] != '[') {
+            return null;
+        }
+
+        int count = 0;
+        int end;
+        int pos = skipWs(bytes, start + 1);
+        if (pos < bytes.length && bytes[pos] == ']') {
+            end = pos;
+        } else {
+            while (true) {
+                pos = numberEnd(bytes, pos, integral);
+                if (pos < 0) {
+                    return null;
+                }
+
+                count++;
+
+                pos = skipWs(bytes, pos);
+                if (pos >= bytes.length) {
+                    return null;
+                }
+
+                if (bytes[pos] == ']') {
+                    end = pos;
+                    break;
+                } else if (bytes[pos] == ',') {
+                    pos = skipWs(bytes, pos + 1);
+                } else {
+                    return null;
+                }
+            }
+        }
+
+        if (skipWs(bytes, end + 1) != bytes.length) {
+            return null;
+        }
+
+        //2.解析（负数累加，溢出时返回 null）
+        if (arrayType == long[].class) {
+            long[] ary = new long[count];
+            pos = start + 1;
+            for (int n = 0; n < count; n++) {
+                pos = skipSep(bytes, pos);
+                boolean neg = (bytes[pos] == '-');
+                if (neg) {
+                    pos++;
+                }
+                long val = 0;
+                for (; pos < end && bytes[pos] >= '0' && bytes[pos] <= '9'; pos++) {
+                    int d = bytes[pos] - '0';
+                    if (val < (Long.MIN_VALUE + d) / 10) {
+                        return null;
+                    }
+                    val = val * 10 - d;
+                }
+                if (neg == false) {
+                    if (val == Long.MIN_VALUE) {
+                        return null;
+                    }
+                    val = -val;
+                }
+                ary[n] = val;
+            }
+            return ary;
+        } else if (arrayType == int[].class) {
+            int[] ary = new int[count];
+            pos = start + 1;
+            for (int n = 0; n < count; n++) {
+                pos = skipSep(bytes, pos);
+                boolean neg = (bytes[pos] == '-');
+                if (neg) {
+                    pos++;
+                }
+                long val = 0;
+                for (; pos < end && bytes[pos] >= '0' && bytes[pos] <= '9'; pos++) {
+                    val = val * 10 - (bytes[pos] - '0');
+                    if (val < Integer.MIN_VALUE) {
+                        return null;
+                    }
+                }
+                if (neg == false) {
+                    val = -val;
+                }
+                if (val > Integer.MAX_VALUE) {
+                    return null;
+                }
+                ary[n] = (int) val;
+            }
+            return ary;
+        } else {
+            double[] ary = new double[count];
+            pos = start + 1;
+            for (int n = 0; n < count; n++) {
+                pos = skipSep(bytes, pos);
+                int p0 = pos;
+                pos = numberEnd(bytes, pos, false);
+                ary[n] = Double.parseDouble(new String(bytes, p0, pos - p0, StandardCharsets.ISO_8859_1));
+            }
+
+            if (arrayType == float[].class) {
+                float[] ary2 = new float[count];
+                for (int n = 0; n < count; n++) {
+                    ary2[n] = (float) ary[n];
+                }
+                return ary2;
+            } else {
+                return ary;
+            }
+        }
+    }
+
+    /**
+     * 数字的结束位置（不符合 json 数字语法时为 -1；integral 时不允许小数与指数）
+     */
+    private static int numberEnd(byte[] bytes, int pos, boolean integral) {
+        if (pos < bytes.length && bytes[pos] == '-') {
+            pos++;
+        }
+
+        //整数部分（不允许前导 0）
+        if (pos >= bytes.length) {
+            return -1;
+        } else if (bytes[pos] == '0') {
+            pos++;
+        } else if (bytes[pos] >= '1' && bytes[pos] <= '9') {
+            pos = digitsEnd(bytes, pos);
+        } else {
+            return -1;
+        }
+
+        //小数部分
+        if (pos < bytes.length && bytes[pos] == '.') {
+            if (integral) {
+                return -1;
+            }
+
+            int p0 = pos + 1;
+            pos = digitsEnd(bytes, p0);
+            if (pos == p0) {
+                return -1;
+            }
+        }
+
+        //指数部分
+        if (pos < bytes.length && (bytes[pos] == 'e' || bytes[pos] == 'E')) {
+            if (integral) {
+                return -1;
+            }
+
+            pos++;
+            if (pos < bytes.length && (bytes[pos] == '+' || bytes[pos] == '-')) {
+                pos++;
+            }
+
+            int p0 = pos;
+            pos = digitsEnd(bytes, p0);
+            if (pos == p0) {
+                return -1;
+            }
+        }
+
+        return pos;
+    }
+
+    private static int digitsEnd(byte[] bytes, int pos) {
+        while (pos < bytes.length && bytes[pos] >= '0' && bytes[pos] <= '9') {
+            pos++;
+        }
+        return pos;
+    }
+
+    /**
+     * 获取对应的基础类型数组（不支持时为 null）
+     */
+    private static Class<?> arrayType(Type type) {
+        if (type instanceof Class) {
+            if (type == long[].class || type == int[].class || type == double[].class || type == float[].class) {
+                return (Class<?>) type;
+            }
+        } else if (type instanceof ParameterizedType) {
+            ParameterizedType pt = (ParameterizedType) type;
+            Type raw = pt.getRawType();
+
+            if (raw == List.class || raw == Collection.class || raw == Iterable.class) {
+                Type e = pt.getActualTypeArguments()[0];
+
+                if (e == Long.class) {
+                    return long[].class;
+                } else if (e == Integer.class) {
+                    return int[].class;
+                } else if (e == Double.class) {
+                    return double[].class;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private static Object toReturn(Object array, Type type) {
+        if (type instanceof Class) {
+            return array;
+        }
+
+        if (array instanceof long[]) {
+            return new LongList((long[]) array);
+        } else if (array instanceof int[]) {
+            return new IntList((int[]) array);
+        } else {
+            return new DoubleList((double[]) array);
+        }
+    }
+
+    private static int length(byte[] bytes, int size) {
+        if (bytes.length % size != 0) {
+            throw new IllegalArgumentException("Illegal array body length: " + bytes.length);
+        }
+
+        return bytes.length / size;
+    }
+
+    private static int skipWs(byte[] bytes, int pos) {
+        while (pos < bytes.length && (bytes[pos] == ' ' || bytes[pos] == '\n' || bytes[pos] == '\r' || bytes[pos] == '\t')) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int skipSep(byte[] bytes, int pos) {
+        while (bytes[pos] == ',' || bytes[pos] == ' ' || bytes[pos] == '\n' || bytes[pos] == '\r' || bytes[pos] == '\t') {
+            pos++;
+        }
+        return pos;
+    }
+
+    static class LongList extends AbstractList<Long> implements RandomAccess {
+        private final long[] ary;
+
+        LongList(long[] ary) {
+            this.ary = ary;
+        }
+
+        @Override
+        public Long get(int index) {
+            return ary[index];
+        }
+
+        @Override
+        public int size() {
+            return ary.length;
+        }
+    }
+
+    static class IntList extends AbstractList<Integer> implements RandomAccess {
+        private final int[] ary;
+
+        IntList(int[] ary) {
+            this.ary = ary;
+        }
+
+        @Override
+        public Integer get(int index) {
+            return ary[index];
+        }
+
+        @Override
+        public int size() {
+            return ary.length;
+        }
+    }
+
+    static class DoubleList extends AbstractList<Double> implements RandomAccess {
+        private final double[] ary;
+
+        DoubleList(double[] ary) {
+            this.ary = ary;
+        }
+
+        @Override
+        public Double get(int index) {
+            return ary[index];
+        }
+
+        @Override
+        public int size() {
+            return ary.length;
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package org.noear.nami.common;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.AbstractMap;
@@ -30,6 +34,10 @@ public class Result {
      * 返回体
      * */
     private byte[] body;
+    /**
+     * 返回体流（流式下载时使用）
+     * */
+    private InputStream bodyStream;
     /**
      * 返回体的字符串形式
      * */
@@ -52,6 +60,13 @@ public class Result {
         this.body = body;
     }
 
+    public Result(int code, InputStream bodyStream) {
+        this();
+        this.code = code;
+        this.charset = StandardCharsets.UTF_8;
+        this.bodyStream = bodyStream;
+    }
+
     //////////////////
     //////////////////
     //////////////////
@@ -64,7 +79,7 @@ public class Result {
     public String headerGet(String name){
         if(name != null) {
             for (Map.Entry<String, String> kv : headers) {
-                if (name.equals(kv.getKey())) {
+                if (name.equalsIgnoreCase(kv.getKey())) {
                     return kv.getValue();
                 }
             }
@@ -106,14 +121,71 @@ public class Result {
      * 返回体
      * */
     public byte[] body() {
+        if (body == null && bodyStream != null) {
+            body = readAndClose(bodyStream);
+            bodyStream = null;
+        }
+
         return body;
     }
 
+    /**
+     * 返回体是否带内容编码（如压缩；未解开前不能直接扫描）
+     * */
+    public boolean isEncoded() {
+        String encoding = headerGet(Constants.HEADER_CONTENT_ENCODING);
+        return encoding != null && encoding.length() > 0 && "identity".equalsIgnoreCase(encoding) == false;
+    }
+
+    /**
+     * 返回体是否为流（且尚未读取）
+     * */
+    public boolean isBodyStream() {
+        return bodyStream != null;
+    }
+
+    /**
+     * 返回体流形式（流式下载；关闭流即释放连接）
+     * */
+    public InputStream bodyAsStream() {
+        if (code >= 400) {
+            //读出错误信息并抛出
+            bodyAsString();
+        }
+
+        if (bodyStream != null) {
+            InputStream tmp = bodyStream;
+            bodyStream = null;
+            return tmp;
+        }
+
+        if (body == null) {
+            return null;
+        } else {
+            return new ByteArrayInputStream(body);
+        }
+    }
+
+    /**
+     * 关闭（释放未读取的返回体流）
+     * */
+    public void close() {
+        if (bodyStream != null) {
+            try {
+                bodyStream.close();
+            } catch (IOException ex) {
+                //不用处理
+            }
+
+            bodyStream = null;
+        }
+    }
+
     /**
      * 返回体字符形式
      * */
     public String bodyAsString() {
-        if (body_string == null) {
+        if (body_string == null && body() != null) {
             if (charset == null) {
                 body_string = new String(body);
             } else {
@@ -130,4 +202,19 @@ public class Result {
             return body_string;
         }
     }
+
+    private static byte[] readAndClose(InputStream in) {
+        try (InputStream in2 = in) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buf = new byte[4096];
+            int len;
+            while ((len = in2.read(buf)) > 0) {
+                out.write(buf, 0, len);
+            }
+
+            return out.toByteArray();
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
 }
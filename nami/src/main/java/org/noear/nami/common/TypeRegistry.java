@@ -0,0 +1,218 @@
+package org.noear.nami.common;
+
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.ToIntFunction;
+
+/**
+ * 类型注册表（类 与 数字id 的映射；让带类型的编码器写 id，不写类名）
+ *
+ * id 一经分配不再变化：
+ * 1.显式注册的 id 须在 (0, AUTO_ID_BASE) 内，且须在按接口注册之前（两端须一致）
+ * 2.按接口注册的类，id 由类名的哈希得出（AUTO_ID_BASE 之上），与注册顺序、注册了哪些接口无关
+ * 3.两个类名的哈希冲突时，注册失败（须为其中一个显式注册 id），不会静默解错类
+ *
+ * @author noear
+ * @since 1.3
+ */
+public class TypeRegistry {
+    public static final int AUTO_ID_BASE = 1000;
+    /**
+     * 自动 id 的范围（AUTO_ID_BASE 之上）
+     */
+    public static final int AUTO_ID_RANGE = 1 << 24;
+
+    private static volatile Map<Class<?>, Integer> idMap = Collections.emptyMap();
+    private static volatile Map<Integer, Class<?>> classMap = Collections.emptyMap();
+    private static volatile int version;
+
+    /**
+     * 显式注册
+     */
+    public static synchronized void register(Class<?> clz, int id) {
+        if (id <= 0 || id >= AUTO_ID_BASE) {
+            throw new IllegalArgumentException("Type id must be in (0, " + AUTO_ID_BASE + "): " + id);
+        }
+
+        Integer old = idMap.get(clz);
+        if (old != null) {
+            if (old == id) {
+                return;
+            }
+
+            //已分配的 id 不能改（可能已写到线上了）
+            throw new IllegalArgumentException("Type " + clz.getName() + " is already registered with id " + old);
+        }
+
+        Class<?> used = classMap.get(id);
+        if (used != null) {
+            throw new IllegalArgumentException("Type id " + id + " is already used by " + used.getName());
+        }
+
+        Map<Class<?>, Integer> ids = new HashMap<>(idMap);
+        ids.put(clz, id);
+        publish(ids);
+    }
+
+    /**
+     * 按客户端接口注册（收集函数签名里的参数与返回类型，及其字段类型）
+     */
+    public static void registerClient(Class<?> clientInterface) {
+        Set<Class<?>> classes = new HashSet<>();
+
+        for (Method m : clientInterface.getMethods()) {
+            if (m.getDeclaringClass() == Object.class) {
+                continue;
+            }
+
+            for (Type t : m.getGenericParameterTypes()) {
+                collect(t, classes);
+            }
+
+            collect(m.getGenericReturnType(), classes);
+        }
+
+        registerAuto(classes, TypeRegistry::autoId);
+    }
+
+    /**
+     * 类的自动 id（由类名得出；String.hashCode 的算法是规范规定的，各 jvm 一致）
+     */
+    public static int autoId(String className) {
+        int h = className.hashCode();
+
+        //再散列（murmur3 fmix32），让相近的类名也分散开
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+
+        return AUTO_ID_BASE + (h & (AUTO_ID_RANGE - 1));
+    }
+
+    /**
+     * 自动注册（全部成功或全部不注册；已注册的类保持原 id）
+     */
+    static synchronized void registerAuto(Collection<Class<?>> classes, ToIntFunction<String> idFunc) {
+        Map<Class<?>, Integer> ids = null;
+        Map<Integer, Class<?>> added = new HashMap<>();
+
+        for (Class<?> c : classes) {
+            if (idMap.containsKey(c)) {
+                continue;
+            }
+
+            int id = idFunc.applyAsInt(c.getName());
+
+            Class<?> used = classMap.get(id);
+            if (used == null) {
+                used = added.putIfAbsent(id, c);
+            }
+
+            if (used != null && used != c) {
+                throw new IllegalStateException("Type id " + id + " collides: " + used.getName() + " and " + c.getName()
+                        + ", register one of them explicitly");
+            }
+
+            if (ids == null) {
+                ids = new HashMap<>(idMap);
+            }
+
+            ids.put(c, id);
+        }
+
+        if (ids != null) {
+            publish(ids);
+        }
+    }
+
+    /**
+     * 获取类型的 id（未注册时为 null）
+     */
+    public static Integer getId(Class<?> clz) {
+        return idMap.get(clz);
+    }
+
+    /**
+     * 获取 id 对应的类型（未注册时为 null）
+     */
+    public static Class<?> getType(int id) {
+        return classMap.get(id);
+    }
+
+    /**
+     * 所有注册（按 id 排序）
+     */
+    public static Map<Integer, Class<?>> types() {
+        return classMap;
+    }
+
+    /**
+     * 注册的版本（有变化时递增；用于判断缓存是否失效）
+     */
+    public static int version() {
+        return version;
+    }
+
+    private static void publish(Map<Class<?>, Integer> ids) {
+        Map<Integer, Class<?>> classes = new TreeMap<>();
+        ids.forEach((k, v) -> classes.put(v, k));
+
+        idMap = ids;
+        classMap = Collections.unmodifiableMap(classes);
+        version++;
+    }
+
+    /**
+     * 收集可注册的具体类型（接口、抽象类、jdk 内置类型不收集）
+     */
+    private static void collect(Type type, Set<Class<?>> classes) {
+        if (type instanceof ParameterizedType) {
+            ParameterizedType pt = (ParameterizedType) type;
+
+            if (pt.getRawType() != CompletableFuture.class) {
+                collect(pt.getRawType(), classes);
+            }
+
+            for (Type t : pt.getActualTypeArguments()) {
+                collect(t, classes);
+            }
+        } else if (type instanceof GenericArrayType) {
+            collect(((GenericArrayType) type).getGenericComponentType(), classes);
+        } else if (type instanceof WildcardType) {
+            for (Type t : ((WildcardType) type).getUpperBounds()) {
+                collect(t, classes);
+            }
+        } else if (type instanceof Class) {
+            Class<?> clz = (Class<?>) type;
+
+            if (clz.isArray()) {
+                collect(clz.getComponentType(), classes);
+                return;
+            }
+
+            if (clz.isPrimitive() || clz.isInterface() || clz.getName().startsWith("java.")) {
+                return;
+            }
+
+            if (Modifier.isAbstract(clz.getModifiers()) && clz.isEnum() == false) {
+                return;
+            }
+
+            if (classes.add(clz) == false) {
+                return;
+            }
+
+            //字段类型（含父类）
+            for (Class<?> c = clz; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field f : c.getDeclaredFields()) {
+                    if (Modifier.isStatic(f.getModifiers()) == false && Modifier.isTransient(f.getModifiers()) == false) {
+                        collect(f.getGenericType(), classes);
+                    }
+                }
+            }
+        }
+    }
+}
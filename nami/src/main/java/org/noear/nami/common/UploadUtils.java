@@ -0,0 +1,52 @@
+package org.noear.nami.common;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * 上传工具（File, Path, InputStream 参数不走编码器，由通道以流的方式提交）
+ *
+ * @author noear
+ * @since 1.3
+ */
+public class UploadUtils {
+    /**
+     * 是否为上传对象
+     */
+    public static boolean isUpload(Object val) {
+        return val instanceof File || val instanceof Path || val instanceof InputStream;
+    }
+
+    /**
+     * 参数中是否有上传对象
+     */
+    public static boolean hasUpload(Map<String, Object> args) {
+        for (Object val : args.values()) {
+            if (isUpload(val)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * 获取上传的文件名
+     */
+    public static String fileName(Object val, String def) {
+        if (val instanceof File) {
+            return ((File) val).getName();
+        }
+
+        if (val instanceof Path) {
+            Path name = ((Path) val).getFileName();
+            if (name != null) {
+                return name.toString();
+            }
+        }
+
+        return def;
+    }
+}
@@ -0,0 +1,151 @@
+package org.noear.nami.common;
+
+import org.noear.nami.NamiRouter;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 一致性哈希上游（按 @RouteKey 参数路由；带虚拟节点；没有路由键时轮询）
+ *
+ * 路由键按值转为字符串：字符串、数字、枚举等自带 toString 的类型，以及它们的数组；
+ * 没有自己的 toString 的类型（只有对象标识）不支持
+ *
+ * @author noear
+ * @since 1.3
+ */
+public class UpstreamConsistentHash implements NamiRouter {
+    private static final ThreadLocal<MessageDigest> md5 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new RuntimeException(ex);
+        }
+    });
+
+    protected final List<String> servers;
+    private final TreeMap<Long, String> ring = new TreeMap<>();
+    private final AtomicInteger index = new AtomicInteger();
+
+    //类型是否有自己的 toString（不是 Object 的）
+    private static final ClassValue<Boolean> ownToString = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("toString").getDeclaringClass() != Object.class;
+            } catch (NoSuchMethodException ex) {
+                return false;
+            }
+        }
+    };
+
+    public UpstreamConsistentHash(List<String> servers) {
+        this(servers, 160);
+    }
+
+    /**
+     * @param virtualNodes 每个服务端的虚拟节点数（至少为 1）
+     */
+    public UpstreamConsistentHash(List<String> servers, int virtualNodes) {
+        if (servers.isEmpty()) {
+            throw new IllegalArgumentException("Upstream servers is empty");
+        }
+
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("Virtual nodes must be at least 1: " + virtualNodes);
+        }
+
+        this.servers = servers;
+
+        //每个摘要取 4 个节点（最后一个摘要可能取不满）
+        for (String server : servers) {
+            for (int i = 0; i * 4 < virtualNodes; i++) {
+                byte[] digest = digest(server + "#" + i);
+
+                for (int n = 0; n < 4 && i * 4 + n < virtualNodes; n++) {
+                    ring.put(hashOf(digest, n), server);
+                }
+            }
+        }
+    }
+
+    @Override
+    public String get(Method method, Object[] args) {
+        if (method != null && args != null) {
+            int idx = MethodWrap.get(method).getRouteKeyIndex();
+
+            if (idx >= 0 && args[idx] != null) {
+                return route(keyOf(args[idx]));
+            }
+        }
+
+        //没有路由键时轮询
+        return servers.get(Math.floorMod(index.getAndIncrement(), servers.size()));
+    }
+
+    /**
+     * 按键获取服务端
+     */
+    public String route(String key) {
+        Map.Entry<Long, String> kv = ring.ceilingEntry(hashOf(digest(key), 0));
+
+        if (kv == null) {
+            kv = ring.firstEntry();
+        }
+
+        return kv.getValue();
+    }
+
+    /**
+     * 路由键转为字符串（数组按元素；不支持的类型抛出 IllegalArgumentException）
+     */
+    public static String keyOf(Object key) {
+        if (key == null) {
+            return "null";
+        }
+
+        if (key instanceof CharSequence) {
+            return key.toString();
+        }
+
+        Class<?> type = key.getClass();
+
+        if (type.isArray()) {
+            int len = Array.getLength(key);
+            StringBuilder sb = new StringBuilder(len * 8 + 2).append('[');
+            for (int i = 0; i < len; i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                sb.append(keyOf(Array.get(key, i)));
+            }
+            return sb.append(']').toString();
+        }
+
+        if (ownToString.get(type)) {
+            return key.toString();
+        }
+
+        throw new IllegalArgumentException("Unsupported @RouteKey type (no toString of its own): " + type.getName());
+    }
+
+    private static byte[] digest(String str) {
+        MessageDigest md = md5.get();
+        md.reset();
+        return md.digest(str.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long hashOf(byte[] digest, int n) {
+        return ((long) (digest[3 + n * 4] & 0xFF) << 24)
+                | ((long) (digest[2 + n * 4] & 0xFF) << 16)
+                | ((long) (digest[1 + n * 4] & 0xFF) << 8)
+                | (digest[n * 4] & 0xFF);
+    }
+}
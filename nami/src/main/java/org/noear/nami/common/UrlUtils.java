@@ -0,0 +1,157 @@
+package org.noear.nami.common;
+
+import java.util.Map;
+
+/**
+ * Url 工具（构建 query string 与 form 内容；直接编码进可复用的缓冲，基础类型不经 toString）
+ *
+ * @author noear
+ * @since 1.3
+ */
+public class UrlUtils {
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+    private static final int BUF_MAX = 1024 * 64;
+
+    private static final ThreadLocal<StringBuilder> bufLocal = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    private static StringBuilder buf() {
+        StringBuilder sb = bufLocal.get();
+
+        if (sb.capacity() > BUF_MAX) {
+            //太大的不留着
+            sb = new StringBuilder(256);
+            bufLocal.set(sb);
+        } else {
+            sb.setLength(0);
+        }
+
+        return sb;
+    }
+
+    /**
+     * 构建带参数的 url
+     */
+    public static String buildUrl(String url, Map<String, Object> args) {
+        StringBuilder sb = buf();
+        sb.append(url);
+
+        int len0 = sb.length();
+        sb.append(url.indexOf('?') < 0 ? '?' : '&');
+
+        if (appendQuery(sb, args) == 0) {
+            sb.setLength(len0);
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * 构建 form 内容（application/x-www-form-urlencoded）
+     */
+    public static byte[] buildForm(Map<String, Object> args) {
+        StringBuilder sb = buf();
+        appendQuery(sb, args);
+
+        //编码后只有 ascii 字符，直接转字节
+        int len = sb.length();
+        byte[] bytes = new byte[len];
+        for (int i = 0; i < len; i++) {
+            bytes[i] = (byte) sb.charAt(i);
+        }
+
+        return bytes;
+    }
+
+    /**
+     * 添加参数（k=v&k=v；跳过 null 值）
+     *
+     * @return 添加的参数数量
+     */
+    public static int appendQuery(StringBuilder sb, Map<String, Object> args) {
+        int count = 0;
+
+        for (Map.Entry<String, Object> kv : args.entrySet()) {
+            if (kv.getValue() == null) {
+                continue;
+            }
+
+            if (count > 0) {
+                sb.append('&');
+            }
+
+            encode(sb, kv.getKey());
+            sb.append('=');
+            encode(sb, kv.getValue());
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * 编码值（与 URLEncoder 规则一致，utf-8）
+     */
+    public static void encode(StringBuilder sb, Object val) {
+        if (val instanceof String) {
+            encode(sb, (String) val);
+        } else if (val instanceof Integer || val instanceof Long || val instanceof Short || val instanceof Byte) {
+            sb.append(((Number) val).longValue());
+        } else if (val instanceof Double) {
+            sb.append(((Double) val).doubleValue());
+        } else if (val instanceof Float) {
+            sb.append(((Float) val).floatValue());
+        } else if (val instanceof Boolean) {
+            sb.append(((Boolean) val).booleanValue());
+        } else if (val instanceof Character) {
+            encode(sb, (char) val, (char) 0);
+        } else {
+            encode(sb, val.toString());
+        }
+    }
+
+    /**
+     * 编码字符串（与 URLEncoder 规则一致，utf-8）
+     */
+    public static void encode(StringBuilder sb, String str) {
+        for (int i = 0, len = str.length(); i < len; i++) {
+            char c = str.charAt(i);
+
+            if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(str.charAt(i + 1))) {
+                encode(sb, c, str.charAt(++i));
+            } else {
+                encode(sb, c, (char) 0);
+            }
+        }
+    }
+
+    private static void encode(StringBuilder sb, char c, char low) {
+        if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '.' || c == '-' || c == '*' || c == '_') {
+            sb.append(c);
+        } else if (c == ' ') {
+            sb.append('+');
+        } else if (c < 0x80) {
+            appendHex(sb, c);
+        } else if (c < 0x800) {
+            appendHex(sb, 0xC0 | (c >> 6));
+            appendHex(sb, 0x80 | (c & 0x3F));
+        } else if (low != 0) {
+            int cp = Character.toCodePoint(c, low);
+            appendHex(sb, 0xF0 | (cp >> 18));
+            appendHex(sb, 0x80 | ((cp >> 12) & 0x3F));
+            appendHex(sb, 0x80 | ((cp >> 6) & 0x3F));
+            appendHex(sb, 0x80 | (cp & 0x3F));
+        } else if (Character.isSurrogate(c)) {
+            //孤立的代理字符（与 URLEncoder 一样，按 '?' 处理）
+            appendHex(sb, '?');
+        } else {
+            appendHex(sb, 0xE0 | (c >> 12));
+            appendHex(sb, 0x80 | ((c >> 6) & 0x3F));
+            appendHex(sb, 0x80 | (c & 0x3F));
+        }
+    }
+
+    private static void appendHex(StringBuilder sb, int b) {
+        sb.append('%').append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+    }
+}
@@ -0,0 +1,69 @@
+package feature;
+
+import org.junit.Test;
+import org.noear.nami.common.DownloadUtils;
+import org.noear.nami.common.Result;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class DownloadUtilsTest {
+    static Set<Path> tempFiles() throws IOException {
+        Set<Path> set = new HashSet<>();
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(Paths.get(System.getProperty("java.io.tmpdir")), "nami-*.download")) {
+            for (Path p : ds) {
+                set.add(p);
+            }
+        }
+        return set;
+    }
+
+    @Test
+    public void toPath() throws IOException {
+        Result rst = new Result(200, new ByteArrayInputStream("hello".getBytes()));
+        Path file = (Path) DownloadUtils.toReturn(rst, Path.class);
+
+        try {
+            assertEquals("hello", new String(Files.readAllBytes(file)));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void toPathFailedDeletesTempFile() throws IOException {
+        InputStream broken = new InputStream() {
+            int n;
+
+            @Override
+            public int read() throws IOException {
+                if (n++ > 100) {
+                    throw new IOException("connection reset");
+                }
+                return 'x';
+            }
+        };
+
+        Set<Path> before = tempFiles();
+
+        try {
+            DownloadUtils.toReturn(new Result(200, broken), Path.class);
+            fail();
+        } catch (RuntimeException ex) {
+            assertTrue(ex.getCause() instanceof IOException);
+        }
+
+        Set<Path> after = tempFiles();
+        after.removeAll(before);
+        assertTrue(after.toString(), after.isEmpty());
+    }
+}
@@ -0,0 +1,110 @@
+package feature;
+
+import org.junit.Test;
+import org.noear.nami.NamiException;
+import org.noear.nami.annotation.Envelope;
+import org.noear.nami.common.EnvelopeUtils;
+import org.noear.nami.common.Result;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class EnvelopeUtilsTest {
+    @Envelope
+    public interface Api {
+        Object get();
+
+        @Envelope("data.user")
+        Object user();
+
+        @Envelope("/data/a~1b")
+        Object pointer();
+
+        @Envelope(code = "")
+        Object unchecked();
+
+        @Envelope(code = "status", success = "ok", msg = "message")
+        Object custom();
+    }
+
+    static Envelope anno(String method) throws Exception {
+        Envelope anno = Api.class.getMethod(method).getAnnotation(Envelope.class);
+        return anno == null ? Api.class.getAnnotation(Envelope.class) : anno;
+    }
+
+    static String unwrap(String method, String json) throws Exception {
+        return unwrap(method, new Result(200, json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    static String unwrap(String method, Result rst) throws Exception {
+        return EnvelopeUtils.unwrap(rst, anno(method)).bodyAsString();
+    }
+
+    @Test
+    public void unwrapData() throws Exception {
+        assertEquals("{\"id\":1}", unwrap("get", "{\"code\":0,\"msg\":\"\",\"data\":{\"id\":1}}"));
+        //数据在状态前面
+        assertEquals("[1,2]", unwrap("get", "{\"data\":[1,2],\"code\":\"200\"}"));
+        assertEquals("\"noear\"", unwrap("user", "{\"code\":0,\"data\":{\"user\":\"noear\"}}"));
+        assertEquals("3", unwrap("pointer", "{\"code\":0,\"data\":{\"a/b\":3}}"));
+
+        //没有数据节点
+        assertEquals("null", unwrap("get", "{\"code\":0}"));
+        assertEquals("null", unwrap("user", "{\"code\":0,\"data\":{}}"));
+    }
+
+    @Test
+    public void failedStatusThrows() {
+        NamiException ex = assertThrows(NamiException.class, () ->
+                unwrap("get", "{\"code\":500,\"data\":null,\"msg\":\"服务忙\"}"));
+        assertEquals("Envelope status 500: 服务忙", ex.getMessage());
+
+        ex = assertThrows(NamiException.class, () -> unwrap("custom", "{\"status\":\"fail\",\"data\":1}"));
+        assertEquals("Envelope status fail", ex.getMessage());
+    }
+
+    @Test
+    public void missingStatusThrows() throws Exception {
+        NamiException ex = assertThrows(NamiException.class, () -> unwrap("get", "{\"data\":{\"id\":1}}"));
+        assertTrue(ex.getMessage(), ex.getMessage().contains("code"));
+
+        assertThrows(NamiException.class, () -> unwrap("custom", "{\"code\":0,\"data\":1}"));
+
+        //不检查状态时可以没有
+        assertEquals("{\"id\":1}", unwrap("unchecked", "{\"data\":{\"id\":1}}"));
+        assertEquals("1", unwrap("custom", "{\"status\":\"ok\",\"data\":1}"));
+    }
+
+    @Test
+    public void passThrough() throws Exception {
+        //序列化的异常
+        String error = "{\"@type\":\"java.lang.RuntimeException\",\"message\":\"x\"}";
+        assertEquals(error, unwrap("get", error));
+
+        //不是对象
+        assertEquals("[1]", unwrap("get", "[1]"));
+
+        //错误码
+        Result rst = new Result(500, "{\"data\":1}".getBytes(StandardCharsets.UTF_8));
+        assertSame(rst, EnvelopeUtils.unwrap(rst, anno("get")));
+    }
+
+    @Test
+    public void otherCharset() throws Exception {
+        Result rst = new Result(200, "{\"code\":0,\"data\":\"中文\"}".getBytes("GBK"));
+        rst.charsetSet(Charset.forName("GBK"));
+
+        assertEquals("\"中文\"", new String(EnvelopeUtils.unwrap(rst, anno("get")).body(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void encodedBodyThrows() {
+        //没解开的压缩体不能跳过状态检查
+        Result rst = new Result(200, new byte[]{40, -75, 47, -3});
+        rst.headerAdd("Content-Encoding", "zstd");
+
+        assertThrows(NamiException.class, () -> EnvelopeUtils.unwrap(rst, anno("get")));
+    }
+}
@@ -0,0 +1,135 @@
+package feature;
+
+import org.junit.Test;
+import org.noear.nami.Decoder;
+import org.noear.nami.NamiConfig;
+import org.noear.nami.common.Constants;
+import org.noear.nami.common.JsonScanner;
+import org.noear.nami.common.LazyJsonView;
+import org.noear.nami.common.Result;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class JsonScannerTest {
+    static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static Object scalar(String json, Class<?> type) {
+        byte[] b = bytes(json);
+        return JsonScanner.parseScalar(b, 0, b.length, type);
+    }
+
+    @Test
+    public void indexObject() {
+        byte[] b = bytes("{ \"a\" : 1, \"b\":{\"c\":[1,{\"d\":\"}\"}]}, \"e\":\"x\\\"y\", \"f\":null }");
+        Map<String, int[]> index = JsonScanner.indexObject(b, 0, b.length);
+
+        assertEquals(4, index.size());
+        assertEquals("1", new String(b, index.get("a")[0], index.get("a")[1] - index.get("a")[0], StandardCharsets.UTF_8));
+        assertEquals("x\"y", JsonScanner.parseString(b, index.get("e")[0], index.get("e")[1]));
+        assertTrue(JsonScanner.isNull(b, index.get("f")[0], index.get("f")[1]));
+
+        int[] d = JsonScanner.find(b, 0, b.length, "b.c");
+        assertEquals("[1,{\"d\":\"}\"}]", new String(b, d[0], d[1] - d[0], StandardCharsets.UTF_8));
+        assertNull(JsonScanner.find(b, 0, b.length, "b.x"));
+
+        assertNull(JsonScanner.indexObject(bytes("[1]"), 0, 3));
+        assertThrows(IllegalArgumentException.class, () -> JsonScanner.indexObject(bytes("{\"a\" 1}"), 0, 7));
+    }
+
+    @Test
+    public void parseIntegers() {
+        assertEquals(12, scalar("12", int.class));
+        assertEquals(-3L, scalar("-3", Long.class));
+        assertEquals(7, scalar("\"7\"", Integer.class));
+
+        //合法的 json 数字写法
+        assertEquals(1, scalar("1.0", int.class));
+        assertEquals(1000L, scalar("1e3", long.class));
+        assertEquals(1200, scalar("1.2E3", Integer.class));
+        assertEquals((short) 5, scalar("5.00", short.class));
+        assertEquals((byte) -8, scalar("-8e0", byte.class));
+        assertEquals(BigInteger.valueOf(2000), scalar("2e3", BigInteger.class));
+
+        assertEquals(Long.MAX_VALUE, scalar("9223372036854775807", long.class));
+    }
+
+    @Test
+    public void parseIntegersRejectsFractionAndOverflow() {
+        assertThrows(ArithmeticException.class, () -> scalar("1.5", int.class));
+        assertThrows(ArithmeticException.class, () -> scalar("2147483648", int.class));
+        assertThrows(ArithmeticException.class, () -> scalar("9223372036854775808", long.class));
+        assertThrows(ArithmeticException.class, () -> scalar("128", byte.class));
+        assertThrows(NumberFormatException.class, () -> scalar("\"x\"", int.class));
+    }
+
+    @Test
+    public void parseOthers() {
+        assertEquals(1.5, scalar("1.5", double.class));
+        assertEquals(new BigDecimal("1.10"), scalar("1.10", BigDecimal.class));
+        assertEquals(true, scalar("true", boolean.class));
+        assertEquals("中文\n", scalar("\"中文\\n\"", String.class));
+        assertEquals(0, scalar("null", int.class));
+        assertNull(scalar("null", Integer.class));
+    }
+
+    public interface User {
+        int getId();
+
+        long getVisits();
+
+        String getName();
+
+        boolean isActive();
+
+        default String label() {
+            return getName() + "#" + getId();
+        }
+
+        default String label(String prefix) {
+            return prefix + label();
+        }
+    }
+
+    /**
+     * 兜底解码器（整数按截断处理，用于验证不能快速解析的值交给了解码器）
+     */
+    static class TruncatingDecoder implements Decoder {
+        @Override
+        public String enctype() {
+            return Constants.CONTENT_TYPE_JSON;
+        }
+
+        @Override
+        public <T> T decode(Result rst, Type type) {
+            double val = Double.parseDouble(rst.bodyAsString());
+            return (T) (type == long.class ? (Object) (long) val : (Object) (int) val);
+        }
+
+        @Override
+        public void filter(NamiConfig cfg, String action, String url, Map<String, String> headers, Map<String, Object> args) {
+        }
+    }
+
+    @Test
+    public void lazyViewNumbersAndDefaults() {
+        byte[] b = bytes("{\"id\":1.0,\"visits\":2.7,\"name\":\"noear\",\"active\":true}");
+        User user = LazyJsonView.tryCreate(User.class, b, new TruncatingDecoder());
+
+        assertEquals(1, user.getId());
+        //有小数部分，交给解码器
+        assertEquals(2L, user.getVisits());
+        assertTrue(user.isActive());
+
+        //default 函数执行默认实现
+        assertEquals("noear#1", user.label());
+        assertEquals(">noear#1", user.label(">"));
+    }
+}
@@ -0,0 +1,152 @@
+package feature;
+
+import org.junit.Test;
+import org.noear.nami.*;
+import org.noear.nami.annotation.Mapping;
+import org.noear.nami.common.Constants;
+import org.noear.nami.common.Result;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * 函数级 @Mapping(encoder, decoder) 测试
+ */
+public class MappingCodecTest {
+    static final String CLIENT_TYPE = "application/x-test-client";
+    static final String METHOD_TYPE = "application/x-test-method";
+
+    static {
+        NamiManager.reg(new TagEncoder(METHOD_TYPE));
+        NamiManager.reg(new TagDecoder(METHOD_TYPE));
+    }
+
+    /**
+     * 编码输出带上 enctype，便于确认用了哪个编码器
+     */
+    static class TagEncoder implements Encoder {
+        final String enctype;
+
+        TagEncoder(String enctype) {
+            this.enctype = enctype;
+        }
+
+        @Override
+        public String enctype() {
+            return enctype;
+        }
+
+        @Override
+        public byte[] encode(Object obj) {
+            return (enctype + ":" + obj).getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * 解码结果带上 enctype，便于确认用了哪个解码器
+     */
+    static class TagDecoder implements Decoder {
+        final String enctype;
+
+        TagDecoder(String enctype) {
+            this.enctype = enctype;
+        }
+
+        @Override
+        public String enctype() {
+            return enctype;
+        }
+
+        @Override
+        public <T> T decode(Result rst, Type clz) {
+            return (T) (enctype + ":" + rst.bodyAsString());
+        }
+
+        @Override
+        public void filter(NamiConfig cfg, String action, String url, Map<String, String> headers, Map<String, Object> args) {
+        }
+    }
+
+    static class CaptureChannel implements NamiChannel {
+        String body;
+        String contentType;
+
+        @Override
+        public Result call(NamiConfig cfg, Method method, String action, String url, Map<String, String> headers, Map<String, Object> args, Object body) {
+            this.body = new String(cfg.getEncoder().encode(body), StandardCharsets.UTF_8);
+            this.contentType = cfg.getEncoder().enctype();
+            return new Result(200, "ok".getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void filter(NamiConfig cfg, String action, String url, Map<String, String> headers, Map<String, Object> args) {
+        }
+    }
+
+    public interface Api {
+        @Mapping(value = "POST special", encoder = METHOD_TYPE, decoder = METHOD_TYPE)
+        String special(String name);
+
+        @Mapping(value = "POST decodeOnly", decoder = METHOD_TYPE)
+        String decodeOnly(String name);
+
+        @Mapping("POST plain")
+        String plain(String name);
+    }
+
+    public interface BadApi {
+        @Mapping(value = "POST bad", encoder = "application/x-test-unknown")
+        String bad(String name);
+    }
+
+    static <T> T client(Class<T> clz, CaptureChannel channel) {
+        return Nami.builder()
+                .url("http://localhost:8080/")
+                .encoder(new TagEncoder(CLIENT_TYPE))
+                .decoder(new TagDecoder(CLIENT_TYPE))
+                .channel(channel)
+                .create(clz);
+    }
+
+    @Test
+    public void methodCodecOverridesClient() {
+        CaptureChannel channel = new CaptureChannel();
+        Api api = client(Api.class, channel);
+
+        assertEquals(METHOD_TYPE + ":ok", api.special("noear"));
+        assertEquals(METHOD_TYPE, channel.contentType);
+        assertTrue(channel.body, channel.body.startsWith(METHOD_TYPE + ":"));
+    }
+
+    @Test
+    public void partialOverrideKeepsOtherCodec() {
+        CaptureChannel channel = new CaptureChannel();
+        Api api = client(Api.class, channel);
+
+        //只指定解码器时，编码器仍用客户端的
+        assertEquals(METHOD_TYPE + ":ok", api.decodeOnly("noear"));
+        assertEquals(CLIENT_TYPE, channel.contentType);
+    }
+
+    @Test
+    public void otherMethodsKeepClientCodec() {
+        CaptureChannel channel = new CaptureChannel();
+        Api api = client(Api.class, channel);
+
+        api.special("noear");
+        assertEquals(CLIENT_TYPE + ":ok", api.plain("noear"));
+        assertEquals(CLIENT_TYPE, channel.contentType);
+        assertTrue(channel.body, channel.body.startsWith(CLIENT_TYPE + ":"));
+    }
+
+    @Test
+    public void unknownEnctypeThrowsOnCreate() {
+        //创建代理时即失败，而不是等到调用
+        NamiException ex = assertThrows(NamiException.class, () -> client(BadApi.class, new CaptureChannel()));
+        assertTrue(ex.getMessage(), ex.getMessage().contains("application/x-test-unknown"));
+    }
+}
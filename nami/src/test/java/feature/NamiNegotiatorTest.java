@@ -0,0 +1,107 @@
+package feature;
+
+import org.junit.Test;
+import org.noear.nami.Decoder;
+import org.noear.nami.NamiManager;
+import org.noear.nami.NamiNegotiator;
+import org.noear.nami.common.Constants;
+import org.noear.nami.common.Result;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class NamiNegotiatorTest {
+    static final String TYPE_A = "application/x-nego-a";
+    static final String TYPE_B = "application/x-nego-b";
+    static final String TYPE_C = "application/x-nego-c";
+
+    static final Decoder decoderA = new MappingCodecTest.TagDecoder(TYPE_A);
+    static final Decoder decoderB = new MappingCodecTest.TagDecoder(TYPE_B);
+    static final Decoder decoderC = new MappingCodecTest.TagDecoder(TYPE_C);
+
+    static {
+        NamiManager.reg(decoderA);
+        NamiManager.reg(decoderB);
+        NamiManager.reg(decoderC);
+        NamiManager.regIfAbsent(new MappingCodecTest.TagDecoder(Constants.CONTENT_TYPE_JSON));
+    }
+
+    static Result result(int code, String contentType) {
+        Result rst = new Result(code, "1".getBytes(StandardCharsets.UTF_8));
+        if (contentType != null) {
+            rst.headerAdd(Constants.HEADER_CONTENT_TYPE, contentType);
+        }
+        return rst;
+    }
+
+    static String accept(NamiNegotiator negotiator, String url) {
+        Map<String, String> headers = new HashMap<>();
+        negotiator.filter(null, Constants.METHOD_POST, url, headers, new HashMap<>());
+        return headers.get(Constants.HEADER_ACCEPT);
+    }
+
+    @Test
+    public void acceptByPreference() {
+        //按偏好排序，q 值递减；未登记的格式跳过
+        NamiNegotiator negotiator = new NamiNegotiator(60_000, TYPE_C, "application/x-nego-missing", TYPE_A, TYPE_B);
+        assertEquals(TYPE_C + ", " + TYPE_A + ";q=0.9, " + TYPE_B + ";q=0.8", accept(negotiator, "http://h1:8080/a"));
+    }
+
+    @Test
+    public void selectIgnoresParameters() {
+        NamiNegotiator negotiator = new NamiNegotiator(60_000);
+        assertSame(decoderB, negotiator.select(null, result(200, TYPE_B + "; charset=utf-8")));
+        assertSame(decoderC, negotiator.select(null, result(200, " " + TYPE_C + ";charset=UTF-8")));
+    }
+
+    @Test
+    public void cachePerServer() {
+        NamiNegotiator negotiator = new NamiNegotiator(60_000, TYPE_A, TYPE_B);
+        assertSame(decoderB, negotiator.select("http://h1:8080/user/get", result(200, TYPE_B)));
+
+        //同一服务端（不同路径）命中缓存；不再带 Accept
+        assertSame(decoderB, negotiator.negotiated("http://h1:8080/order/list?id=1"));
+        assertNull(accept(negotiator, "http://h1:8080/order/list"));
+
+        //不同端口或主机，需要重新协商
+        assertNull(negotiator.negotiated("http://h1:8081/user/get"));
+        assertNull(negotiator.negotiated("http://h2:8080/user/get"));
+        assertNotNull(accept(negotiator, "http://h2:8080/user/get"));
+
+        //出错的响应不缓存
+        negotiator.select("http://h3:8080/x", result(500, TYPE_A));
+        assertNull(negotiator.negotiated("http://h3:8080/x"));
+    }
+
+    @Test
+    public void cacheExpires() throws Exception {
+        NamiNegotiator negotiator = new NamiNegotiator(5, TYPE_A, TYPE_B);
+        negotiator.select("http://h1:8080/a", result(200, TYPE_A));
+        assertSame(decoderA, negotiator.negotiated("http://h1:8080/a"));
+
+        Thread.sleep(20);
+
+        //过期后重新协商
+        assertNull(negotiator.negotiated("http://h1:8080/a"));
+        assertNotNull(accept(negotiator, "http://h1:8080/a"));
+    }
+
+    @Test
+    public void fallbackWhenNoDecoderMatches() {
+        NamiNegotiator negotiator = new NamiNegotiator(60_000);
+        Decoder json = NamiManager.getDecoder(Constants.CONTENT_TYPE_JSON);
+
+        //未协商过：用默认的 json
+        assertSame(json, negotiator.select("http://h1:8080/a", result(200, "text/x-unknown")));
+        assertSame(json, negotiator.select("http://h1:8080/a", result(200, null)));
+        assertNull(negotiator.negotiated("http://h1:8080/a"));
+
+        //协商过：用协商的，且不覆盖缓存
+        negotiator.select("http://h1:8080/a", result(200, TYPE_C));
+        assertSame(decoderC, negotiator.select("http://h1:8080/b", result(200, "text/x-unknown")));
+        assertSame(decoderC, negotiator.negotiated("http://h1:8080/a"));
+    }
+}
@@ -0,0 +1,195 @@
+package feature;
+
+import org.junit.Test;
+import org.noear.nami.*;
+import org.noear.nami.annotation.OneWay;
+import org.noear.nami.common.Result;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class OneWayTest {
+    public interface EventApi {
+        @OneWay
+        void fire(String name);
+    }
+
+    /**
+     * 由测试控制单向发送的完成
+     */
+    static class ControlChannel implements NamiChannel {
+        volatile CompletableFuture<Void> future;
+        volatile RuntimeException syncError;
+
+        @Override
+        public Result call(NamiConfig cfg, Method method, String action, String url, Map<String, String> headers, Map<String, Object> args, Object body) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<Void> send(NamiConfig cfg, Method method, String action, String url, Map<String, String> headers, Map<String, Object> args, Object body) {
+            if (syncError != null) {
+                throw syncError;
+            }
+
+            future = new CompletableFuture<>();
+            return future;
+        }
+
+        @Override
+        public void filter(NamiConfig cfg, String action, String url, Map<String, String> headers, Map<String, Object> args) {
+        }
+    }
+
+    static EventApi client(ControlChannel channel) {
+        return Nami.builder()
+                .url("http://localhost:8080/")
+                .encoder(new MappingCodecTest.TagEncoder("application/x-test-oneway"))
+                .decoder(new MappingCodecTest.TagDecoder("application/x-test-oneway"))
+                .channel(channel)
+                .create(EventApi.class);
+    }
+
+    @Test
+    public void dropWhenFull() {
+        OneWayDispatcher dispatcher = new OneWayDispatcher(2, 1);
+
+        assertTrue(dispatcher.acquire(OneWay.Policy.DROP, 0));
+        assertTrue(dispatcher.acquire(OneWay.Policy.DROP, 0));
+        assertFalse(dispatcher.acquire(OneWay.Policy.DROP, 0));
+        assertEquals(1, dispatcher.droppedCount());
+
+        dispatcher.release();
+        assertTrue(dispatcher.acquire(OneWay.Policy.DROP, 0));
+    }
+
+    @Test
+    public void blockUntilReleased() throws Exception {
+        OneWayDispatcher dispatcher = new OneWayDispatcher(1, 1);
+        assertTrue(dispatcher.acquire(OneWay.Policy.BLOCK, 0));
+
+        //有超时的，等到超时后丢弃
+        long start = System.currentTimeMillis();
+        assertFalse(dispatcher.acquire(OneWay.Policy.BLOCK, 1));
+        assertTrue(System.currentTimeMillis() - start >= 900);
+        assertEquals(1, dispatcher.droppedCount());
+
+        //没有超时的，一直等到有空位
+        CompletableFuture<Boolean> waiting = CompletableFuture.supplyAsync(() -> dispatcher.acquire(OneWay.Policy.BLOCK, 0));
+        Thread.sleep(100);
+        assertFalse(waiting.isDone());
+
+        dispatcher.release();
+        assertTrue(waiting.get(5, TimeUnit.SECONDS));
+        assertEquals(0, dispatcher.available());
+    }
+
+    @Test
+    public void releaseOnSuccess() {
+        OneWayDispatcher dispatcher = OneWayDispatcher.instance;
+        ControlChannel channel = new ControlChannel();
+        EventApi api = client(channel);
+
+        api.fire("a");
+        assertEquals(dispatcher.maxPending() - 1, dispatcher.available());
+
+        channel.future.complete(null);
+        assertEquals(dispatcher.maxPending(), dispatcher.available());
+    }
+
+    @Test
+    public void releaseOnFailure() {
+        OneWayDispatcher dispatcher = OneWayDispatcher.instance;
+        ControlChannel channel = new ControlChannel();
+        EventApi api = client(channel);
+
+        api.fire("a");
+        assertEquals(dispatcher.maxPending() - 1, dispatcher.available());
+
+        channel.future.completeExceptionally(new IllegalStateException("closed"));
+        assertEquals(dispatcher.maxPending(), dispatcher.available());
+    }
+
+    @Test
+    public void releaseOnSyncThrow() {
+        OneWayDispatcher dispatcher = OneWayDispatcher.instance;
+        ControlChannel channel = new ControlChannel();
+        channel.syncError = new IllegalStateException("not connected");
+        EventApi api = client(channel);
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> api.fire("a"));
+        assertEquals("not connected", ex.getMessage());
+        assertEquals(dispatcher.maxPending(), dispatcher.available());
+    }
+
+    @Test
+    public void windowHoldsUnderLoad() throws Exception {
+        int maxPending = 8;
+        int threads = 2;
+        OneWayDispatcher dispatcher = new OneWayDispatcher(maxPending, threads);
+
+        AtomicInteger inflight = new AtomicInteger();
+        AtomicInteger maxInflight = new AtomicInteger();
+        AtomicInteger done = new AtomicInteger();
+        Set<String> workers = ConcurrentHashMap.newKeySet();
+
+        int producers = 16;
+        int perProducer = 200;
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch latch = new CountDownLatch(producers);
+
+        for (int p = 0; p < producers; p++) {
+            OneWay.Policy policy = (p % 2 == 0 ? OneWay.Policy.DROP : OneWay.Policy.BLOCK);
+
+            pool.execute(() -> {
+                try {
+                    for (int i = 0; i < perProducer; i++) {
+                        if (dispatcher.acquire(policy, 0) == false) {
+                            continue;
+                        }
+
+                        int n = inflight.incrementAndGet();
+                        maxInflight.accumulateAndGet(n, Math::max);
+
+                        dispatcher.executor().execute(() -> {
+                            try {
+                                workers.add(Thread.currentThread().getName() + "@" + System.identityHashCode(Thread.currentThread()));
+                                Thread.sleep(1);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            } finally {
+                                done.incrementAndGet();
+                                inflight.decrementAndGet();
+                                dispatcher.release();
+                            }
+                        });
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        assertTrue(latch.await(60, TimeUnit.SECONDS));
+        pool.shutdown();
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (dispatcher.available() < maxPending && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        //未完成数不超过窗口，后台线程不超过配置
+        assertTrue("max inflight: " + maxInflight.get(), maxInflight.get() <= maxPending);
+        assertTrue("workers: " + workers.size(), workers.size() <= threads);
+        assertEquals(maxPending, dispatcher.available());
+
+        //阻塞的全部发出，丢弃的计入统计
+        assertEquals(producers * perProducer, done.get() + dispatcher.droppedCount());
+        assertTrue(done.get() >= (producers / 2) * perProducer);
+    }
+}
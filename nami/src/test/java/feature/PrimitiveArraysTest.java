@@ -0,0 +1,158 @@
+package feature;
+
+import org.junit.Test;
+import org.noear.nami.Decoder;
+import org.noear.nami.Nami;
+import org.noear.nami.NamiChannel;
+import org.noear.nami.NamiConfig;
+import org.noear.nami.common.Constants;
+import org.noear.nami.common.PrimitiveArrays;
+import org.noear.nami.common.Result;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class PrimitiveArraysTest {
+    static Object parse(String json, Class<?> arrayType) {
+        return PrimitiveArrays.parseJson(json.getBytes(StandardCharsets.UTF_8), arrayType);
+    }
+
+    @Test
+    public void parseValid() {
+        assertArrayEquals(new long[]{1, -2, 0, 30}, (long[]) parse(" [1, -2,0 ,\n30] ", long[].class));
+        assertArrayEquals(new int[0], (int[]) parse("[ ]", int[].class));
+        assertArrayEquals(new double[]{1.5, -0.25, 1e3, 2E-2, 7}, (double[]) parse("[1.5,-0.25,1e3,2E-2,7]", double[].class), 0);
+        assertArrayEquals(new float[]{0.5f, 3f}, (float[]) parse("[0.5,3]", float[].class), 0);
+    }
+
+    @Test
+    public void parseBounds() {
+        assertArrayEquals(new long[]{Long.MAX_VALUE, Long.MIN_VALUE},
+                (long[]) parse("[9223372036854775807,-9223372036854775808]", long[].class));
+        assertArrayEquals(new int[]{Integer.MAX_VALUE, Integer.MIN_VALUE},
+                (int[]) parse("[2147483647,-2147483648]", int[].class));
+
+        //溢出
+        assertNull(parse("[9223372036854775808]", long[].class));
+        assertNull(parse("[-9223372036854775809]", long[].class));
+        assertNull(parse("[99999999999999999999999]", long[].class));
+        assertNull(parse("[2147483648]", int[].class));
+        assertNull(parse("[-2147483649]", int[].class));
+    }
+
+    @Test
+    public void parseRejectsMalformed() {
+        String[] bad = {"[1 2]", "[-]", "-", "[1,]", "[,1]", "[1,,2]", "[01]", "[1-2]", "[+1]", "[1", "1,2]", "[1] x",
+                "[null]", "[\"1\"]", "[.5]", "[1.]", "[1e]", "[1.0]", "[1e3]"};
+
+        for (String json : bad) {
+            assertNull(json, parse(json, long[].class));
+            assertNull(json, parse(json, int[].class));
+        }
+
+        for (String json : new String[]{"[1 2]", "[-]", "[1,]", "[01]", "[1-2]", "[.5]", "[1.]", "[1e]", "[1e+]", "[NaN]"}) {
+            assertNull(json, parse(json, double[].class));
+        }
+    }
+
+    @Test
+    public void fromBinary() {
+        ByteBuffer buf = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN);
+        buf.putLong(5).putLong(-6);
+
+        assertArrayEquals(new long[]{5, -6}, (long[]) PrimitiveArrays.fromBinary(buf.array(), long[].class));
+        assertThrows(IllegalArgumentException.class, () -> PrimitiveArrays.fromBinary(new byte[3], int[].class));
+    }
+
+    public interface Api {
+        List<Long> ids();
+
+        long[] idArray();
+    }
+
+    /**
+     * 记下请求头，返回 json 数组
+     */
+    static class JsonChannel implements NamiChannel {
+        Map<String, String> headers;
+
+        @Override
+        public Result call(NamiConfig cfg, Method method, String action, String url, Map<String, String> headers, Map<String, Object> args, Object body) {
+            this.headers = headers;
+
+            Result rst = new Result(200, "[1,2,3]".getBytes(StandardCharsets.UTF_8));
+            rst.headerAdd(Constants.HEADER_CONTENT_TYPE, Constants.CONTENT_TYPE_JSON);
+            return rst;
+        }
+
+        @Override
+        public void filter(NamiConfig cfg, String action, String url, Map<String, String> headers, Map<String, Object> args) {
+        }
+    }
+
+    /**
+     * 普通的解码器（返回可变的 ArrayList）
+     */
+    static class ListDecoder implements Decoder {
+        @Override
+        public String enctype() {
+            return Constants.CONTENT_TYPE_JSON;
+        }
+
+        @Override
+        public <T> T decode(Result rst, Type type) {
+            if (type == long[].class) {
+                return (T) new long[]{1, 2, 3};
+            }
+            return (T) new ArrayList<>(Arrays.asList(1L, 2L, 3L));
+        }
+
+        @Override
+        public void filter(NamiConfig cfg, String action, String url, Map<String, String> headers, Map<String, Object> args) {
+        }
+    }
+
+    static Api client(JsonChannel channel, boolean primitiveArrays) {
+        return Nami.builder()
+                .url("http://localhost:8080/")
+                .decoder(new ListDecoder())
+                .channel(channel)
+                .primitiveArrays(primitiveArrays)
+                .create(Api.class);
+    }
+
+    @Test
+    public void offByDefault() {
+        JsonChannel channel = new JsonChannel();
+        List<Long> ids = client(channel, false).ids();
+
+        assertNull(channel.headers.get(Constants.HEADER_ACCEPT_ARRAY));
+        assertEquals(Arrays.asList(1L, 2L, 3L), ids);
+
+        //解码器返回的 List 仍可修改
+        ids.add(4L);
+    }
+
+    @Test
+    public void optIn() {
+        JsonChannel channel = new JsonChannel();
+        Api api = client(channel, true);
+
+        List<Long> ids = api.ids();
+        assertEquals(Constants.CONTENT_TYPE_ARRAY_LE, channel.headers.get(Constants.HEADER_ACCEPT_ARRAY));
+        assertEquals(Arrays.asList(1L, 2L, 3L), ids);
+        assertFalse(ids instanceof ArrayList);
+        assertThrows(UnsupportedOperationException.class, () -> ids.add(4L));
+
+        assertArrayEquals(new long[]{1, 2, 3}, api.idArray());
+    }
+}
@@ -0,0 +1,48 @@
+package feature;
+
+import org.junit.Test;
+import org.noear.nami.common.UploadUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class UploadUtilsTest {
+    @Test
+    public void isUpload() {
+        assertTrue(UploadUtils.isUpload(new File("a.txt")));
+        assertTrue(UploadUtils.isUpload(Paths.get("a.txt")));
+        assertTrue(UploadUtils.isUpload(new ByteArrayInputStream(new byte[0])));
+
+        assertFalse(UploadUtils.isUpload(null));
+        assertFalse(UploadUtils.isUpload("a.txt"));
+        assertFalse(UploadUtils.isUpload(new byte[0]));
+    }
+
+    @Test
+    public void hasUpload() {
+        Map<String, Object> args = new HashMap<>();
+        assertFalse(UploadUtils.hasUpload(args));
+
+        args.put("name", "noear");
+        args.put("empty", null);
+        assertFalse(UploadUtils.hasUpload(args));
+
+        args.put("file", new File("a.txt"));
+        assertTrue(UploadUtils.hasUpload(args));
+    }
+
+    @Test
+    public void fileName() {
+        assertEquals("a.txt", UploadUtils.fileName(new File("/tmp/a.txt"), "file"));
+        assertEquals("b.txt", UploadUtils.fileName(Paths.get("/tmp", "b.txt"), "file"));
+
+        //流没有文件名，用默认的
+        assertEquals("file", UploadUtils.fileName(new ByteArrayInputStream(new byte[0]), "file"));
+        assertEquals("file", UploadUtils.fileName(Paths.get("/"), "file"));
+    }
+}
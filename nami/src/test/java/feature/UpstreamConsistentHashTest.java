@@ -0,0 +1,126 @@
+package feature;
+
+import org.junit.Test;
+import org.noear.nami.annotation.RouteKey;
+import org.noear.nami.common.UpstreamConsistentHash;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class UpstreamConsistentHashTest {
+    static final List<String> SERVERS = Arrays.asList("http://s1", "http://s2", "http://s3");
+
+    public interface Api {
+        Object get(@RouteKey Object key, String other);
+    }
+
+    static Method get() throws Exception {
+        return Api.class.getMethod("get", Object.class, String.class);
+    }
+
+    @Test
+    public void sameKeySameServer() {
+        UpstreamConsistentHash upstream = new UpstreamConsistentHash(SERVERS);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(upstream.route("user-" + i), upstream.route("user-" + i));
+        }
+    }
+
+    @Test
+    public void spreadsAndMovesLittle() {
+        UpstreamConsistentHash three = new UpstreamConsistentHash(SERVERS);
+        UpstreamConsistentHash four = new UpstreamConsistentHash(Arrays.asList("http://s1", "http://s2", "http://s3", "http://s4"));
+
+        Map<String, Integer> counts = new HashMap<>();
+        int moved = 0;
+        for (int i = 0; i < 10000; i++) {
+            String s3 = three.route("key-" + i);
+            String s4 = four.route("key-" + i);
+
+            counts.merge(s3, 1, Integer::sum);
+
+            if (s3.equals(s4) == false) {
+                //只会移到新加的服务端
+                assertEquals("http://s4", s4);
+                moved++;
+            }
+        }
+
+        for (String server : SERVERS) {
+            int n = counts.getOrDefault(server, 0);
+            assertTrue(server + ": " + n, n > 2000 && n < 4700);
+        }
+
+        //大约 1/4 的键移动
+        assertTrue("moved: " + moved, moved > 1500 && moved < 3500);
+    }
+
+    @Test
+    public void fewVirtualNodes() {
+        for (int v = 1; v <= 5; v++) {
+            UpstreamConsistentHash upstream = new UpstreamConsistentHash(SERVERS, v);
+            assertTrue(SERVERS.contains(upstream.route("a")));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> new UpstreamConsistentHash(SERVERS, 0));
+        assertThrows(IllegalArgumentException.class, () -> new UpstreamConsistentHash(SERVERS, -4));
+    }
+
+    static class Key {
+        final int id;
+
+        Key(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public String toString() {
+            return "Key" + id;
+        }
+    }
+
+    static class Opaque {
+    }
+
+    @Test
+    public void keyTypes() {
+        assertEquals("12", UpstreamConsistentHash.keyOf(12L));
+        assertEquals("HOURS", UpstreamConsistentHash.keyOf(TimeUnit.HOURS));
+        assertEquals("Key3", UpstreamConsistentHash.keyOf(new Key(3)));
+
+        //数组按元素
+        assertEquals("[1, 2]", UpstreamConsistentHash.keyOf(new int[]{1, 2}));
+        assertEquals("[a, null, [1]]", UpstreamConsistentHash.keyOf(new Object[]{"a", null, new long[]{1}}));
+
+        assertThrows(IllegalArgumentException.class, () -> UpstreamConsistentHash.keyOf(new Opaque()));
+        assertThrows(IllegalArgumentException.class, () -> UpstreamConsistentHash.keyOf(new Object[]{new Opaque()}));
+    }
+
+    @Test
+    public void routesByKeyArgument() throws Exception {
+        UpstreamConsistentHash upstream = new UpstreamConsistentHash(SERVERS);
+        Method m = get();
+
+        //内容相同的数组，路由到同一个服务端
+        assertEquals(upstream.get(m, new Object[]{new int[]{7, 8}, "x"}), upstream.get(m, new Object[]{new int[]{7, 8}, "y"}));
+        assertEquals(upstream.route("[7, 8]"), upstream.get(m, new Object[]{new int[]{7, 8}, "x"}));
+
+        assertThrows(IllegalArgumentException.class, () -> upstream.get(m, new Object[]{new Opaque(), "x"}));
+
+        //没有路由键时轮询
+        Set<String> used = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            used.add(upstream.get(m, new Object[]{null, "x"}));
+        }
+        assertEquals(3, used.size());
+    }
+}
@@ -0,0 +1,56 @@
+package feature;
+
+import org.noear.nami.common.UrlUtils;
+
+import java.net.URLEncoder;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * url 构建对比（UrlUtils 与 StringBuilder + URLEncoder 的旧写法；运行 main）
+ */
+public class UrlUtilsBenchmark {
+    public static void main(String[] args) throws Exception {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("userId", 1234567L);
+        map.put("page", 3);
+        map.put("size", 20);
+        map.put("keyword", "手机 case");
+        map.put("asc", true);
+        map.put("price", 99.5D);
+
+        int count = 1_000_000;
+        for (int round = 0; round < 5; round++) {
+            long t0 = System.nanoTime();
+            long n = 0;
+            for (int i = 0; i < count; i++) {
+                n += UrlUtils.buildUrl("http://localhost:8080/demo/search", map).length();
+            }
+            long t1 = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                n += legacy("http://localhost:8080/demo/search", map).length();
+            }
+            long t2 = System.nanoTime();
+
+            System.out.printf("UrlUtils %.0fns/op, legacy %.0fns/op (%d)%n",
+                    (t1 - t0) / (double) count, (t2 - t1) / (double) count, n);
+        }
+    }
+
+    static String legacy(String url, Map<String, Object> args) throws Exception {
+        StringBuilder sb = new StringBuilder(url);
+        if (url.indexOf("?") < 0) {
+            sb.append("?");
+        } else {
+            sb.append("&");
+        }
+
+        for (Map.Entry<String, Object> kv : args.entrySet()) {
+            if (kv.getValue() != null) {
+                sb.append(kv.getKey()).append("=").append(URLEncoder.encode(kv.getValue().toString(), "utf-8")).append("&");
+            }
+        }
+
+        return sb.substring(0, sb.length() - 1);
+    }
+}
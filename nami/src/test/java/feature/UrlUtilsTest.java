@@ -0,0 +1,99 @@
+package feature;
+
+import org.junit.Test;
+import org.noear.nami.common.UrlUtils;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class UrlUtilsTest {
+    enum Status {
+        PAID,
+        REFUND {
+            @Override
+            public String toString() {
+                return "已退款";
+            }
+        }
+    }
+
+    static String encode(Object val) {
+        StringBuilder sb = new StringBuilder();
+        UrlUtils.encode(sb, val);
+        return sb.toString();
+    }
+
+    static String jdk(String str) throws Exception {
+        return URLEncoder.encode(str, "utf-8");
+    }
+
+    @Test
+    public void sameAsUrlEncoder() throws Exception {
+        String[] samples = {"", "abc", "a b", "a+b&c=d", "中文", "~!@#$%^&*()_+`-={}|[]\\:\";'<>?,./",
+                "emoji😀", "lone\uD83D", "lone\uDE00x", "éÿĀ߿ࠀ￿"};
+
+        for (String s : samples) {
+            assertEquals(s, jdk(s), encode(s));
+        }
+    }
+
+    @Test
+    public void sameAsUrlEncoderRandom() throws Exception {
+        Random random = new Random(1);
+
+        for (int n = 0; n < 2000; n++) {
+            char[] chars = new char[random.nextInt(20)];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = (char) (random.nextBoolean() ? random.nextInt(0x80) : random.nextInt(0x10000));
+            }
+
+            String s = new String(chars);
+            assertEquals(jdk(s), encode(s));
+        }
+    }
+
+    @Test
+    public void primitives() throws Exception {
+        Object[] samples = {1, -2L, (short) 3, (byte) 4, 1.5D, -0.25F, true, 'x', ' ', '中', Thread.State.NEW, 1e20D};
+
+        for (Object v : samples) {
+            assertEquals(String.valueOf(v), jdk(String.valueOf(v)), encode(v));
+        }
+    }
+
+    @Test
+    public void buildUrl() {
+        Map<String, Object> args = new LinkedHashMap<>();
+        args.put("a", 1);
+        args.put("b", null);
+        args.put("c", "x y");
+
+        assertEquals("http://h/p?a=1&c=x+y", UrlUtils.buildUrl("http://h/p", args));
+        assertEquals("http://h/p?z=0&a=1&c=x+y", UrlUtils.buildUrl("http://h/p?z=0", args));
+
+        Map<String, Object> empty = new LinkedHashMap<>();
+        empty.put("b", null);
+        assertEquals("http://h/p", UrlUtils.buildUrl("http://h/p", empty));
+    }
+
+    @Test
+    public void buildForm() {
+        Map<String, Object> args = new LinkedHashMap<>();
+        args.put("name", "张三");
+        args.put("age", 18);
+
+        assertEquals("name=%E5%BC%A0%E4%B8%89&age=18", new String(UrlUtils.buildForm(args), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void enumUsesToString() throws Exception {
+        //与旧的 String.valueOf 写法一致（重写了 toString 的，用 toString）
+        assertEquals("PAID", encode(Status.PAID));
+        assertEquals(jdk(Status.REFUND.toString()), encode(Status.REFUND));
+    }
+}
@@ -0,0 +1,137 @@
+package org.noear.nami.common;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TypeRegistryTest {
+    public static class OrderA {
+        public String id;
+        public ItemA item;
+    }
+
+    public static class ItemA {
+        public String name;
+    }
+
+    public static class AaaFirst {
+        public int v;
+    }
+
+    public interface ApiA {
+        OrderA get(String id);
+    }
+
+    public interface ApiB {
+        AaaFirst first();
+
+        List<OrderA> list();
+    }
+
+    @Test
+    public void autoIdsAreDerivedFromClassName() {
+        TypeRegistry.registerClient(ApiA.class);
+
+        assertEquals(TypeRegistry.autoId(OrderA.class.getName()), (int) TypeRegistry.getId(OrderA.class));
+        assertEquals(TypeRegistry.autoId(ItemA.class.getName()), (int) TypeRegistry.getId(ItemA.class));
+        assertSame(OrderA.class, TypeRegistry.getType(TypeRegistry.getId(OrderA.class)));
+
+        //接口里的 String 不注册
+        assertNull(TypeRegistry.getId(String.class));
+    }
+
+    @Test
+    public void idsAreNotRenumbered() {
+        TypeRegistry.registerClient(ApiA.class);
+        int id = TypeRegistry.getId(OrderA.class);
+        int ver = TypeRegistry.version();
+
+        //类名排在前面的类，不影响已分配的 id
+        TypeRegistry.registerClient(ApiB.class);
+
+        assertTrue(TypeRegistry.version() > ver);
+        assertEquals(id, (int) TypeRegistry.getId(OrderA.class));
+        assertNotNull(TypeRegistry.getId(AaaFirst.class));
+
+        //重复注册不变
+        ver = TypeRegistry.version();
+        TypeRegistry.registerClient(ApiA.class);
+        assertEquals(ver, TypeRegistry.version());
+    }
+
+    @Test
+    public void autoIdIsStableAndInRange() {
+        int id = TypeRegistry.autoId("demo.model.UserModel");
+
+        assertEquals(id, TypeRegistry.autoId("demo.model.UserModel"));
+        assertNotEquals(id, TypeRegistry.autoId("demo.model.UserModel2"));
+        assertTrue(id >= TypeRegistry.AUTO_ID_BASE);
+        assertTrue(id < TypeRegistry.AUTO_ID_BASE + TypeRegistry.AUTO_ID_RANGE);
+    }
+
+    static class Explicit1 {
+    }
+
+    static class Explicit2 {
+    }
+
+    @Test
+    public void explicitIds() {
+        TypeRegistry.register(Explicit1.class, 7);
+        TypeRegistry.register(Explicit1.class, 7);
+        assertEquals(7, (int) TypeRegistry.getId(Explicit1.class));
+
+        //id 已被占用
+        assertThrows(IllegalArgumentException.class, () -> TypeRegistry.register(Explicit2.class, 7));
+        //已分配的 id 不能改
+        assertThrows(IllegalArgumentException.class, () -> TypeRegistry.register(Explicit1.class, 8));
+        //范围
+        assertThrows(IllegalArgumentException.class, () -> TypeRegistry.register(Explicit2.class, 0));
+        assertThrows(IllegalArgumentException.class, () -> TypeRegistry.register(Explicit2.class, TypeRegistry.AUTO_ID_BASE));
+
+        //显式注册的类，按接口注册时保持原 id
+        TypeRegistry.registerAuto(Arrays.asList(Explicit1.class), TypeRegistry::autoId);
+        assertEquals(7, (int) TypeRegistry.getId(Explicit1.class));
+    }
+
+    static class Auto1 {
+    }
+
+    static class Collide1 {
+    }
+
+    static class Collide2 {
+    }
+
+    @Test
+    public void autoAfterAutoCannotBeMadeExplicit() {
+        TypeRegistry.registerAuto(Arrays.asList(Auto1.class), TypeRegistry::autoId);
+
+        assertThrows(IllegalArgumentException.class, () -> TypeRegistry.register(Auto1.class, 9));
+        assertEquals(TypeRegistry.autoId(Auto1.class.getName()), (int) TypeRegistry.getId(Auto1.class));
+    }
+
+    @Test
+    public void collisionFailsWholeRegistration() {
+        int ver = TypeRegistry.version();
+
+        //同一次注册内冲突
+        assertThrows(IllegalStateException.class, () ->
+                TypeRegistry.registerAuto(Arrays.asList(Collide1.class, Collide2.class), n -> 999_999));
+
+        assertEquals(ver, TypeRegistry.version());
+        assertNull(TypeRegistry.getId(Collide1.class));
+        assertNull(TypeRegistry.getId(Collide2.class));
+
+        //与已分配的 id 冲突
+        TypeRegistry.registerAuto(Arrays.asList(Collide1.class), n -> 999_998);
+        assertThrows(IllegalStateException.class, () ->
+                TypeRegistry.registerAuto(Arrays.asList(Collide2.class), n -> 999_998));
+
+        assertSame(Collide1.class, TypeRegistry.getType(999_998));
+        assertNull(TypeRegistry.getId(Collide2.class));
+    }
+}